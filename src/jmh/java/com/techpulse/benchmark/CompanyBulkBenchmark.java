@@ -0,0 +1,152 @@
+package com.techpulse.benchmark;
+
+import com.techpulse.EmployeeCrudApplication;
+import com.techpulse.entity.Company;
+import com.techpulse.entity.Employee;
+import com.techpulse.entity.enums.Status;
+import com.techpulse.repository.ICompanyRepository;
+import com.techpulse.service.ICompanyService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deleting a company and changing the status of its employees when it has many
+ * employees: the per-entity path (cascade delete, load and set each employee) against
+ * the set-based statements in CompanyServiceImpl. Runs the whole application on its
+ * in-memory H2 database; the company is re-seeded before every invocation.
+ *
+ * Run with: mvn -P benchmark test-compile exec:exec -Djmh.args="CompanyBulkBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CompanyBulkBenchmark {
+
+    @Param({"100000"})
+    public int employees;
+
+    private ConfigurableApplicationContext context;
+    private ICompanyService companyService;
+    private ICompanyRepository companyRepository;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate transaction;
+    private EntityManager entityManager;
+
+    private Integer companyId;
+    private int nextEmpId = 1_000_000;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(EmployeeCrudApplication.class)
+                .web(WebApplicationType.NONE)
+                // as arguments, so they override application.properties
+                .run("--spring.jpa.show-sql=false", "--logging.level.root=WARN");
+        companyService = context.getBean(ICompanyService.class);
+        companyRepository = context.getBean(ICompanyRepository.class);
+        jdbc = context.getBean(JdbcTemplate.class);
+        transaction = context.getBean(TransactionTemplate.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Setup(Level.Invocation)
+    public void seedCompany() {
+        Company company = new Company();
+        company.setCompanyName("Bench");
+        company.setNoOfEmployees(employees);
+        companyId = companyRepository.save(company).getCompanyId();
+
+        int first = nextEmpId;
+        nextEmpId += employees;
+        jdbc.batchUpdate("INSERT INTO employee (emp_id, emp_name, salary, email, dept, city, status, name_second_char, version, company_id)"
+                        + " VALUES (?, ?, ?, ?, 'IT', 'Pune', 'ACTIVE', 'm', 0, ?)",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        int id = first + i;
+                        ps.setInt(1, id);
+                        ps.setString(2, "Emp" + (id % 1_000_000));
+                        ps.setInt(3, 1000);
+                        ps.setString(4, "bench" + id + "@example.com");
+                        ps.setInt(5, companyId);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return employees;
+                    }
+                });
+    }
+
+    @TearDown(Level.Invocation)
+    public void dropCompany() {
+        jdbc.update("DELETE FROM employee WHERE company_id = ?", companyId);
+        jdbc.update("DELETE FROM company WHERE company_id = ?", companyId);
+    }
+
+    @Benchmark
+    public void deletePerEntity() {
+        // what deleteCompany did before: existsById, then deleteById cascading to every employee
+        transaction.executeWithoutResult(status -> {
+            if (companyRepository.existsById(companyId)) {
+                companyRepository.deleteById(companyId);
+            }
+        });
+    }
+
+    @Benchmark
+    public int deleteSetBased() {
+        return companyService.deleteCompanies(List.of(companyId)).getEmployees();
+    }
+
+    @Benchmark
+    public int statusPerEntity() {
+        return transaction.execute(status -> {
+            List<Employee> rows = entityManager
+                    .createQuery("SELECT e FROM Employee e WHERE e.company.companyId = :id", Employee.class)
+                    .setParameter("id", companyId)
+                    .getResultList();
+            rows.forEach(e -> e.setStatus(Status.INACTIVE));
+            entityManager.flush();
+            entityManager.clear();
+            return rows.size();
+        });
+    }
+
+    @Benchmark
+    public int statusSetBased() {
+        return companyService.updateEmployeeStatus(List.of(companyId), Status.INACTIVE).getEmployees();
+    }
+}
@@ -0,0 +1,97 @@
+package com.techpulse.benchmark;
+
+import com.techpulse.util.DnsResolver;
+import com.techpulse.util.FakeSmtpServer;
+import com.techpulse.util.MxRecord;
+import com.techpulse.util.MxRecordCache;
+import com.techpulse.util.SmtpValidator;
+import com.techpulse.util.StubDnsServer;
+import org.apache.commons.validator.routines.EmailValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.naming.NamingException;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of each phase of EmailValidationServiceImpl, measured without touching the
+ * network: syntax check, MX lookup against {@link StubDnsServer} (cold and cached)
+ * and one SMTP conversation against {@link FakeSmtpServer}.
+ *
+ * Run with: mvn -P benchmark test-compile exec:exec
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailValidationBenchmark {
+
+    private static final String VALID_EMAIL = "john.doe@example.com";
+    private static final String INVALID_EMAIL = "john.doe@@example..com";
+    private static final String DOMAIN = "example.com";
+
+    private StubDnsServer dnsServer;
+    private FakeSmtpServer smtpServer;
+    private MxRecordCache mxRecordCache;
+    private DnsResolver dnsResolver;
+    private List<String> recipients;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dnsServer = new StubDnsServer();
+        smtpServer = new FakeSmtpServer(true);
+        mxRecordCache = new MxRecordCache(10000, 3600, 300);
+        dnsResolver = new DnsResolver(mxRecordCache, dnsServer.getProviderUrl(), 2000, 1, 8);
+        recipients = Collections.singletonList(VALID_EMAIL);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        dnsResolver.close();
+        dnsServer.close();
+        smtpServer.close();
+    }
+
+    @Benchmark
+    public boolean syntaxValid() {
+        return EmailValidator.getInstance().isValid(VALID_EMAIL);
+    }
+
+    @Benchmark
+    public boolean syntaxInvalid() {
+        return EmailValidator.getInstance().isValid(INVALID_EMAIL);
+    }
+
+    @Benchmark
+    public List<MxRecord> mxLookupCold() throws NamingException {
+        mxRecordCache.invalidate(DOMAIN);
+        return dnsResolver.lookupMx(DOMAIN);
+    }
+
+    @Benchmark
+    public List<MxRecord> mxLookupCached() throws NamingException {
+        return dnsResolver.lookupMx(DOMAIN);
+    }
+
+    // checkEmail always dials port 25, so this drives the same probe on the fake server's port
+    @Benchmark
+    public SmtpValidator.ProbeOutcome smtpCheckEmail() {
+        return SmtpValidator.probe("127.0.0.1", smtpServer.getPort(), recipients,
+                SmtpValidator.DEFAULT_TIMEOUT_MS, SmtpValidator.DEFAULT_TIMEOUT_MS);
+    }
+}
@@ -0,0 +1,163 @@
+package com.techpulse.benchmark;
+
+import com.techpulse.EmployeeCrudApplication;
+import com.techpulse.entity.Employee;
+import com.techpulse.entity.enums.Status;
+import com.techpulse.repository.EmployeeSpecifications;
+import com.techpulse.repository.IEmployeeRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Employee filter and second-character lookups against the application's own schema,
+ * generated by Hibernate from the Employee entity with its indexes. The old query
+ * shapes (a LIKE per column behind ":x IS NULL OR", a '_a%' LIKE pair) run as the
+ * repository used to declare them; the new ones go through IEmployeeRepository with
+ * the Specification from EmployeeSpecifications and the name_second_char finder.
+ *
+ * Run with: mvn -P benchmark test-compile exec:exec -Djmh.args="EmployeeQueryBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeQueryBenchmark {
+
+    private static final String[] DEPTS = {"IT", "HR", "Sales", "Finance", "Ops", "Legal", "Support", "R&D"};
+    private static final String[] CITIES = {"Pune", "Mumbai", "Delhi", "Chennai", "Kolkata", "Jaipur", "Surat", "Indore"};
+    private static final int PAGE_SIZE = 20;
+    private static final int SEED_BATCH = 10_000;
+
+    // the filter query IEmployeeRepository declared before EmployeeSpecifications
+    private static final String LEGACY_FILTER_WHERE = " WHERE (:empName IS NULL OR e.empName LIKE :empName)"
+            + " AND (:dept IS NULL OR e.dept LIKE :dept)"
+            + " AND (:email IS NULL OR e.email LIKE :email)"
+            + " AND (:city IS NULL OR e.city LIKE :city)"
+            + " AND (:status IS NULL OR e.status = :status)";
+
+    @Param({"1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private IEmployeeRepository repository;
+    private EntityManager entityManager;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(EmployeeCrudApplication.class)
+                .web(WebApplicationType.NONE)
+                // as arguments, so they override application.properties
+                .run("--spring.jpa.show-sql=false", "--logging.level.root=WARN");
+        repository = context.getBean(IEmployeeRepository.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        for (int from = 0; from < rows; from += SEED_BATCH) {
+            int first = from;
+            int count = Math.min(SEED_BATCH, rows - from);
+            jdbc.batchUpdate("INSERT INTO employee (emp_id, emp_name, salary, email, dept, city, status, name_second_char, version)"
+                            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)",
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            int n = first + i;
+                            String name = Character.toString('A' + n % 26) + Character.toString('a' + (n / 26) % 26) + n % 1000;
+                            ps.setInt(1, 1_000_000 + n);
+                            ps.setString(2, name);
+                            ps.setInt(3, 1000 + n % 5000);
+                            ps.setString(4, "emp" + n + "@example.com");
+                            ps.setString(5, DEPTS[n % DEPTS.length]);
+                            ps.setString(6, CITIES[(n / DEPTS.length) % CITIES.length]);
+                            ps.setString(7, (n % 7 == 0 ? Status.INACTIVE : Status.ACTIVE).name());
+                            ps.setString(8, String.valueOf(Character.toLowerCase(name.charAt(1))));
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return count;
+                        }
+                    });
+        }
+        jdbc.execute("ANALYZE");
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public int filterLegacy() {
+        // page 6 and its count, as the @Query Page method ran them
+        List<Employee> page = entityManager
+                .createQuery("SELECT e FROM Employee e" + LEGACY_FILTER_WHERE, Employee.class)
+                .setParameter("empName", null)
+                .setParameter("dept", "Sales")
+                .setParameter("email", null)
+                .setParameter("city", "Surat")
+                .setParameter("status", Status.INACTIVE)
+                .setFirstResult(5 * PAGE_SIZE)
+                .setMaxResults(PAGE_SIZE)
+                .getResultList();
+        long total = entityManager
+                .createQuery("SELECT count(e) FROM Employee e" + LEGACY_FILTER_WHERE, Long.class)
+                .setParameter("empName", null)
+                .setParameter("dept", "Sales")
+                .setParameter("email", null)
+                .setParameter("city", "Surat")
+                .setParameter("status", Status.INACTIVE)
+                .getSingleResult();
+        return page.size() + (int) total;
+    }
+
+    @Benchmark
+    public int filterSpecification() {
+        Page<Employee> page = repository.findAll(
+                EmployeeSpecifications.filter(null, "Sales", null, "Surat", Status.INACTIVE), PageRequest.of(5, PAGE_SIZE));
+        return page.getNumberOfElements() + (int) page.getTotalElements();
+    }
+
+    @Benchmark
+    public int secondCharLegacy() {
+        // the native query findEmployeeBySecondCharacter used to run
+        return entityManager
+                .createNativeQuery("SELECT * FROM employee e WHERE e.emp_name LIKE ?1 OR e.emp_name LIKE ?2", Employee.class)
+                .setParameter(1, "_q%")
+                .setParameter(2, "_Q%")
+                .getResultList()
+                .size();
+    }
+
+    @Benchmark
+    public int secondCharIndexed() {
+        return repository.findByNameSecondChar("q").size();
+    }
+}
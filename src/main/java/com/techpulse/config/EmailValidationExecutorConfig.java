@@ -0,0 +1,105 @@
+package com.techpulse.config;
+
+import com.techpulse.util.BoundedExecutorService;
+import com.techpulse.util.NioSmtpEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@Configuration
+public class EmailValidationExecutorConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailValidationExecutorConfig.class);
+
+    /**
+     * Executor that runs blocking DNS/SMTP probes off the servlet threads.
+     *
+     * mode=platform: fixed pool, its size is the global concurrency limit.
+     * mode=virtual:  one virtual thread per task, capped by max-concurrency permits.
+     *                Needs Java 21+; on older runtimes it falls back to the platform pool.
+     */
+    @Bean(name = "emailValidationExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService emailValidationExecutor(
+            @Value("${email.validation.executor.mode:platform}") String mode,
+            @Value("${email.validation.executor.pool-size:64}") int poolSize,
+            @Value("${email.validation.executor.max-concurrency:1000}") int maxConcurrency) {
+        return emailValidationExecutor(mode, poolSize, maxConcurrency, EmailValidationExecutorConfig::newVirtualThreadPerTaskExecutor);
+    }
+
+    // the virtual thread factory is a parameter so both branches can be tested on any runtime
+    static ExecutorService emailValidationExecutor(String mode, int poolSize, int maxConcurrency,
+                                                   Supplier<ExecutorService> virtualThreads) {
+        if ("virtual".equalsIgnoreCase(mode)) {
+            ExecutorService virtualExecutor = virtualThreads.get();
+            if (virtualExecutor != null) {
+                log.info("Email validation runs on virtual threads (max concurrency {})", maxConcurrency);
+                return new BoundedExecutorService(virtualExecutor, maxConcurrency);
+            }
+            // keep the configured concurrency cap on the fallback pool
+            poolSize = Math.min(poolSize, Math.max(1, maxConcurrency));
+            log.warn("Virtual threads are not available on Java {}, using a platform pool of {} threads",
+                    Runtime.version().feature(), poolSize);
+        }
+
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "email-validation-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(poolSize, threadFactory);
+    }
+
+    /**
+     * Runs individual MX probes, including hedged ones. Kept apart from the validation
+     * executor so a validation waiting on its probes can never starve them of threads.
+     */
+    @Bean(name = "smtpProbeExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService smtpProbeExecutor(
+            @Value("${email.validation.executor.mode:platform}") String mode) {
+        if ("virtual".equalsIgnoreCase(mode)) {
+            ExecutorService virtualExecutor = newVirtualThreadPerTaskExecutor();
+            if (virtualExecutor != null) {
+                return virtualExecutor;
+            }
+        }
+
+        // unbounded, concurrency is already capped by the callers on emailValidationExecutor
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "smtp-probe-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newCachedThreadPool(threadFactory);
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "email.validation.smtp.engine", havingValue = "nio")
+    public NioSmtpEngine nioSmtpEngine(
+            @Value("${email.validation.smtp.nio.io-threads:2}") int ioThreads) throws IOException {
+        log.info("SMTP probes use the NIO engine with {} selector thread(s)", ioThreads);
+        return new NioSmtpEngine(ioThreads);
+    }
+
+    // looked up reflectively so the project still compiles and runs on Java 17
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
@@ -1,16 +1,24 @@
 package com.techpulse.controller;
 
+import com.techpulse.dto.CompanyBulkRequestDTO;
+import com.techpulse.dto.CompanyBulkResultDTO;
 import com.techpulse.dto.CompanyRequestDTO;
 import com.techpulse.dto.CompanyResponseDTO;
+import com.techpulse.dto.CursorPageDTO;
+import com.techpulse.dto.EmployeeResponseDTO;
 import com.techpulse.response.ApiResponse;
 import com.techpulse.service.ICompanyService;
+import com.techpulse.util.ETags;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.Valid;
-import java.util.List;
 
 @RestController
 @RequestMapping("/companies")
@@ -27,30 +35,89 @@ public class CompanyController {
         );
     }
 
+    /**
+     * Companies page by page with their employee count; the employees themselves are
+     * listed by /companies/{id}/employees.
+     */
     @GetMapping
-    public ResponseEntity<ApiResponse> getCompanies() {
-        List<CompanyResponseDTO> list = service.getCompanies();
+    public ResponseEntity<ApiResponse> getCompanies(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        Page<CompanyResponseDTO> companies = service.getCompanies(page, size);
         return ResponseEntity.ok(
-                new ApiResponse(true, "Companies Found...", list)
+                new ApiResponse(true, "Companies Found...", companies)
         );
     }
 
+    /**
+     * Answers 304 without a body when If-None-Match carries the current ETag.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse> getCompanies(@PathVariable Integer id) {
+    public ResponseEntity<ApiResponse> getCompanies(@PathVariable Integer id, WebRequest request) {
         CompanyResponseDTO company = service.getCompanies(id);
-        return ResponseEntity.ok(
+        String etag = ETags.of(company);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(
                 new ApiResponse(true, "Company Found...", company)
         );
     }
 
-    @PutMapping(value = "/{id}", consumes = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<ApiResponse> updateCompany(@PathVariable Integer id, @Valid @RequestBody CompanyRequestDTO dto) {
-        CompanyResponseDTO updateCompanyDetails = service.updateCompanyDetails(id, dto);
+    /**
+     * Keyset-paginated employees of one company: pass nextCursor from the previous
+     * response as cursor to continue.
+     */
+    @GetMapping("/{id}/employees")
+    public ResponseEntity<ApiResponse> getCompanyEmployees(
+            @PathVariable Integer id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPageDTO<EmployeeResponseDTO> employees = service.getCompanyEmployees(id, cursor, size);
         return ResponseEntity.ok(
+                new ApiResponse(true, "Employees Found...", employees)
+        );
+    }
+
+    /**
+     * With If-Match, the update is refused with 412 unless the company is still at
+     * that version. The response carries the new ETag, the same one GET would return.
+     */
+    @PutMapping(value = "/{id}", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse> updateCompany(
+            @PathVariable Integer id,
+            @Valid @RequestBody CompanyRequestDTO dto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        CompanyResponseDTO updateCompanyDetails = service.updateCompanyDetails(id, dto, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(updateCompanyDetails)).body(
                 new ApiResponse(true, "Company Updated Successfully...", updateCompanyDetails)
         );
     }
 
+    @PostMapping(value = "/bulk/delete", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse> deleteCompanies(@Valid @RequestBody CompanyBulkRequestDTO dto) {
+        CompanyBulkResultDTO result = service.deleteCompanies(dto.getCompanyIds());
+        return ResponseEntity.ok(
+                new ApiResponse(true, "Companies Deleted Successfully...", result)
+        );
+    }
+
+    @PostMapping(value = "/bulk/reassign", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse> reassignEmployees(@Valid @RequestBody CompanyBulkRequestDTO dto) {
+        CompanyBulkResultDTO result = service.reassignEmployees(dto.getCompanyIds(), dto.getTargetCompanyId());
+        return ResponseEntity.ok(
+                new ApiResponse(true, "Employees Reassigned Successfully...", result)
+        );
+    }
+
+    @PostMapping(value = "/bulk/status", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse> updateEmployeeStatus(@Valid @RequestBody CompanyBulkRequestDTO dto) {
+        CompanyBulkResultDTO result = service.updateEmployeeStatus(dto.getCompanyIds(), dto.getStatus());
+        return ResponseEntity.ok(
+                new ApiResponse(true, "Employee Status Updated Successfully...", result)
+        );
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponse> deleteCompany(@PathVariable Integer id) {
         service.deleteCompany(id);
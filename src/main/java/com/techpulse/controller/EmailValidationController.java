@@ -1,18 +1,38 @@
 package com.techpulse.controller;
 
+import com.techpulse.dto.EmailBatchRequestDTO;
+import com.techpulse.dto.EmailValidationJobDTO;
 import com.techpulse.dto.EmailValidationResponse;
+import com.techpulse.exception.JobNotFoundException;
 import com.techpulse.response.ApiResponse;
+import com.techpulse.service.IEmailValidationJobService;
 import com.techpulse.service.IEmailValidationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import javax.naming.NamingException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @RestController
 @RequestMapping("/email-validation")
@@ -23,6 +43,179 @@ public class EmailValidationController {
     @Autowired
     private IEmailValidationService service;
 
+    @Autowired
+    private IEmailValidationJobService jobService;
+
+    @Value("${email.validation.batch.timeout-ms:1800000}")
+    private long batchTimeoutMs;
+
+    @Value("${email.validation.jobs.stream-timeout-ms:60000}")
+    private long streamTimeoutMs;
+
+    @PostMapping("/jobs")
+    public ResponseEntity<ApiResponse> submitJob(@RequestParam(name = "email", required = false, defaultValue = "") String email) {
+        if (email == null || email.trim().isEmpty()) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, "Missing required query parameter 'email'", null));
+        }
+
+        EmailValidationJobDTO job = jobService.submit(email);
+        return ResponseEntity.accepted()
+                .location(URI.create("/email-validation/jobs/" + job.getJobId()))
+                .body(new ApiResponse(true, "Email Validation Job Submitted...", job));
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<ApiResponse> getJob(@PathVariable String jobId) {
+        EmailValidationJobDTO job = jobService.getJob(jobId);
+        return ResponseEntity.ok(
+                new ApiResponse(true, "Email Validation Job Found...", job)
+        );
+    }
+
+    /**
+     * Server-sent events: one "job" event with the finished job, then the stream closes.
+     * If the job fails an "error" event is sent instead. A stream that times out first
+     * just ends, the client can poll /jobs/{jobId} or reconnect. An unknown job is a
+     * bodiless 404: the JSON error body of the exception handler cannot be written as
+     * text/event-stream.
+     */
+    @GetMapping(value = "/jobs/{jobId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamJob(@PathVariable String jobId) {
+        CompletableFuture<EmailValidationJobDTO> finished;
+        try {
+            finished = jobService.whenFinished(jobId);
+        } catch (JobNotFoundException e) {
+            log.debug("Stream requested for unknown job {}", jobId);
+            return ResponseEntity.notFound().build();
+        }
+
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        // set once the stream is over, later sends would throw IllegalStateException
+        AtomicBoolean closed = new AtomicBoolean();
+        emitter.onCompletion(() -> closed.set(true));
+        emitter.onError(t -> closed.set(true));
+        emitter.onTimeout(() -> {
+            // the emitter is already complete here, nothing more can be sent
+            if (closed.compareAndSet(false, true)) {
+                log.debug("Stream of job {} timed out before the job finished", jobId);
+            }
+        });
+
+        finished.whenComplete((job, ex) -> {
+            if (!closed.compareAndSet(false, true)) return;
+            if (ex == null) {
+                sendAndComplete(emitter, jobId, SseEmitter.event().name("job").id(jobId)
+                        .data(job, MediaType.APPLICATION_JSON));
+            } else {
+                Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                log.warn("Validation job {} could not be streamed: {}", jobId, cause.getMessage());
+                sendAndComplete(emitter, jobId, SseEmitter.event().name("error").id(jobId)
+                        .data(new ApiResponse(false, "Validation job failed: " + cause.getMessage(), null),
+                                MediaType.APPLICATION_JSON));
+            }
+        });
+        return ResponseEntity.ok(emitter);
+    }
+
+    private static void sendAndComplete(SseEmitter emitter, String jobId, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            // the client left, or the container already closed the stream
+            log.debug("Could not send to the stream of job {}: {}", jobId, e.getMessage());
+            try {
+                emitter.completeWithError(e);
+            } catch (IllegalStateException ignored) {
+            }
+        }
+    }
+
+    /**
+     * Same as /validate, but the servlet thread is released while DNS/SMTP probes run.
+     */
+    @GetMapping("/validate-async")
+    public CompletableFuture<ResponseEntity<ApiResponse>> validateEmailAsync(@RequestParam(name = "email", required = false, defaultValue = "") String email) {
+        if (email == null || email.trim().isEmpty()) {
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.badRequest().body(new ApiResponse(false, "Missing required query parameter 'email'", null)));
+        }
+
+        return service.validateEmailAsync(email)
+                .thenApply(response -> ResponseEntity.ok(
+                        new ApiResponse(true, "Email Validation Done Successfully...", response)))
+                .exceptionally(ex -> {
+                    log.error("Unexpected error during email validation for {}: {}", email, ex.getMessage(), ex);
+                    return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
+                            new ApiResponse(false, "Internal error during email validation: " + ex.getMessage(), null));
+                });
+    }
+
+    /**
+     * Streams one JSON result per line (NDJSON) in completion order, not request order.
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = "application/x-ndjson")
+    public ResponseBodyEmitter validateBatch(@Valid @RequestBody EmailBatchRequestDTO dto) {
+        log.info("EmailValidationController.validateBatch called with {} emails", dto.getEmails().size());
+
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(batchTimeoutMs);
+        service.validateBatch(dto.getEmails(), result -> {
+            // results arrive from several worker threads, keep each line intact
+            synchronized (emitter) {
+                try {
+                    emitter.send(result, MediaType.APPLICATION_JSON);
+                    emitter.send("\n", MediaType.TEXT_PLAIN);
+                } catch (IOException ioe) {
+                    throw new UncheckedIOException(ioe);
+                }
+            }
+        }).whenComplete((ignored, ex) -> {
+            if (ex == null) {
+                emitter.complete();
+            } else {
+                log.warn("Batch validation aborted: {}", ex.getMessage());
+                emitter.completeWithError(ex);
+            }
+        });
+        return emitter;
+    }
+
+    @GetMapping("/mx-cache/stats")
+    public ResponseEntity<ApiResponse> getMxCacheStats() {
+        return ResponseEntity.ok(
+                new ApiResponse(true, "MX Cache Stats Found...", service.getMxCacheStats())
+        );
+    }
+
+    @GetMapping("/mx-health")
+    public ResponseEntity<ApiResponse> getMxHostHealth() {
+        return ResponseEntity.ok(
+                new ApiResponse(true, "MX Host Health Found...", service.getMxHostHealth())
+        );
+    }
+
+    @GetMapping("/result-cache/stats")
+    public ResponseEntity<ApiResponse> getResultCacheStats() {
+        return ResponseEntity.ok(
+                new ApiResponse(true, "Result Cache Stats Found...", service.getResultCacheStats())
+        );
+    }
+
+    @GetMapping("/prefilter/stats")
+    public ResponseEntity<ApiResponse> getPreFilterStats() {
+        return ResponseEntity.ok(
+                new ApiResponse(true, "Pre-Filter Stats Found...", service.getPreFilterStats())
+        );
+    }
+
+    @DeleteMapping("/result-cache")
+    public ResponseEntity<ApiResponse> invalidateResultCache(@RequestParam(name = "email", required = false) String email) {
+        service.invalidateResultCache(email);
+        return ResponseEntity.ok(
+                new ApiResponse(true, "Result Cache Invalidated Successfully...", null)
+        );
+    }
+
     @GetMapping("/validate")
     public ResponseEntity<ApiResponse> validateEmail(@RequestParam(name = "email", required = false, defaultValue = "") String email) {
         log.info("EmailValidationController.validateEmail called with email={}", email);
@@ -1,17 +1,29 @@
 package com.techpulse.controller;
 
+import com.techpulse.dto.CursorPageDTO;
+import com.techpulse.dto.EmployeeBulkUpdateRequestDTO;
+import com.techpulse.dto.EmployeeBulkUpdateResultDTO;
+import com.techpulse.dto.EmployeeExportFormat;
+import com.techpulse.dto.EmployeeImportReportDTO;
 import com.techpulse.dto.EmployeeRequestDTO;
 import com.techpulse.dto.EmployeeResponseDTO;
 import com.techpulse.entity.enums.Status;
 import com.techpulse.response.ApiResponse;
 import com.techpulse.service.IEmployeeService;
+import com.techpulse.util.ETags;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.naming.NamingException;
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -55,6 +67,69 @@ public class EmployeeController {
     }
 
 
+    /**
+     * Ranked type-ahead search over name, email, department and city, answered from
+     * an in-memory index. field narrows it to one of them, match is prefix, substring
+     * (default) or secondChar.
+     */
+    @GetMapping("/search/quick")
+    public ResponseEntity<ApiResponse> quickSearchEmployees(
+            @RequestParam String q,
+            @RequestParam(required = false) String field,
+            @RequestParam(required = false) String match,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "5") int size
+    ) {
+        Page<EmployeeResponseDTO> dto = service.searchEmployees(q, field, match, page, size);
+
+        return ResponseEntity.ok(
+                new ApiResponse(true, "Employee Search Completed...", dto)
+        );
+    }
+
+    /**
+     * Keyset-paginated variant of /search: pass nextCursor from the previous response
+     * as cursor to continue. The total count is only computed when asked for.
+     */
+    @GetMapping("/search/scroll")
+    public ResponseEntity<ApiResponse> scrollFilteredEmployees(
+            @RequestParam(required = false) String empName,
+            @RequestParam(required = false) String dept,
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) Status status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "5") int size,
+            @RequestParam(defaultValue = "empId") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(defaultValue = "false") boolean includeTotal
+    ) {
+        CursorPageDTO<EmployeeResponseDTO> dto = service.scrollEmployees(empName, dept, email, city, status,
+                cursor, size, sort, direction, includeTotal);
+
+        return ResponseEntity.ok(
+                new ApiResponse(true, "Employee Filtered Successfully...", dto)
+        );
+    }
+
+    /**
+     * Keyset-paginated variant of /pageable.
+     */
+    @GetMapping("/scroll")
+    public ResponseEntity<ApiResponse> scrollEmployees(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "5") int size,
+            @RequestParam(defaultValue = "empId") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        CursorPageDTO<EmployeeResponseDTO> dto = service.scrollEmployees(null, null, null, null, null,
+                cursor, size, sort, direction, includeTotal);
+        return ResponseEntity.ok(
+                new ApiResponse(true, "Employees Found.", dto)
+        );
+    }
+
     @PostMapping
     public ResponseEntity<ApiResponse> addEmployee(@Valid @RequestBody EmployeeRequestDTO dto) throws NamingException {
         EmployeeResponseDTO addedEmployee = service.addEmployee(dto);
@@ -63,6 +138,48 @@ public class EmployeeController {
         );
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse> importEmployees(@RequestBody List<EmployeeRequestDTO> rows) {
+        EmployeeImportReportDTO report = service.importEmployees(rows);
+        return ResponseEntity.ok(
+                new ApiResponse(true, "Employees Imported...", report)
+        );
+    }
+
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    public ResponseEntity<ApiResponse> importEmployeesCsv(@RequestBody String csv) {
+        EmployeeImportReportDTO report = service.importEmployeesCsv(csv);
+        return ResponseEntity.ok(
+                new ApiResponse(true, "Employees Imported...", report)
+        );
+    }
+
+    /**
+     * Sets dept, city and/or status on many employees at once, selected by empIds or
+     * by a filter with the same fields as /search.
+     */
+    @PatchMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse> bulkUpdateEmployees(@Valid @RequestBody EmployeeBulkUpdateRequestDTO request) {
+        EmployeeBulkUpdateResultDTO result = service.bulkUpdateEmployees(request);
+        return ResponseEntity.ok(
+                new ApiResponse(true, "Employees Updated Successfully...", result)
+        );
+    }
+
+    /**
+     * Streams all employees as NDJSON (default) or CSV straight to the response.
+     */
+    @GetMapping("/export")
+    public void exportEmployees(@RequestParam(required = false, defaultValue = "ndjson") String format,
+                                HttpServletResponse response) throws IOException {
+        EmployeeExportFormat exportFormat = EmployeeExportFormat.from(format);
+        response.setContentType(exportFormat.getContentType());
+        if (exportFormat == EmployeeExportFormat.CSV) {
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"employees.csv\"");
+        }
+        service.exportEmployees(exportFormat, response.getOutputStream());
+    }
+
     @GetMapping
     public ResponseEntity<ApiResponse> getEmployees() {
         List<EmployeeResponseDTO> list = service.getEmployees();
@@ -82,18 +199,32 @@ public class EmployeeController {
         );
     }
 
+    /**
+     * Answers 304 without a body when If-None-Match carries the current ETag.
+     */
     @GetMapping("/{empId}")
-    public ResponseEntity<ApiResponse> getEmployees(@PathVariable Integer empId) {
+    public ResponseEntity<ApiResponse> getEmployees(@PathVariable Integer empId, WebRequest request) {
         EmployeeResponseDTO employee = service.getEmployees(empId);
-        return ResponseEntity.ok(
+        String etag = ETags.of(employee);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(
                 new ApiResponse(true, "Employee Found.", employee)
         );
     }
 
+    /**
+     * With If-Match, the update is refused with 412 unless the employee is still at
+     * that version.
+     */
     @PutMapping("/{empId}")
-    public ResponseEntity<ApiResponse> updateEmployee(@PathVariable Integer empId, @RequestBody EmployeeRequestDTO dto) {
-        EmployeeResponseDTO updatedEmployee = service.updateEmployee(empId, dto);
-        return ResponseEntity.ok(
+    public ResponseEntity<ApiResponse> updateEmployee(
+            @PathVariable Integer empId,
+            @RequestBody EmployeeRequestDTO dto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        EmployeeResponseDTO updatedEmployee = service.updateEmployee(empId, dto, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(updatedEmployee)).body(
                 new ApiResponse(true, "Employee Updated Successfully.", updatedEmployee)
         );
     }
@@ -0,0 +1,22 @@
+package com.techpulse.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CacheStatsDTO {
+
+    private String name;
+    private int size;
+    private int maxSize;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    // hits / (hits + misses), 0 when the cache has not been used yet
+    private double hitRatio;
+}
@@ -0,0 +1,23 @@
+package com.techpulse.dto;
+
+import com.techpulse.entity.enums.Status;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class CompanyBulkRequestDTO {
+
+    @NotEmpty
+    @Size(max = 1000)
+    private List<@NotNull Integer> companyIds;
+
+    // reassign only: where the employees of companyIds move to
+    private Integer targetCompanyId;
+
+    // status change only: new status for every employee of companyIds
+    private Status status;
+}
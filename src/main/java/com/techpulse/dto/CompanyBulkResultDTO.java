@@ -0,0 +1,17 @@
+package com.techpulse.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CompanyBulkResultDTO {
+
+    // companies that existed and were affected
+    private int companies;
+
+    // employee rows deleted or updated
+    private int employees;
+}
@@ -10,6 +10,12 @@ public class CompanyResponseDTO {
     private String companyName;
     private Integer noOfEmployees;
 
+    private Long version;
+
+    // employees actually stored for the company (noOfEmployees is what was entered)
+    private Long employeeCount;
+
+    // only filled in for a single company, listings use /companies/{id}/employees
     private List<EmployeeResponseDTO> employees;
 
 }
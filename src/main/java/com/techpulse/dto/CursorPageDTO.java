@@ -0,0 +1,23 @@
+package com.techpulse.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPageDTO<T> {
+
+    private List<T> content;
+    private int size;
+
+    // pass back as ?cursor= to get the next page, null on the last page
+    private String nextCursor;
+    private boolean hasNext;
+
+    // only filled in when includeTotal=true, counting costs a full scan
+    private Long total;
+}
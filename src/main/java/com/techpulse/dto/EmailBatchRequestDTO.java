@@ -0,0 +1,15 @@
+package com.techpulse.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class EmailBatchRequestDTO {
+
+    @NotEmpty
+    @Size(max = 50000)
+    private List<String> emails;
+}
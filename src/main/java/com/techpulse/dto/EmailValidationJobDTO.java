@@ -0,0 +1,25 @@
+package com.techpulse.dto;
+
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+public class EmailValidationJobDTO {
+
+    public enum JobState {
+        PENDING, DONE, FAILED
+    }
+
+    private String jobId;
+    private String email;
+    private JobState state;
+
+    private Instant submittedAt;
+    private Instant completedAt;
+
+    // set once state is DONE
+    private EmailValidationResponse result;
+    // set once state is FAILED
+    private String error;
+}
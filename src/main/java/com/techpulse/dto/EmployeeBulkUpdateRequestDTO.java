@@ -0,0 +1,50 @@
+package com.techpulse.dto;
+
+import com.techpulse.entity.enums.Status;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Selects employees either by empIds or by filter (same fields and matching as
+ * /employees/search, at least one of them set), and applies patch to all of them.
+ */
+@Data
+public class EmployeeBulkUpdateRequestDTO {
+
+    private List<@NotNull Integer> empIds;
+
+    @Valid
+    private Filter filter;
+
+    @NotNull
+    @Valid
+    private Patch patch;
+
+    @Data
+    public static class Filter {
+        private String empName;
+        private String dept;
+        private String email;
+        private String city;
+        private Status status;
+
+        public boolean isEmpty() {
+            return empName == null && dept == null && email == null && city == null && status == null;
+        }
+    }
+
+    // null fields are left unchanged
+    @Data
+    public static class Patch {
+        private String dept;
+        private String city;
+        private Status status;
+
+        public boolean isEmpty() {
+            return dept == null && city == null && status == null;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.techpulse.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeBulkUpdateResultDTO {
+
+    // employees selected by the ids or the filter
+    private int matched;
+
+    // rows the UPDATE statements reported as changed
+    private long updated;
+
+    // UPDATE statements issued, one per chunk of ids
+    private int chunks;
+}
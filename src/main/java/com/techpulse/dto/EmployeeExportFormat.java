@@ -0,0 +1,32 @@
+package com.techpulse.dto;
+
+import com.techpulse.exception.BadRequestException;
+
+public enum EmployeeExportFormat {
+
+    NDJSON("application/x-ndjson"),
+    CSV("text/csv;charset=UTF-8");
+
+    private final String contentType;
+
+    EmployeeExportFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public static EmployeeExportFormat from(String value) {
+        if (value == null || value.isBlank()) return NDJSON;
+        switch (value.trim().toLowerCase()) {
+            case "ndjson":
+            case "jsonl":
+                return NDJSON;
+            case "csv":
+                return CSV;
+            default:
+                throw new BadRequestException("Unsupported export format: " + value + " (use ndjson or csv)");
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.techpulse.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeImportReportDTO {
+
+    private int total;
+    private int created;
+    private int rejected;
+    private int failed;
+
+    private List<EmployeeImportRowDTO> rows;
+}
@@ -0,0 +1,25 @@
+package com.techpulse.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeImportRowDTO {
+
+    public enum RowStatus {
+        CREATED, REJECTED, FAILED
+    }
+
+    // 1-based position in the request (data rows only, the CSV header is not counted)
+    private int row;
+    private String email;
+    private RowStatus status;
+
+    // set when CREATED
+    private Integer empId;
+    // why the row was REJECTED (validation) or FAILED (database error)
+    private String message;
+}
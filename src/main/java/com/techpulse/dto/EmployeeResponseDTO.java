@@ -15,6 +15,8 @@ public class EmployeeResponseDTO {
 
     private Status status;
 
+    private Long version;
+
     private CompanyResponseDTO company;
 
 }
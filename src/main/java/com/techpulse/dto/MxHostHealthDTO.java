@@ -0,0 +1,21 @@
+package com.techpulse.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MxHostHealthDTO {
+
+    private String host;
+    // CLOSED, OPEN or HALF_OPEN
+    private String circuit;
+    private int consecutiveFailures;
+
+    private long p99ConnectMillis;
+    private long p99ReplyMillis;
+    private int connectTimeoutMs;
+    private int readTimeoutMs;
+}
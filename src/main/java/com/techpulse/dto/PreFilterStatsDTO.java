@@ -0,0 +1,23 @@
+package com.techpulse.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PreFilterStatsDTO {
+
+    private String source;
+    private int blockedDomains;
+    private Instant loadedAt;
+
+    // addresses that reached the pre-filter stage (syntax already valid)
+    private long checked;
+
+    // rejected before DNS/SMTP, i.e. MX lookups and SMTP probes avoided
+    private long probesAvoided;
+}
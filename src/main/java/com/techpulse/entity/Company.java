@@ -18,6 +18,11 @@ public class Company {
     @Column(length = 1000)
     private Integer noOfEmployees;
 
+    // optimistic locking, also the source of the response ETag
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @OneToMany(mappedBy = "company", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Employee> employees;
 }
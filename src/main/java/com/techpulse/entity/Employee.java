@@ -4,12 +4,30 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.techpulse.entity.enums.Status;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
 @Data
+// updates write only the changed columns
+@DynamicUpdate
+@Table(indexes = {
+        @Index(name = "idx_employee_dept", columnList = "dept"),
+        @Index(name = "idx_employee_city", columnList = "city"),
+        @Index(name = "idx_employee_status", columnList = "status"),
+        @Index(name = "idx_employee_name_second_char", columnList = "name_second_char"),
+        // keyset pages of one company's employees: WHERE company_id = ? AND emp_id > ? ORDER BY emp_id
+        @Index(name = "idx_employee_company_emp", columnList = "company_id, emp_id")
+        // email is covered by its unique constraint
+})
 public class Employee {
+    // annotation values must be constants, so this cannot follow employee.import.batch-size;
+    // keep the two equal so one sequence call covers one JDBC insert batch
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // pooled sequence: ids are handed out ID_ALLOCATION_SIZE at a time, so inserts can be JDBC-batched (IDENTITY cannot)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_seq")
+    @SequenceGenerator(name = "employee_seq", sequenceName = "employee_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Integer empId;
 
     @Column(length = 10)
@@ -28,10 +46,27 @@ public class Employee {
     @Enumerated(EnumType.STRING)
     private Status status;
 
+    // lower-cased second letter of empName, kept in sync below so the lookup is an index seek
+    @Column(name = "name_second_char", length = 1)
+    private String nameSecondChar;
+
+    // optimistic locking, also the source of the response ETag
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "company_id")
     @JsonIgnore
     private Company company;
 
     // Project feature removed — no project relationship here
+
+    @PrePersist
+    @PreUpdate
+    void updateNameSecondChar() {
+        nameSecondChar = empName == null || empName.length() < 2
+                ? null
+                : String.valueOf(Character.toLowerCase(empName.charAt(1)));
+    }
 }
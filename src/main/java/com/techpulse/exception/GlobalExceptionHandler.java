@@ -3,6 +3,8 @@ package com.techpulse.exception;
 import com.techpulse.response.ApiResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -45,6 +47,40 @@ public class GlobalExceptionHandler {
         );
     }
 
+    @ExceptionHandler(JobNotFoundException.class)
+    public ResponseEntity<ApiResponse> handleJobNotFound(JobNotFoundException exception) {
+        return new ResponseEntity<>(
+                new ApiResponse(false, exception.getMessage(), null),
+                HttpStatus.NOT_FOUND
+        );
+    }
+
+    // the job table is full, not the client's fault: come back once jobs have expired
+    @ExceptionHandler(TooManyJobsException.class)
+    public ResponseEntity<ApiResponse> handleTooManyJobs(TooManyJobsException exception) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfterSeconds()))
+                .body(new ApiResponse(false, exception.getMessage(), null));
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ApiResponse> handlePreconditionFailed(PreconditionFailedException exception) {
+        return new ResponseEntity<>(
+                new ApiResponse(false, exception.getMessage(), null),
+                HttpStatus.PRECONDITION_FAILED
+        );
+    }
+
+    // a concurrent write committed between our read and our UPDATE
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponse> handleOptimisticLock(OptimisticLockingFailureException exception) {
+        log.warn("Optimistic lock conflict: {}", exception.getMessage());
+        return new ResponseEntity<>(
+                new ApiResponse(false, "Record was modified concurrently, reload and retry", null),
+                HttpStatus.CONFLICT
+        );
+    }
+
     @ExceptionHandler(MissingServletRequestParameterException.class)
     public ResponseEntity<ApiResponse> handleMissingParam(MissingServletRequestParameterException ex) {
         String msg = "Missing request parameter: " + ex.getParameterName();
@@ -0,0 +1,15 @@
+package com.techpulse.exception;
+
+public class TooManyJobsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyJobsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -11,9 +11,11 @@ import org.mapstruct.factory.Mappers;
 public interface CompanyMapper {
 
     @Mapping(target = "companyId", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Company toEntity(CompanyRequestDTO dto);
 
     @Mapping(target = "employees", ignore = true)
+    @Mapping(target = "employeeCount", ignore = true)
     CompanyResponseDTO toDTO(Company company);
 }
 
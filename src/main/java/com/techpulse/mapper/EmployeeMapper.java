@@ -11,6 +11,8 @@ import org.mapstruct.factory.Mappers;
 public interface EmployeeMapper {
 
     @Mapping(target = "empId", ignore = true)
+    @Mapping(target = "nameSecondChar", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Employee toEntity(EmployeeRequestDTO dto);
 
     @Mapping(target = "company", ignore = true)
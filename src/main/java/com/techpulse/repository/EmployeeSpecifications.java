@@ -0,0 +1,51 @@
+package com.techpulse.repository;
+
+import com.techpulse.entity.Employee;
+import com.techpulse.entity.enums.Status;
+import jakarta.persistence.criteria.JoinType;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Criteria building blocks for employee queries. Only the filters that were
+ * actually supplied become predicates.
+ */
+public final class EmployeeSpecifications {
+
+    private EmployeeSpecifications() {
+    }
+
+    /**
+     * Every non-null argument narrows the result. A value containing '%' or '_' is a
+     * LIKE pattern, anything else is compared for equality so the column index can
+     * be used (a LIKE pattern can too, as long as it does not start with a wildcard).
+     */
+    public static Specification<Employee> filter(String empName, String dept, String email, String city, Status status) {
+        Specification<Employee> spec = Specification.unrestricted();
+        if (empName != null) spec = spec.and(matches("empName", empName));
+        if (dept != null) spec = spec.and(matches("dept", dept));
+        if (email != null) spec = spec.and(matches("email", email));
+        if (city != null) spec = spec.and(matches("city", city));
+        if (status != null) spec = spec.and((root, query, cb) -> cb.equal(root.get("status"), status));
+        return spec;
+    }
+
+    /**
+     * Fetch-joins the company into row queries. Count queries are left alone, a fetch
+     * join there is not allowed.
+     */
+    public static Specification<Employee> fetchCompany() {
+        return (root, query, cb) -> {
+            if (query != null && query.getResultType() != Long.class && query.getResultType() != long.class) {
+                root.fetch("company", JoinType.LEFT);
+            }
+            return null;
+        };
+    }
+
+    private static Specification<Employee> matches(String attribute, String value) {
+        if (value.indexOf('%') >= 0 || value.indexOf('_') >= 0) {
+            return (root, query, cb) -> cb.like(root.get(attribute), value);
+        }
+        return (root, query, cb) -> cb.equal(root.get(attribute), value);
+    }
+}
@@ -1,7 +1,27 @@
 package com.techpulse.repository;
 
 import com.techpulse.entity.Company;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface ICompanyRepository extends JpaRepository<Company, Integer> {
+
+    // the single-company view lists the employees, load them in the same SELECT
+    @EntityGraph(attributePaths = "employees")
+    Optional<Company> findWithEmployeesByCompanyId(Integer companyId);
+
+    @Query("SELECT c.companyId FROM Company c WHERE c.companyId IN :ids")
+    List<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
+
+    // set-based: does not cascade, delete the employees first
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Company c WHERE c.companyId IN :ids")
+    int deleteAllByIds(@Param("ids") Collection<Integer> ids);
 }
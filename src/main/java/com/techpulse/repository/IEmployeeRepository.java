@@ -1,51 +1,90 @@
 package com.techpulse.repository;
 
+import com.techpulse.entity.Company;
 import com.techpulse.entity.Employee;
 import com.techpulse.entity.enums.Status;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface IEmployeeRepository extends JpaRepository<Employee, Integer> {
-
-    /*@Query(value = """
-       SELECT * FROM employee
-       WHERE (:empName IS NULL OR empName LIKE :empName)
-       AND (:dept IS NULL OR dept LIKE :dept)
-       AND (:email IS NULL OR email LIKE :email)
-       AND (:city IS NULL OR city LIKE :city)
-       AND (:status IS NULL OR status = :status)
-       """, nativeQuery = true)*/
-
-    @Query("""
-       SELECT e FROM Employee e
-       WHERE (:empName IS NULL OR e.empName LIKE :empName)
-       AND (:dept IS NULL OR e.dept LIKE :dept)
-       AND (:email IS NULL OR e.email LIKE :email)
-       AND (:city IS NULL OR e.city LIKE :city)
-       AND (:status IS NULL OR e.status = :status)
-       """)
-    Page<Employee> filterEmployees(
-            @Param("empName") String empName,
-            @Param("dept") String dept,
-            @Param("email") String email,
-            @Param("city") String city,
-            @Param("status") Status status,
-            Pageable pageable
-    );
-
-    @Query(
-            value = """
-        SELECT * FROM employee e
-        WHERE e.emp_name LIKE ?1
-           OR e.emp_name LIKE ?2
-        """,
-            nativeQuery = true
-    )
-    List<Employee> findEmployeeBySecondCharacter(String lowerPattern, String upperPattern);
+public interface IEmployeeRepository extends JpaRepository<Employee, Integer>, JpaSpecificationExecutor<Employee> {
+
+    // id-only projection, e.g. findBy(spec, q -> q.as(IdView.class).all())
+    interface IdView {
+        Integer getEmpId();
+    }
+
+    // listings always show the company, load it in the same SELECT instead of one query per row
+    @Override
+    @EntityGraph(attributePaths = "company")
+    Page<Employee> findAll(Pageable pageable);
+
+    @Query("SELECT e FROM Employee e LEFT JOIN FETCH e.company")
+    List<Employee> findAllWithCompany();
+
+    @EntityGraph(attributePaths = "company")
+    Optional<Employee> findWithCompanyByEmpId(Integer empId);
+
+    @Query("SELECT e FROM Employee e LEFT JOIN FETCH e.company WHERE e.empId IN :ids")
+    List<Employee> findAllWithCompanyByIdIn(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Keyset page of one company's employees, ordered by id, starting after afterEmpId.
+     */
+    List<Employee> findByCompanyCompanyIdAndEmpIdGreaterThanOrderByEmpId(Integer companyId, Integer afterEmpId, Limit limit);
+
+    /**
+     * [companyId, employee count] for the given companies; companies without employees are absent.
+     */
+    @Query("SELECT e.company.companyId, COUNT(e) FROM Employee e WHERE e.company.companyId IN :companyIds GROUP BY e.company.companyId")
+    List<Object[]> countByCompanyIds(@Param("companyIds") Collection<Integer> companyIds);
+
+    @Query("SELECT e.empId FROM Employee e WHERE e.company.companyId IN :companyIds")
+    List<Integer> findIdsByCompanyIds(@Param("companyIds") Collection<Integer> companyIds);
+
+    // the bulk statements below bypass the persistence context, so it is flushed before and cleared after
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Employee e WHERE e.company.companyId IN :companyIds")
+    int deleteAllByCompanyIds(@Param("companyIds") Collection<Integer> companyIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Employee e SET e.company = :target, e.version = e.version + 1 WHERE e.company.companyId IN :companyIds")
+    int reassignCompany(@Param("companyIds") Collection<Integer> companyIds, @Param("target") Company target);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Employee e SET e.status = :status, e.version = e.version + 1 WHERE e.company.companyId IN :companyIds")
+    int updateStatusByCompanyIds(@Param("companyIds") Collection<Integer> companyIds, @Param("status") Status status);
+
+    // equality on the indexed name_second_char column, see Employee#updateNameSecondChar
+    List<Employee> findByNameSecondChar(String nameSecondChar);
+
+    /**
+     * Forward-only stream over all employees with their company, for exports. Must be
+     * consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e FROM Employee e LEFT JOIN FETCH e.company ORDER BY e.empId")
+    Stream<Employee> streamAllWithCompany();
+
+    @Query("SELECT e.email FROM Employee e WHERE e.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
 
 }
@@ -1,15 +1,49 @@
 package com.techpulse.service;
 
+import com.techpulse.dto.CompanyBulkResultDTO;
 import com.techpulse.dto.CompanyRequestDTO;
 import com.techpulse.dto.CompanyResponseDTO;
+import com.techpulse.dto.CursorPageDTO;
+import com.techpulse.dto.EmployeeResponseDTO;
+import com.techpulse.entity.enums.Status;
+import org.springframework.data.domain.Page;
 
 import java.util.List;
 
 public interface ICompanyService {
 
     public CompanyResponseDTO addCompany(CompanyRequestDTO dto);
-    public List<CompanyResponseDTO> getCompanies();
+
+    /**
+     * One page of companies with their employeeCount, without loading any employee.
+     */
+    public Page<CompanyResponseDTO> getCompanies(int page, int size);
+
+    /**
+     * Keyset page of a company's employees ordered by id. A null or blank cursor starts
+     * from the first one.
+     */
+    public CursorPageDTO<EmployeeResponseDTO> getCompanyEmployees(Integer id, String cursor, int size);
     public CompanyResponseDTO getCompanies(Integer id);
-    public CompanyResponseDTO updateCompanyDetails(Integer id, CompanyRequestDTO dto);
+    /**
+     * expectedVersion, from If-Match, is compared with the stored version; null skips the check.
+     */
+    public CompanyResponseDTO updateCompanyDetails(Integer id, CompanyRequestDTO dto, Long expectedVersion);
     public void deleteCompany(Integer id);
+
+    /**
+     * Deletes the companies and all their employees with set-based statements in one
+     * transaction. Unknown ids are skipped.
+     */
+    public CompanyBulkResultDTO deleteCompanies(List<Integer> ids);
+
+    /**
+     * Moves every employee of the given companies to the target company.
+     */
+    public CompanyBulkResultDTO reassignEmployees(List<Integer> fromIds, Integer targetId);
+
+    /**
+     * Sets the status of every employee of the given companies.
+     */
+    public CompanyBulkResultDTO updateEmployeeStatus(List<Integer> ids, Status status);
 }
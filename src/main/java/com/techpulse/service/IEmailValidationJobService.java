@@ -0,0 +1,16 @@
+package com.techpulse.service;
+
+import com.techpulse.dto.EmailValidationJobDTO;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface IEmailValidationJobService {
+
+    public EmailValidationJobDTO submit(String email);
+    public EmailValidationJobDTO getJob(String jobId);
+
+    /**
+     * Completes with the job snapshot once the job is DONE or FAILED.
+     */
+    public CompletableFuture<EmailValidationJobDTO> whenFinished(String jobId);
+}
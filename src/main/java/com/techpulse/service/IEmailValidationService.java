@@ -1,10 +1,37 @@
 package com.techpulse.service;
 
+import com.techpulse.dto.CacheStatsDTO;
 import com.techpulse.dto.EmailValidationResponse;
+import com.techpulse.dto.MxHostHealthDTO;
+import com.techpulse.dto.PreFilterStatsDTO;
 
 import javax.naming.NamingException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public interface IEmailValidationService {
 
     public EmailValidationResponse validateEmail(String email) throws NamingException;
+
+    /**
+     * Runs {@link #validateEmail(String)} on the validation executor instead of the caller's thread.
+     */
+    public CompletableFuture<EmailValidationResponse> validateEmailAsync(String email);
+
+    /**
+     * Validates many addresses in parallel. The listener is called (from worker threads)
+     * as each result finishes; the returned future completes when all are done.
+     */
+    public CompletableFuture<Void> validateBatch(List<String> emails, Consumer<EmailValidationResponse> listener);
+
+    public CacheStatsDTO getMxCacheStats();
+    public List<MxHostHealthDTO> getMxHostHealth();
+    public CacheStatsDTO getResultCacheStats();
+    public PreFilterStatsDTO getPreFilterStats();
+
+    /**
+     * Drops the cached result for one address, or every cached result when email is blank.
+     */
+    public void invalidateResultCache(String email);
 }
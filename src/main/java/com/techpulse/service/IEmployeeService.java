@@ -1,5 +1,10 @@
 package com.techpulse.service;
 
+import com.techpulse.dto.CursorPageDTO;
+import com.techpulse.dto.EmployeeBulkUpdateRequestDTO;
+import com.techpulse.dto.EmployeeBulkUpdateResultDTO;
+import com.techpulse.dto.EmployeeExportFormat;
+import com.techpulse.dto.EmployeeImportReportDTO;
 import com.techpulse.dto.EmployeeRequestDTO;
 import com.techpulse.dto.EmployeeResponseDTO;
 import com.techpulse.entity.Employee;
@@ -7,6 +12,8 @@ import com.techpulse.entity.enums.Status;
 import org.springframework.data.domain.Page;
 
 import javax.naming.NamingException;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface IEmployeeService {
@@ -17,7 +24,10 @@ public interface IEmployeeService {
     public List<EmployeeResponseDTO> getEmployees();
     public Page<EmployeeResponseDTO> getEmployees(int page, int size);
     public EmployeeResponseDTO getEmployees(Integer empId);
-    public EmployeeResponseDTO updateEmployee(Integer empId, EmployeeRequestDTO dto);
+    /**
+     * expectedVersion, from If-Match, is compared with the stored version; null skips the check.
+     */
+    public EmployeeResponseDTO updateEmployee(Integer empId, EmployeeRequestDTO dto, Long expectedVersion);
     public void deleteEmployee(Integer empId);
     public Page<EmployeeResponseDTO> filterEmployees(
             String empName,
@@ -32,6 +42,60 @@ public interface IEmployeeService {
 
     public List<EmployeeResponseDTO> findEmployeeBySecondCharacter(String secondCharacter);
 
+    /**
+     * Ranked type-ahead search served from the in-memory EmployeeSearchIndex; only the
+     * requested page of employees is loaded from the database. field is empName, email,
+     * dept or city (null for all), match is prefix, substring (default) or secondChar.
+     */
+    public Page<EmployeeResponseDTO> searchEmployees(String q, String field, String match, int page, int size);
+
+    /**
+     * Reloads the search index from the database. Returns the number of employees indexed.
+     */
+    public int rebuildSearchIndex();
+
+    /**
+     * Keyset pagination: each page starts after the row the cursor points at, so deep
+     * pages cost the same as the first one. A null or blank cursor starts from the top.
+     * Filters have the same meaning as in filterEmployees and may all be null.
+     */
+    public CursorPageDTO<EmployeeResponseDTO> scrollEmployees(
+            String empName,
+            String dept,
+            String email,
+            String city,
+            Status status,
+            String cursor,
+            int size,
+            String sort,
+            String direction,
+            boolean includeTotal
+    );
+
+    /**
+     * Validates and inserts many employees at once. Rows that fail validation are
+     * reported and skipped, the rest are inserted in JDBC batches.
+     */
+    public EmployeeImportReportDTO importEmployees(List<EmployeeRequestDTO> rows);
+
+    /**
+     * Same as {@link #importEmployees(List)} for CSV with a header row naming the
+     * EmployeeRequestDTO fields (empName,salary,email,dept,city,status,companyId).
+     */
+    public EmployeeImportReportDTO importEmployeesCsv(String csv);
+
+    /**
+     * Applies one patch (dept, city, status) to every employee selected by id list or
+     * filter, with chunked set-based UPDATE statements, each chunk committed on its own.
+     */
+    public EmployeeBulkUpdateResultDTO bulkUpdateEmployees(EmployeeBulkUpdateRequestDTO request);
+
+    /**
+     * Writes every employee to the stream, one row at a time, without holding the
+     * table in memory. Returns the number of rows written.
+     */
+    public long exportEmployees(EmployeeExportFormat format, OutputStream out) throws IOException;
+
 
     /*
     public Employee addEmployee(Employee employee);
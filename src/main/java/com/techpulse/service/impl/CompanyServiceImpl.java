@@ -1,23 +1,46 @@
 package com.techpulse.service.impl;
 
+import com.techpulse.dto.CompanyBulkResultDTO;
 import com.techpulse.dto.CompanyRequestDTO;
 import com.techpulse.dto.CompanyResponseDTO;
+import com.techpulse.dto.CursorPageDTO;
 import com.techpulse.dto.EmployeeResponseDTO;
 import com.techpulse.entity.Company;
+import com.techpulse.entity.Employee;
+import com.techpulse.entity.enums.Status;
+import com.techpulse.exception.BadRequestException;
 import com.techpulse.exception.CompanyNotAvailableException;
+import com.techpulse.exception.PreconditionFailedException;
 import com.techpulse.mapper.CompanyMapper;
 import com.techpulse.mapper.EmployeeMapper;
 import com.techpulse.repository.ICompanyRepository;
+import com.techpulse.repository.IEmployeeRepository;
 import com.techpulse.service.ICompanyService;
+import com.techpulse.util.EmployeeSearchIndex;
+import com.techpulse.util.EntityResponseCache;
+import com.techpulse.util.KeysetCursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.List;
 
 @Service
 public class CompanyServiceImpl implements ICompanyService {
 
+    private static final Logger log = LoggerFactory.getLogger(CompanyServiceImpl.class);
+
     @Autowired
     private ICompanyRepository repository;
 
@@ -27,6 +50,17 @@ public class CompanyServiceImpl implements ICompanyService {
     @Autowired
     private EmployeeMapper employeeMapper;   // IMPORTANT
 
+    @Autowired
+    private EntityResponseCache entityCache;
+
+    @Autowired
+    private IEmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeSearchIndex searchIndex;
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
     @Override
     public CompanyResponseDTO addCompany(CompanyRequestDTO dto) {
         Company company = companyMapper.toEntity(dto);
@@ -35,31 +69,82 @@ public class CompanyServiceImpl implements ICompanyService {
     }
 
     @Override
-    public List<CompanyResponseDTO> getCompanies() {
-        return repository.findAll()
-                .stream()
-                .map(company -> {
-                    CompanyResponseDTO dto = companyMapper.toDTO(company);
-
-                    // Set employees list
-                    dto.setEmployees(
-                            company.getEmployees()
-                                    .stream()
-                                    .map(employeeMapper::toDTO)
-                                    .collect(Collectors.toList())
-                    );
-
-                    return dto;
-                })
-                .collect(Collectors.toList());
+    public Page<CompanyResponseDTO> getCompanies(int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        Page<Company> companies = repository.findAll(PageRequest.of(page, size, Sort.by("companyId")));
+
+        // one GROUP BY over the employees of this page's companies only
+        Map<Integer, Long> counts = new HashMap<>();
+        if (companies.hasContent()) {
+            List<Integer> ids = companies.map(Company::getCompanyId).getContent();
+            for (Object[] row : employeeRepository.countByCompanyIds(ids)) {
+                counts.put((Integer) row[0], (Long) row[1]);
+            }
+        }
+
+        return companies.map(company -> {
+            CompanyResponseDTO dto = companyMapper.toDTO(company);
+            dto.setEmployeeCount(counts.getOrDefault(company.getCompanyId(), 0L));
+            return dto;
+        });
+    }
+
+    @Override
+    public CursorPageDTO<EmployeeResponseDTO> getCompanyEmployees(Integer id, String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (!repository.existsById(id)) {
+            throw new CompanyNotAvailableException("Company Not Found :: " + id);
+        }
+
+        Integer after = Integer.MIN_VALUE;
+        if (cursor != null && !cursor.isBlank()) {
+            KeysetCursor decoded = KeysetCursor.decode(cursor);
+            Object empId = decoded.getKeys().get("empId");
+            if (!"empId".equals(decoded.getSort()) || !(empId instanceof Integer)) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            after = (Integer) empId;
+        }
+
+        // one extra row tells whether there is a next page
+        List<Employee> rows = employeeRepository.findByCompanyCompanyIdAndEmpIdGreaterThanOrderByEmpId(id, after, Limit.of(size + 1));
+        boolean hasNext = rows.size() > size;
+        List<EmployeeResponseDTO> content = new ArrayList<>(Math.min(rows.size(), size));
+        for (int i = 0; i < rows.size() && i < size; i++) {
+            content.add(employeeMapper.toDTO(rows.get(i)));
+        }
+
+        String nextCursor = hasNext
+                ? KeysetCursor.encode("empId", Sort.Direction.ASC, Map.of("empId", rows.get(size - 1).getEmpId()))
+                : null;
+        return new CursorPageDTO<>(content, content.size(), nextCursor, hasNext, null);
     }
 
     @Override
     public CompanyResponseDTO getCompanies(Integer id) {
-        Company company = repository.findById(id)
+        return entityCache.companies().get(id, this::loadCompany);
+    }
+
+    private CompanyResponseDTO loadCompany(Integer id) {
+        Company company = repository.findWithEmployeesByCompanyId(id)
                 .orElseThrow(() -> new CompanyNotAvailableException("Company Not Found :: " + id));
 
+        return toDetailDTO(company);
+    }
+
+    /**
+     * The single-company view with its employee list, as returned by GET and PUT so both
+     * carry the same ETag.
+     */
+    private CompanyResponseDTO toDetailDTO(Company company) {
         CompanyResponseDTO dto = companyMapper.toDTO(company);
+        if (company.getEmployees() == null) {
+            return dto;
+        }
 
         // Add employee list
         dto.setEmployees(
@@ -68,27 +153,127 @@ public class CompanyServiceImpl implements ICompanyService {
                         .map(employeeMapper::toDTO)
                         .collect(Collectors.toList())
         );
+        dto.setEmployeeCount((long) company.getEmployees().size());
 
         return dto;
     }
 
     @Override
-    public CompanyResponseDTO updateCompanyDetails(Integer id, CompanyRequestDTO dto) {
+    @Transactional
+    public CompanyResponseDTO updateCompanyDetails(Integer id, CompanyRequestDTO dto, Long expectedVersion) {
         Company oldCompany = repository.findById(id)
                 .orElseThrow(() -> new CompanyNotAvailableException("Cannot update! Company Not Found :: " + id));
+        if (expectedVersion != null && !expectedVersion.equals(oldCompany.getVersion())) {
+            throw new PreconditionFailedException("Company " + id + " has changed, current version is " + oldCompany.getVersion());
+        }
 
         oldCompany.setCompanyName(dto.getCompanyName());
         oldCompany.setNoOfEmployees(dto.getNoOfEmployees());
 
-        Company updated = repository.save(oldCompany);
-        return companyMapper.toDTO(updated);
+        // flushed here so a concurrent write fails now and the response carries the new version
+        Company updated = repository.saveAndFlush(oldCompany);
+        entityCache.afterCommit(() -> {
+            entityCache.companies().invalidate(id);
+            entityCache.invalidateEmployeesOfCompany(id);
+        });
+        return toDetailDTO(updated);
     }
 
     @Override
+    @Transactional
     public void deleteCompany(Integer id) {
-        if (!repository.existsById(id)) {
+        if (deleteWithEmployees(List.of(id)).getCompanies() == 0) {
             throw new CompanyNotAvailableException("Cannot Delete! Company Not Found :: " + id);
         }
-        repository.deleteById(id);
+    }
+
+    @Override
+    @Transactional
+    public CompanyBulkResultDTO deleteCompanies(List<Integer> ids) {
+        return deleteWithEmployees(distinct(ids));
+    }
+
+    @Override
+    @Transactional
+    public CompanyBulkResultDTO reassignEmployees(List<Integer> fromIds, Integer targetId) {
+        List<Integer> ids = distinct(fromIds);
+        if (targetId == null) {
+            throw new BadRequestException("targetCompanyId is required");
+        }
+        if (ids.contains(targetId)) {
+            throw new BadRequestException("targetCompanyId must not be one of companyIds");
+        }
+        if (!repository.existsById(targetId)) {
+            throw new CompanyNotAvailableException("Target Company Not Found :: " + targetId);
+        }
+        List<Integer> existing = repository.findExistingIds(ids);
+        if (existing.isEmpty()) {
+            return new CompanyBulkResultDTO(0, 0);
+        }
+
+        int moved = employeeRepository.reassignCompany(existing, repository.getReferenceById(targetId));
+        log.info("Moved {} employees from companies {} to company {}", moved, existing, targetId);
+
+        entityCache.afterCommit(() -> {
+            entityCache.companies().invalidate(targetId);
+            for (Integer id : existing) {
+                entityCache.companies().invalidate(id);
+                entityCache.invalidateEmployeesOfCompany(id);
+            }
+        });
+        return new CompanyBulkResultDTO(existing.size(), moved);
+    }
+
+    @Override
+    @Transactional
+    public CompanyBulkResultDTO updateEmployeeStatus(List<Integer> ids, Status status) {
+        if (status == null) {
+            throw new BadRequestException("status is required");
+        }
+        List<Integer> existing = repository.findExistingIds(distinct(ids));
+        if (existing.isEmpty()) {
+            return new CompanyBulkResultDTO(0, 0);
+        }
+
+        int updated = employeeRepository.updateStatusByCompanyIds(existing, status);
+        log.info("Set status {} on {} employees of companies {}", status, updated, existing);
+
+        entityCache.afterCommit(() -> {
+            for (Integer id : existing) {
+                entityCache.companies().invalidate(id);
+                entityCache.invalidateEmployeesOfCompany(id);
+            }
+        });
+        return new CompanyBulkResultDTO(existing.size(), updated);
+    }
+
+    /**
+     * Two DELETE statements instead of the cascade, which loads and removes every
+     * employee entity one by one. Callers run this inside a transaction.
+     */
+    private CompanyBulkResultDTO deleteWithEmployees(List<Integer> ids) {
+        // the search index and caches are keyed by employee id
+        List<Integer> empIds = employeeRepository.findIdsByCompanyIds(ids);
+        int employees = empIds.isEmpty() ? 0 : employeeRepository.deleteAllByCompanyIds(ids);
+        int companies = repository.deleteAllByIds(ids);
+        log.info("Deleted {} companies with {} employees", companies, employees);
+
+        entityCache.afterCommit(() -> {
+            for (Integer id : ids) {
+                entityCache.companies().invalidate(id);
+                entityCache.invalidateEmployeesOfCompany(id);
+            }
+            for (Integer empId : empIds) {
+                searchIndex.remove(empId);
+            }
+        });
+        return new CompanyBulkResultDTO(companies, employees);
+    }
+
+    private static List<Integer> distinct(List<Integer> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new BadRequestException("companyIds must not be empty");
+        }
+        return new ArrayList<>(new LinkedHashSet<>(ids));
     }
 }
@@ -0,0 +1,171 @@
+package com.techpulse.service.impl;
+
+import com.techpulse.dto.EmailValidationJobDTO;
+import com.techpulse.dto.EmailValidationJobDTO.JobState;
+import com.techpulse.dto.EmailValidationResponse;
+import com.techpulse.exception.JobNotFoundException;
+import com.techpulse.exception.TooManyJobsException;
+import com.techpulse.service.IEmailValidationJobService;
+import com.techpulse.service.IEmailValidationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+@Service
+public class EmailValidationJobServiceImpl implements IEmailValidationJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailValidationJobServiceImpl.class);
+
+    private static class Job {
+        private final EmailValidationJobDTO snapshot;
+        private final CompletableFuture<EmailValidationJobDTO> finished = new CompletableFuture<>();
+
+        private Job(EmailValidationJobDTO snapshot) {
+            this.snapshot = snapshot;
+        }
+    }
+
+    @Autowired
+    private IEmailValidationService emailValidationService;
+
+    @Value("${email.validation.jobs.max-jobs:10000}")
+    private int maxJobs;
+
+    @Value("${email.validation.jobs.retention-minutes:30}")
+    private long retentionMinutes;
+
+    @Value("${email.validation.jobs.retry-after-seconds:30}")
+    private long retryAfterSeconds;
+
+    // a job still PENDING after this long is failed, its task was lost
+    @Value("${email.validation.jobs.max-pending-minutes:10}")
+    private long maxPendingMinutes;
+
+    @Value("${email.validation.jobs.purge-interval-ms:1000}")
+    private long purgeIntervalMillis;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private volatile long nextPurgeAtMillis;
+
+    @Override
+    public EmailValidationJobDTO submit(String email) {
+        purgeExpired(false);
+        if (jobs.size() >= maxJobs) {
+            // one forced pass before turning the client away
+            purgeExpired(true);
+        }
+        if (jobs.size() >= maxJobs) {
+            throw new TooManyJobsException("Too many validation jobs, try again later", retryAfterSeconds);
+        }
+
+        EmailValidationJobDTO dto = new EmailValidationJobDTO();
+        dto.setJobId(UUID.randomUUID().toString());
+        dto.setEmail(email);
+        dto.setState(JobState.PENDING);
+        dto.setSubmittedAt(Instant.now());
+
+        Job job = new Job(dto);
+        jobs.put(dto.getJobId(), job);
+        log.info("Submitted email validation job {} for {}", dto.getJobId(), email);
+
+        CompletableFuture<EmailValidationResponse> validation;
+        try {
+            validation = emailValidationService.validateEmailAsync(email);
+        } catch (RuntimeException e) {
+            // e.g. RejectedExecutionException while shutting down: nothing will ever finish the job
+            finish(job, null, e);
+            return copy(job);
+        }
+        validation.whenComplete((result, ex) -> finish(job, result, ex));
+
+        return copy(job);
+    }
+
+    @Override
+    public EmailValidationJobDTO getJob(String jobId) {
+        return copy(find(jobId));
+    }
+
+    @Override
+    public CompletableFuture<EmailValidationJobDTO> whenFinished(String jobId) {
+        return find(jobId).finished;
+    }
+
+    // first outcome wins, a late result for a job failed as stuck is ignored
+    private void finish(Job job, EmailValidationResponse result, Throwable ex) {
+        EmailValidationJobDTO dto = job.snapshot;
+        synchronized (job) {
+            if (dto.getState() != JobState.PENDING) return;
+            if (ex == null) {
+                dto.setResult(result);
+                dto.setState(JobState.DONE);
+            } else {
+                Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                dto.setError(cause.getMessage() == null ? cause.toString() : cause.getMessage());
+                dto.setState(JobState.FAILED);
+                log.warn("Email validation job {} failed: {}", dto.getJobId(), dto.getError());
+            }
+            dto.setCompletedAt(Instant.now());
+        }
+        job.finished.complete(copy(job));
+    }
+
+    private Job find(String jobId) {
+        purgeExpired(false);
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            throw new JobNotFoundException("Validation Job Not Found :: " + jobId);
+        }
+        return job;
+    }
+
+    /**
+     * Drops finished jobs past their retention and fails jobs stuck in PENDING.
+     * Runs on submit and on reads, at most once per purge interval unless forced.
+     */
+    private void purgeExpired(boolean force) {
+        long now = System.currentTimeMillis();
+        if (!force && now < nextPurgeAtMillis) return;
+        nextPurgeAtMillis = now + purgeIntervalMillis;
+
+        Instant cutoff = Instant.ofEpochMilli(now).minus(Duration.ofMinutes(retentionMinutes));
+        Instant pendingCutoff = Instant.ofEpochMilli(now).minus(Duration.ofMinutes(maxPendingMinutes));
+        jobs.values().removeIf(job -> {
+            synchronized (job) {
+                Instant completedAt = job.snapshot.getCompletedAt();
+                return completedAt != null && completedAt.isBefore(cutoff);
+            }
+        });
+        for (Job job : jobs.values()) {
+            if (job.snapshot.getState() == JobState.PENDING && job.snapshot.getSubmittedAt().isBefore(pendingCutoff)) {
+                finish(job, null, new TimeoutException("Validation did not finish within " + maxPendingMinutes + " minutes"));
+            }
+        }
+    }
+
+    private static EmailValidationJobDTO copy(Job job) {
+        synchronized (job) {
+            EmailValidationJobDTO src = job.snapshot;
+            EmailValidationJobDTO dto = new EmailValidationJobDTO();
+            dto.setJobId(src.getJobId());
+            dto.setEmail(src.getEmail());
+            dto.setState(src.getState());
+            dto.setSubmittedAt(src.getSubmittedAt());
+            dto.setCompletedAt(src.getCompletedAt());
+            dto.setResult(src.getResult());
+            dto.setError(src.getError());
+            return dto;
+        }
+    }
+}
@@ -1,23 +1,47 @@
 package com.techpulse.service.impl;
 
+import com.techpulse.dto.CacheStatsDTO;
 import com.techpulse.dto.EmailValidationResponse;
+import com.techpulse.dto.MxHostHealthDTO;
+import com.techpulse.dto.PreFilterStatsDTO;
 import com.techpulse.service.IEmailValidationService;
+import com.techpulse.util.DnsResolver;
+import com.techpulse.util.DomainBlocklist;
+import com.techpulse.util.EmailPreFilter;
+import com.techpulse.util.MxHostHealth;
+import com.techpulse.util.MxRecord;
+import com.techpulse.util.MxRecordCache;
+import com.techpulse.util.NioSmtpEngine;
+import com.techpulse.util.SmtpSessionPool;
 import com.techpulse.util.SmtpValidator;
+import com.techpulse.util.ValidationMetrics;
+import com.techpulse.util.ValidationResultCache;
 import org.apache.commons.validator.routines.EmailValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import javax.naming.NamingEnumeration;
 import javax.naming.NamingException;
-import javax.naming.directory.DirContext;
-import javax.naming.directory.Attributes;
-import javax.naming.directory.InitialDirContext;
-import javax.naming.directory.Attribute;
-import java.io.IOException;
+import java.time.Instant;
 import java.util.ArrayList;
-import java.util.Hashtable;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 
 @Service
@@ -25,11 +49,258 @@ public class EmailValidationServiceImpl implements IEmailValidationService {
 
     private static final Logger log = LoggerFactory.getLogger(EmailValidationServiceImpl.class);
 
+    @Autowired
+    private MxRecordCache mxRecordCache;
+
+    @Autowired
+    private DnsResolver dnsResolver;
+
+    @Autowired
+    private ValidationResultCache resultCache;
+
+    @Autowired
+    private MxHostHealth mxHostHealth;
+
+    @Autowired
+    private DomainBlocklist domainBlocklist;
+
+    @Autowired
+    private ValidationMetrics metrics;
+
+    // every EmailPreFilter bean, the domain blocklist included
+    @Autowired(required = false)
+    private List<EmailPreFilter> preFilters = Collections.emptyList();
+
+    private final AtomicLong preFilterChecked = new AtomicLong();
+    private final AtomicLong probesAvoided = new AtomicLong();
+
+    @Autowired
+    @Qualifier("emailValidationExecutor")
+    private ExecutorService emailValidationExecutor;
+
+    @Autowired
+    @Qualifier("smtpProbeExecutor")
+    private ExecutorService smtpProbeExecutor;
+
+    // only present when email.validation.smtp.engine=nio
+    @Autowired(required = false)
+    private NioSmtpEngine nioSmtpEngine;
+
+    // idle sessions of the blocking engine, reused by the next chunk for the same MX host
+    @Autowired
+    private SmtpSessionPool smtpSessionPool;
+
+    @Value("${email.validation.smtp.hedge-delay-ms:1500}")
+    private long hedgeDelayMs;
+
+    @Value("${email.validation.batch.per-domain-concurrency:4}")
+    private int perDomainConcurrency;
+
+    @Value("${email.validation.batch.smtp-session-size:20}")
+    private int smtpSessionSize;
+
+    @Override
+    public CacheStatsDTO getMxCacheStats() {
+        return mxRecordCache.stats();
+    }
+
+    @Override
+    public List<MxHostHealthDTO> getMxHostHealth() {
+        return mxHostHealth.snapshot();
+    }
+
+    @Override
+    public CacheStatsDTO getResultCacheStats() {
+        return resultCache.stats();
+    }
+
+    @Override
+    public PreFilterStatsDTO getPreFilterStats() {
+        return new PreFilterStatsDTO(domainBlocklist.getSource(), domainBlocklist.size(),
+                Instant.ofEpochMilli(domainBlocklist.getLoadedAtMillis()), preFilterChecked.get(), probesAvoided.get());
+    }
+
+    @Override
+    public void invalidateResultCache(String email) {
+        if (email == null || email.isBlank()) {
+            resultCache.clear();
+        } else {
+            resultCache.invalidate(email);
+        }
+    }
+
+    @Override
+    public CompletableFuture<EmailValidationResponse> validateEmailAsync(String email) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return validateEmail(email);
+            } catch (NamingException ne) {
+                throw new CompletionException(ne);
+            }
+        }, emailValidationExecutor);
+    }
+
+    @Override
+    public CompletableFuture<Void> validateBatch(List<String> emails, Consumer<EmailValidationResponse> listener) {
+        // group by domain so one slow domain never holds more than perDomainConcurrency workers
+        Map<String, Queue<String>> byDomain = new LinkedHashMap<>();
+        for (String email : emails) {
+            byDomain.computeIfAbsent(domainOf(email), d -> new ConcurrentLinkedQueue<>()).add(email);
+        }
+        log.info("Batch validation of {} emails across {} domains", emails.size(), byDomain.size());
+
+        AtomicBoolean cancelled = new AtomicBoolean(false);
+        List<CompletableFuture<Void>> workers = new ArrayList<>();
+        for (Queue<String> queue : byDomain.values()) {
+            int workerCount = Math.min(Math.max(1, perDomainConcurrency), queue.size());
+            for (int i = 0; i < workerCount; i++) {
+                workers.add(CompletableFuture.runAsync(() -> drain(queue, listener, cancelled), emailValidationExecutor));
+            }
+        }
+        return CompletableFuture.allOf(workers.toArray(new CompletableFuture[0]));
+    }
+
+    private void drain(Queue<String> queue, Consumer<EmailValidationResponse> listener, AtomicBoolean cancelled) {
+        List<String> chunk = new ArrayList<>(smtpSessionSize);
+        while (!cancelled.get()) {
+            // take a chunk of same-domain addresses to check over one SMTP session
+            chunk.clear();
+            String email;
+            while (chunk.size() < smtpSessionSize && (email = queue.poll()) != null) {
+                chunk.add(email);
+            }
+            if (chunk.isEmpty()) return;
+
+            for (EmailValidationResponse result : validateSameDomainQuietly(chunk)) {
+                try {
+                    listener.accept(result);
+                } catch (RuntimeException e) {
+                    // listener failed (e.g. client disconnected), stop the remaining work
+                    cancelled.set(true);
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private List<EmailValidationResponse> validateSameDomainQuietly(List<String> emails) {
+        try {
+            return validateSameDomain(emails);
+        } catch (RuntimeException e) {
+            log.warn("Validation error for {} emails: {}", emails.size(), e.getMessage());
+            List<EmailValidationResponse> responses = new ArrayList<>(emails.size());
+            for (String email : emails) {
+                EmailValidationResponse response = newResponse(email);
+                response.setSmtpMessage("Validation error: " + e.getMessage());
+                responses.add(response);
+            }
+            return responses;
+        }
+    }
+
+    /**
+     * Validates addresses that share one domain: the MX lookup is done once (the rest
+     * hit the MX cache) and all recipients are checked over one SMTP session per MX host.
+     */
+    private List<EmailValidationResponse> validateSameDomain(List<String> emails) {
+        List<EmailValidationResponse> responses = new ArrayList<>(emails.size());
+        List<EmailValidationResponse> pending = new ArrayList<>(emails.size());
+        List<MxRecord> mxRecords = null;
+        long start = System.nanoTime();
+
+        for (String email : emails) {
+            EmailValidationResponse cached = resultCache.get(email);
+            if (cached != null) {
+                responses.add(cached);
+                continue;
+            }
+
+            EmailValidationResponse response = checkSyntax(email);
+            responses.add(response);
+            String domain = domainOf(email);
+            if (!response.isSyntaxValid()) {
+                // keep junk out of the domain tag
+                finish(response, "", start);
+                continue;
+            }
+            if (!passesPreFilters(response, domain)) {
+                finish(response, domain, start);
+                continue;
+            }
+
+            List<MxRecord> records = resolveMx(response, domain);
+            if (records == null) {
+                finish(response, domain, start);
+                continue;
+            }
+
+            mxRecords = records;
+            pending.add(response);
+        }
+
+        if (!pending.isEmpty()) {
+            probeSmtp(pending, mxRecords);
+            for (EmailValidationResponse response : pending) {
+                finish(response, domainOf(response.getEmail()), start);
+            }
+        }
+        return responses;
+    }
+
+    /**
+     * Caches a freshly computed result and records its latency and outcome.
+     */
+    private void finish(EmailValidationResponse response, String domain, long startNanos) {
+        resultCache.put(response.getEmail(), response);
+        metrics.recordResult(domain, response.getSmtpCode(), System.nanoTime() - startNanos);
+    }
+
+    private static String domainOf(String email) {
+        if (email == null) return "";
+        int atIdx = email.lastIndexOf('@');
+        return atIdx < 0 ? "" : email.substring(atIdx + 1).toLowerCase().trim();
+    }
+
     @Override
     public EmailValidationResponse validateEmail(String email) throws NamingException {
 
-        log.info("EmailValidationServiceImpl.validateEmail invoked with email={}", email);
+        log.debug("EmailValidationServiceImpl.validateEmail invoked with email={}", email);
+
+        EmailValidationResponse cached = resultCache.get(email);
+        if (cached != null) {
+            log.debug("Validation result cache hit for {}", email);
+            return cached;
+        }
+
+        long start = System.nanoTime();
+        EmailValidationResponse response = validateUncached(email);
+        finish(response, response.isSyntaxValid() ? domainOf(email) : "", start);
+        return response;
+    }
+
+    private EmailValidationResponse validateUncached(String email) {
+        EmailValidationResponse response = checkSyntax(email);
+        if (!response.isSyntaxValid()) {
+            return response;
+        }
+
+        //extract domain (now syntax is valid so safe to extract)
+        String domain = domainOf(email);
+
+        if (!passesPreFilters(response, domain)) {
+            return response;
+        }
+
+        List<MxRecord> mxRecords = resolveMx(response, domain);
+        if (mxRecords == null) {
+            return response;
+        }
 
+        probeSmtp(Collections.singletonList(response), mxRecords);
+        return response;
+    }
+
+    private EmailValidationResponse newResponse(String email) {
         EmailValidationResponse response = new EmailValidationResponse();
         response.setEmail(email);
         // sensible defaults
@@ -41,6 +312,11 @@ public class EmailValidationServiceImpl implements IEmailValidationService {
         response.setSmtpMessage(null);
         response.setSmtpCode(-1);
         response.setValid(false);
+        return response;
+    }
+
+    private EmailValidationResponse checkSyntax(String email) {
+        EmailValidationResponse response = newResponse(email);
 
         if (email == null || email.trim().isEmpty()) {
             response.setSmtpMessage("Email is empty or null");
@@ -51,9 +327,11 @@ public class EmailValidationServiceImpl implements IEmailValidationService {
         }
 
         //check syntax validity
+        long start = System.nanoTime();
         boolean isSyntaxValid = EmailValidator.getInstance().isValid(email);
+        metrics.recordSyntax(System.nanoTime() - start);
         response.setSyntaxValid(isSyntaxValid);
-        log.info("Syntax valid: {}", isSyntaxValid);
+        log.debug("Syntax valid: {}", isSyntaxValid);
 
         if (!isSyntaxValid) {
             // detect some common domain issues to give a clearer message
@@ -76,18 +354,44 @@ public class EmailValidationServiceImpl implements IEmailValidationService {
             response.setSmtpAcceptsRecipient(false);
             response.setValid(false);
             log.warn("Syntax invalid for email {}: {}", email, response.getSmtpMessage());
-            return response;
         }
+        return response;
+    }
 
-        //extract domain (now syntax is valid so safe to extract)
-        String domain;
-        int atIdx = email.indexOf('@');
-        domain = email.substring(atIdx + 1).toLowerCase().trim();
+    /**
+     * Runs the in-memory pre-filters. A rejected address gets smtpCode -4 and skips the
+     * MX lookup and SMTP probe entirely.
+     */
+    private boolean passesPreFilters(EmailValidationResponse response, String domain) {
+        preFilterChecked.incrementAndGet();
+        for (EmailPreFilter filter : preFilters) {
+            String reason = filter.reject(response.getEmail(), domain);
+            if (reason != null) {
+                probesAvoided.incrementAndGet();
+                log.debug("Pre-filter rejected {}: {}", response.getEmail(), reason);
+                response.setDomainValid(false);
+                response.setSmtpMessage("Rejected before SMTP: " + reason);
+                response.setSmtpCode(-4); // pre-filter rejection
+                response.setValid(false);
+                return false;
+            }
+        }
+        return true;
+    }
 
+    /**
+     * Returns the MX records for the domain, or null after recording the DNS failure on the response.
+     */
+    private List<MxRecord> resolveMx(EmailValidationResponse response, String domain) {
         // Mx lookup - get list of MX records
-        List<String> mxHosts;
+        List<MxRecord> mxHosts;
         try {
-            mxHosts = lookupMxRecords(domain);
+            long start = System.nanoTime();
+            try {
+                mxHosts = lookupMxRecords(domain);
+            } finally {
+                metrics.recordMxLookup(System.nanoTime() - start);
+            }
         } catch (NamingException ne) {
             response.setHasMax(false);
             response.setDomainValid(false);
@@ -107,7 +411,7 @@ public class EmailValidationServiceImpl implements IEmailValidationService {
             response.setMxTried(null);
             response.setValid(false);
             log.warn("MX lookup failed for domain {}: {}", domain, response.getSmtpMessage());
-            return response;
+            return null;
         }
 
         if (mxHosts == null || mxHosts.isEmpty()) {
@@ -119,88 +423,186 @@ public class EmailValidationServiceImpl implements IEmailValidationService {
             response.setMxTried(null);
             response.setValid(false);
             log.warn("No MX/A records found for domain {}", domain);
-            return response;
+            return null;
         }
 
         response.setHasMax(true);
         response.setDomainValid(true);
-        log.info("MX hosts found for domain {}: {}", domain, mxHosts);
+        log.debug("MX hosts found for domain {}: {}", domain, mxHosts);
+        return mxHosts;
+    }
+
+    /**
+     * Probes MX hosts in priority order. If a host has not answered within hedgeDelayMs,
+     * the next host is probed in parallel; the first host that answers wins and the
+     * other probes are cancelled. 2xx and 5xx replies are final, recipients that got a
+     * temporary failure (4xx, timeout) move on to the remaining hosts.
+     */
+    private void probeSmtp(List<EmailValidationResponse> responses, List<MxRecord> mxRecords) {
+        List<EmailValidationResponse> remaining = responses;
+        int nextHost = 0;
+
+        while (!remaining.isEmpty() && nextHost < mxRecords.size()) {
+            List<String> emails = new ArrayList<>(remaining.size());
+            for (EmailValidationResponse response : remaining) {
+                emails.add(response.getEmail());
+            }
 
-        // Try each MX host until we get an SMTP acceptance or exhaust list
-        String lastMessage = null;
-        int lastCode = -1;
-        boolean accepted = false;
+            BlockingQueue<ProbeAttempt> finished = new LinkedBlockingQueue<>();
+            List<ProbeAttempt> launched = new ArrayList<>();
+            ProbeAttempt winner = null;
+            ProbeAttempt lastFinished = null;
 
-        for (String mx : mxHosts) {
-            response.setMxTried(mx);
+            nextHost = launchProbe(mxRecords, nextHost, emails, remaining, finished, launched);
+            int inFlight = launched.size();
             try {
-                log.info("Trying SMTP host {} for email {}", mx, email);
-                SmtpValidator.SmtpResult smtpResult = SmtpValidator.checkEmail(mx, email);
-                lastMessage = smtpResult.getMessage();
-                lastCode = smtpResult.getCode();
-                log.info("SMTP response from {}: code={}, message={}", mx, lastCode, lastMessage);
+                while (inFlight > 0) {
+                    ProbeAttempt attempt = finished.poll(hedgeDelayMs, TimeUnit.MILLISECONDS);
+                    if (attempt == null) {
+                        // slowest path: nothing answered yet, hedge with the next host
+                        int before = launched.size();
+                        nextHost = launchProbe(mxRecords, nextHost, emails, remaining, finished, launched);
+                        inFlight += launched.size() - before;
+                        continue;
+                    }
+                    inFlight--;
+                    lastFinished = attempt;
+                    if (attempt.outcome.isHostResponsive()) {
+                        winner = attempt;
+                        break;
+                    }
+                    if (inFlight == 0) {
+                        // failed fast, move on without waiting for the hedge delay
+                        int before = launched.size();
+                        nextHost = launchProbe(mxRecords, nextHost, emails, remaining, finished, launched);
+                        inFlight += launched.size() - before;
+                    }
+                }
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            } finally {
+                for (ProbeAttempt attempt : launched) {
+                    if (attempt != winner) attempt.cancel();
+                }
+            }
+
+            ProbeAttempt used = winner != null ? winner : lastFinished;
+            if (used == null) break;
+
+            List<SmtpValidator.SmtpResult> results = used.outcome.getResults();
+            List<EmailValidationResponse> next = new ArrayList<>();
+            for (int i = 0; i < remaining.size(); i++) {
+                EmailValidationResponse response = remaining.get(i);
+                SmtpValidator.SmtpResult smtpResult = results.get(i);
+                response.setMxTried(used.mxHost);
+                response.setSmtpMessage(smtpResult.getMessage());
+                response.setSmtpCode(smtpResult.getCode());
+                log.debug("SMTP response from {} for {}: code={}, message={}", used.mxHost, response.getEmail(), smtpResult.getCode(), smtpResult.getMessage());
                 if (smtpResult.isSuccess()) {
-                    accepted = true;
-                    break;
+                    response.setSmtpAcceptsRecipient(true);
+                } else if (smtpResult.getCode() < 500) {
+                    // temporary failure, continue to next MX
+                    next.add(response);
                 }
-                // if not accepted, continue to next MX
-            } catch (IOException ioe) {
-                lastMessage = "SMTP IO Error: " + ioe.getMessage();
-                lastCode = -1;
-                log.warn("SMTP IO error while contacting {}: {}", mx, ioe.getMessage());
-                // try next MX
             }
+            remaining = winner == null ? Collections.emptyList() : next;
         }
 
-        response.setSmtpAcceptsRecipient(accepted);
-        response.setSmtpMessage(lastMessage == null ? "No SMTP response received" : lastMessage);
-        response.setSmtpCode(lastCode == Integer.MIN_VALUE ? -1 : lastCode);
-
-        // final combined valid flag: all checks must be true
-        boolean finalValid = response.isSyntaxValid() && response.isDomainValid() && response.isHasMax() && response.isSmtpAcceptsRecipient();
-        response.setValid(finalValid);
-        log.info("Email validation result for {}: valid={}, smtpAcceptsRecipient={}, smtpCode={}", email, finalValid, response.isSmtpAcceptsRecipient(), response.getSmtpCode());
+        for (EmailValidationResponse response : responses) {
+            if (response.getSmtpMessage() == null) {
+                response.setSmtpMessage("No SMTP response received");
+            }
 
-        return response;
+            // final combined valid flag: all checks must be true
+            boolean finalValid = response.isSyntaxValid() && response.isDomainValid() && response.isHasMax() && response.isSmtpAcceptsRecipient();
+            response.setValid(finalValid);
+            log.debug("Email validation result for {}: valid={}, smtpAcceptsRecipient={}, smtpCode={}", response.getEmail(), finalValid, response.isSmtpAcceptsRecipient(), response.getSmtpCode());
+        }
     }
 
-    private List<String> lookupMxRecords(String domain) throws NamingException {
-        Hashtable<String, String> env = new Hashtable<>();
-        env.put("java.naming.factory.initial", "com.sun.jndi.dns.DnsContextFactory");
-        DirContext dirContext = new InitialDirContext(env);
-        Attributes attrs = dirContext.getAttributes(domain, new String[]{"MX"});
+    /**
+     * One in-flight probe of one MX host, on either SMTP engine.
+     */
+    private static class ProbeAttempt {
+        private final String mxHost;
+        private volatile Runnable canceller;
+        private volatile boolean cancelled;
+        private volatile SmtpValidator.ProbeOutcome outcome;
+
+        private ProbeAttempt(String mxHost) {
+            this.mxHost = mxHost;
+        }
 
-        if (attrs == null) return null;
+        private void cancel() {
+            cancelled = true;
+            Runnable c = canceller;
+            if (c != null) c.run();
+        }
+    }
 
-        Attribute mxAttr = attrs.get("MX");
-        List<String> mxHosts = new ArrayList<>();
+    /**
+     * Starts a probe on the first host from index whose circuit allows it.
+     * Returns the index after the launched (or last skipped) host.
+     */
+    private int launchProbe(List<MxRecord> mxRecords, int index, List<String> emails, List<EmailValidationResponse> remaining,
+                            BlockingQueue<ProbeAttempt> finished, List<ProbeAttempt> launched) {
+        while (index < mxRecords.size()) {
+            String mx = mxRecords.get(index++).getHost();
 
-        if (mxAttr == null) {
-            // try A record if MX not present
-            Attributes aAttrs = dirContext.getAttributes(domain, new String[]{"A"});
-            Attribute aAttr = aAttrs.get("A");
-            if (aAttr != null) {
-                NamingEnumeration<?> en = aAttr.getAll();
-                while (en.hasMore()) {
-                    Object val = en.next();
-                    // use the domain itself as host if A exists
-                    mxHosts.add(domain);
+            if (!mxHostHealth.allowRequest(mx)) {
+                // host keeps timing out, do not spend another timeout on it
+                log.info("Skipping MX host {}: circuit open", mx);
+                for (EmailValidationResponse response : remaining) {
+                    if (response.getSmtpMessage() == null) {
+                        response.setSmtpMessage("MX host temporarily skipped (circuit open): " + mx);
+                        response.setSmtpCode(-1);
+                    }
                 }
+                continue;
             }
-            return mxHosts;
-        }
 
-        NamingEnumeration<?> enumeration = mxAttr.getAll();
-        while (enumeration.hasMore()) {
-            String record = enumeration.next().toString();
-            // MX record format: "priority host"
-            String[] parts = record.split("\\s+");
-            String host = parts[parts.length - 1];
-            // ensure host ends with a dot for SMTP connect normalization
-            if (!host.endsWith(".")) host = host + ".";
-            mxHosts.add(host);
+            log.debug("Trying SMTP host {} for {} recipient(s)", mx, emails.size());
+            int connectTimeoutMs = mxHostHealth.connectTimeoutMs(mx);
+            int readTimeoutMs = mxHostHealth.readTimeoutMs(mx);
+            ProbeAttempt attempt = new ProbeAttempt(mx);
+
+            CompletableFuture<SmtpValidator.ProbeOutcome> future;
+            if (nioSmtpEngine != null) {
+                future = nioSmtpEngine.probe(mx, SmtpValidator.SMTP_PORT, emails, connectTimeoutMs, readTimeoutMs);
+                attempt.canceller = () -> future.cancel(true);
+            } else {
+                SmtpValidator.Probe probe = new SmtpValidator.Probe(mx, SmtpValidator.SMTP_PORT, emails, connectTimeoutMs, readTimeoutMs,
+                        smtpSessionPool);
+                attempt.canceller = probe::cancel;
+                future = CompletableFuture.supplyAsync(probe::run, smtpProbeExecutor);
+            }
+            launched.add(attempt);
+
+            future.whenComplete((outcome, ex) -> {
+                // a cancelled probe says nothing about the host's health, but may hold its half-open trial
+                if (attempt.cancelled) {
+                    mxHostHealth.recordCancelled(mx);
+                    return;
+                }
+                if (outcome == null) {
+                    log.warn("SMTP probe of {} failed: {}", mx, ex == null ? null : ex.getMessage());
+                    outcome = SmtpValidator.ProbeOutcome.failed(emails, "SMTP Error :: " + (ex == null ? null : ex.getMessage()));
+                }
+                metrics.recordProbe(mx, outcome);
+                if (outcome.isHostResponsive()) {
+                    mxHostHealth.recordSuccess(mx, outcome.getConnectMillis(), outcome.getSlowestReplyMillis());
+                } else {
+                    mxHostHealth.recordFailure(mx);
+                }
+                attempt.outcome = outcome;
+                finished.add(attempt);
+            });
+            return index;
         }
+        return index;
+    }
 
-        return mxHosts;
+    private List<MxRecord> lookupMxRecords(String domain) throws NamingException {
+        return dnsResolver.lookupMx(domain);
     }
 }
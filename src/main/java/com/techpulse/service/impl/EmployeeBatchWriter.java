@@ -0,0 +1,31 @@
+package com.techpulse.service.impl;
+
+import com.techpulse.entity.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Inserts employees in one transaction per call. With a pooled sequence for the id
+ * and hibernate.jdbc.batch_size set, the inserts go out as JDBC batches. The
+ * persistence context is cleared afterwards so large imports do not accumulate
+ * managed entities.
+ */
+@Component
+public class EmployeeBatchWriter {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional
+    public void insert(List<Employee> employees) {
+        for (Employee employee : employees) {
+            entityManager.persist(employee);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
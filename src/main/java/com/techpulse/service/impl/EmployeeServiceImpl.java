@@ -1,6 +1,12 @@
 package com.techpulse.service.impl;
 
 import com.techpulse.dto.EmailValidationResponse;
+import com.techpulse.dto.CursorPageDTO;
+import com.techpulse.dto.EmployeeBulkUpdateRequestDTO;
+import com.techpulse.dto.EmployeeBulkUpdateResultDTO;
+import com.techpulse.dto.EmployeeExportFormat;
+import com.techpulse.dto.EmployeeImportReportDTO;
+import com.techpulse.dto.EmployeeImportRowDTO;
 import com.techpulse.dto.EmployeeRequestDTO;
 import com.techpulse.dto.EmployeeResponseDTO;
 import com.techpulse.entity.Company;
@@ -8,24 +14,68 @@ import com.techpulse.entity.Employee;
 import com.techpulse.entity.enums.Status;
 import com.techpulse.exception.BadRequestException;
 import com.techpulse.exception.EmployeeNotFoundException;
+import com.techpulse.exception.PreconditionFailedException;
 import com.techpulse.mapper.CompanyMapper;
 import com.techpulse.mapper.EmployeeMapper;
+import com.techpulse.repository.EmployeeSpecifications;
 import com.techpulse.repository.ICompanyRepository;
 import com.techpulse.repository.IEmployeeRepository;
 import com.techpulse.service.IEmailValidationService;
 import com.techpulse.service.IEmployeeService;
+import com.techpulse.util.CsvUtils;
+import com.techpulse.util.EmployeeSearchIndex;
+import com.techpulse.util.EntityResponseCache;
+import com.techpulse.util.KeysetCursor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.domain.UpdateSpecification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
 
 import javax.naming.NamingException;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class EmployeeServiceImpl implements IEmployeeService {
@@ -47,6 +97,51 @@ public class EmployeeServiceImpl implements IEmployeeService {
     @Autowired
     private IEmailValidationService emailValidationService;
 
+    @Autowired
+    private EmployeeBatchWriter batchWriter;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private EmployeeSearchIndex searchIndex;
+
+    @Autowired
+    private EntityResponseCache entityCache;
+
+    // keep equal to hibernate.jdbc.batch_size and Employee.ID_ALLOCATION_SIZE
+    @Value("${employee.import.batch-size:50}")
+    private int importBatchSize;
+
+    @Value("${employee.import.max-rows:50000}")
+    private int importMaxRows;
+
+    @Value("${email.validation.batch.timeout-ms:1800000}")
+    private long emailValidationTimeoutMs;
+
+    @Value("${employee.export.flush-every:500}")
+    private int exportFlushEvery;
+
+    @Value("${employee.bulk-update.chunk-size:1000}")
+    private int bulkUpdateChunkSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // bind parameters per "email IN (...)" query
+    private static final int EXISTING_EMAIL_QUERY_SIZE = 1000;
+
+    private static final List<String> CSV_COLUMNS = List.of("empName", "salary", "email", "dept", "city", "status", "companyId");
+
 
 
 
@@ -56,7 +151,9 @@ public class EmployeeServiceImpl implements IEmployeeService {
             String city, Status status, int page, int size
     ) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<Employee> empPage = repository.filterEmployees(empName, dept, email, city, status, pageable);
+        // only the supplied filters become predicates, so the column indexes can be used
+        Specification<Employee> filter = EmployeeSpecifications.filter(empName, dept, email, city, status);
+        Page<Employee> empPage = repository.findAll(filter.and(EmployeeSpecifications.fetchCompany()), pageable);
 
         return empPage.map(employee -> {
             EmployeeResponseDTO dto = employeeMapper.toDTO(employee);
@@ -69,16 +166,75 @@ public class EmployeeServiceImpl implements IEmployeeService {
         });
     }
 
+    // columns a client may sort a keyset page by; empId is always appended as tie-breaker
+    private static final Set<String> SCROLL_SORT_PROPERTIES = Set.of("empId", "empName", "salary", "email", "dept", "city");
+
+    private static final int MAX_SCROLL_SIZE = 1000;
+
     @Override
-    public List<EmployeeResponseDTO> findEmployeeBySecondCharacter(String secondCharacter) {
+    public CursorPageDTO<EmployeeResponseDTO> scrollEmployees(
+            String empName, String dept, String email, String city, Status status,
+            String cursor, int size, String sort, String direction, boolean includeTotal
+    ) {
+        if (size < 1 || size > MAX_SCROLL_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_SCROLL_SIZE);
+        }
+        String sortProperty = sort == null || sort.isBlank() ? "empId" : sort.trim();
+        if (!SCROLL_SORT_PROPERTIES.contains(sortProperty)) {
+            throw new BadRequestException("Cannot sort by " + sortProperty + ", use one of " + SCROLL_SORT_PROPERTIES);
+        }
+        Sort.Direction sortDirection = Sort.Direction.fromOptionalString(direction).orElse(Sort.Direction.ASC);
+
+        ScrollPosition position = ScrollPosition.keyset();
+        if (cursor != null && !cursor.isBlank()) {
+            KeysetCursor decoded = KeysetCursor.decode(cursor);
+            if (!decoded.getSort().equals(sortProperty) || decoded.getDirection() != sortDirection) {
+                throw new BadRequestException("Cursor was created for sort=" + decoded.getSort()
+                        + "&direction=" + decoded.getDirection().name().toLowerCase());
+            }
+            position = ScrollPosition.forward(decoded.getKeys());
+        }
+
+        Sort order = Sort.by(sortDirection, sortProperty);
+        if (!"empId".equals(sortProperty)) {
+            order = order.and(Sort.by(sortDirection, "empId"));
+        }
+
+        Specification<Employee> filter = EmployeeSpecifications.filter(empName, dept, email, city, status);
+        ScrollPosition start = position;
+        Sort sortOrder = order;
+        Window<Employee> window = repository.findBy(filter.and(EmployeeSpecifications.fetchCompany()),
+                query -> query.sortBy(sortOrder).limit(size).scroll(start));
+
+        List<EmployeeResponseDTO> content = new ArrayList<>(window.size());
+        for (Employee employee : window) {
+            EmployeeResponseDTO dto = employeeMapper.toDTO(employee);
+            if (employee.getCompany() != null) {
+                dto.setCompany(companyMapper.toDTO(employee.getCompany()));
+            }
+            content.add(dto);
+        }
 
-        char ch = secondCharacter.charAt(0);
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            KeysetScrollPosition last = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+            nextCursor = KeysetCursor.encode(sortProperty, sortDirection, last.getKeys());
+        }
+        Long total = includeTotal ? repository.count(filter) : null;
+
+        return new CursorPageDTO<>(content, content.size(), nextCursor, nextCursor != null, total);
+    }
 
-        String lowerPattern = "_" + Character.toLowerCase(ch) + "%";
-        String upperPattern = "_" + Character.toUpperCase(ch) + "%";
+    @Override
+    public List<EmployeeResponseDTO> findEmployeeBySecondCharacter(String secondCharacter) {
+
+        if (secondCharacter == null || secondCharacter.isEmpty()) {
+            throw new BadRequestException("secondCharacter must not be empty");
+        }
+        String ch = String.valueOf(Character.toLowerCase(secondCharacter.charAt(0)));
 
         return repository
-                .findEmployeeBySecondCharacter(lowerPattern, upperPattern)
+                .findByNameSecondChar(ch)
                 .stream()
                 .map(employeeMapper::toDTO)
                 .toList();
@@ -86,41 +242,515 @@ public class EmployeeServiceImpl implements IEmployeeService {
 
 
 
+    @Override
+    public Page<EmployeeResponseDTO> searchEmployees(String q, String field, String match, int page, int size) {
+        if (q == null || q.isBlank()) {
+            throw new BadRequestException("Search text must not be empty");
+        }
+        if (page < 0 || size < 1 || size > MAX_SCROLL_SIZE) {
+            throw new BadRequestException("Page must be >= 0 and size between 1 and " + MAX_SCROLL_SIZE);
+        }
+        List<Integer> ranked = searchIndex.search(q.trim(), EmployeeSearchIndex.Field.from(field),
+                EmployeeSearchIndex.Match.from(match));
+
+        Pageable pageable = PageRequest.of(page, size);
+        int from = (int) Math.min(pageable.getOffset(), ranked.size());
+        List<Integer> pageIds = ranked.subList(from, Math.min(ranked.size(), from + size));
+        if (pageIds.isEmpty()) {
+            return new PageImpl<>(Collections.emptyList(), pageable, ranked.size());
+        }
+
+        // one query for the page, then back into ranked order
+        Map<Integer, Employee> loaded = new HashMap<>();
+        for (Employee employee : repository.findAllWithCompanyByIdIn(pageIds)) {
+            loaded.put(employee.getEmpId(), employee);
+        }
+        List<EmployeeResponseDTO> content = new ArrayList<>(pageIds.size());
+        for (Integer id : pageIds) {
+            Employee employee = loaded.get(id);
+            if (employee == null) continue;
+            EmployeeResponseDTO dto = employeeMapper.toDTO(employee);
+            if (employee.getCompany() != null) {
+                dto.setCompany(companyMapper.toDTO(employee.getCompany()));
+            }
+            content.add(dto);
+        }
+        return new PageImpl<>(content, pageable, ranked.size());
+    }
+
+    // still correct when they differ, but batches then straddle sequence fetches
+    @PostConstruct
+    void checkImportBatchSize() {
+        if (importBatchSize != Employee.ID_ALLOCATION_SIZE) {
+            log.warn("employee.import.batch-size={} differs from the employee_seq allocation size {}, "
+                    + "so import batches and id fetches no longer line up", importBatchSize, Employee.ID_ALLOCATION_SIZE);
+        }
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public int rebuildSearchIndex() {
+        List<Employee> employees = repository.findAll();
+        searchIndex.replaceAll(employees);
+        log.info("Employee search index built with {} employees", employees.size());
+        return employees.size();
+    }
+
+
+
     @Override
     public EmployeeResponseDTO addEmployee(EmployeeRequestDTO dto) throws NamingException {
 
         log.info("EmployeeServiceImpl.addEmployee called for email={}", dto.getEmail());
+        requireValidEmail(dto.getEmail());
+
+        Company company = companyRepository.findById(dto.getCompanyId())
+                .orElseThrow(() -> new RuntimeException("Company not found :: " + dto.getCompanyId()));
+
+        Employee employee = employeeMapper.toEntity(dto);
+        employee.setCompany(company);
+
+        Employee savedEmployee = repository.save(employee);
+        searchIndex.put(savedEmployee);
+        entityCache.companies().invalidate(company.getCompanyId());
+
+        EmployeeResponseDTO response = employeeMapper.toDTO(savedEmployee);
+        response.setCompany(companyMapper.toDTO(company));
+
+        return response;
+    }
+
+    // verdicts come from the validation service's result cache when the address was seen recently
+    private void requireValidEmail(String email) {
         EmailValidationResponse emailValidationResponse = null;
         try {
-            emailValidationResponse = emailValidationService.validateEmail(dto.getEmail());
+            emailValidationResponse = emailValidationService.validateEmail(email);
             log.info("Email validation completed: {} (valid={})", emailValidationResponse, emailValidationResponse == null ? null : emailValidationResponse.isValid());
         } catch (Exception e) {
             // log and rethrow as BadRequest to ensure the controller sends a 400
-            log.error("Error during email validation for {}: {}", dto.getEmail(), e.getMessage(), e);
+            log.error("Error during email validation for {}: {}", email, e.getMessage(), e);
             throw new BadRequestException("Email validation failed: " + e.getMessage());
         }
 
         if (emailValidationResponse == null || !emailValidationResponse.isValid()) {
-            throw new BadRequestException("Invalid email address: " + dto.getEmail());
+            throw new BadRequestException("Invalid email address: " + email);
         }
+    }
 
-        Company company = companyRepository.findById(dto.getCompanyId())
-                .orElseThrow(() -> new RuntimeException("Company not found :: " + dto.getCompanyId()));
+    @Override
+    public EmployeeImportReportDTO importEmployees(List<EmployeeRequestDTO> rows) {
+        return importRows(rows, Collections.emptyMap());
+    }
+
+    @Override
+    public EmployeeImportReportDTO importEmployeesCsv(String csv) {
+        if (csv == null || csv.isBlank()) {
+            throw new BadRequestException("CSV body is empty");
+        }
+        // records, not lines: a quoted field may contain line breaks
+        List<List<String>> records = CsvUtils.parseRecords(csv.replace("\uFEFF", ""));
+        if (records.isEmpty()) {
+            throw new BadRequestException("CSV body is empty");
+        }
+
+        // header names are matched case-insensitively, in any order
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> header = records.get(0);
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).toLowerCase(), i);
+        }
+        for (String column : CSV_COLUMNS) {
+            if (!columns.containsKey(column.toLowerCase())) {
+                throw new BadRequestException("CSV header is missing column: " + column);
+            }
+        }
+
+        List<EmployeeRequestDTO> rows = new ArrayList<>();
+        Map<Integer, String> parseErrors = new HashMap<>();
+        for (List<String> fields : records.subList(1, records.size())) {
+            List<String> errors = new ArrayList<>();
+
+            EmployeeRequestDTO dto = new EmployeeRequestDTO();
+            dto.setEmpName(csvField(fields, columns, "empName"));
+            dto.setSalary(parseInteger(csvField(fields, columns, "salary"), "salary", errors));
+            dto.setEmail(csvField(fields, columns, "email"));
+            dto.setDept(csvField(fields, columns, "dept"));
+            dto.setCity(csvField(fields, columns, "city"));
+            dto.setStatus(parseStatus(csvField(fields, columns, "status"), errors));
+            dto.setCompanyId(parseInteger(csvField(fields, columns, "companyId"), "companyId", errors));
+
+            rows.add(dto);
+            if (!errors.isEmpty()) {
+                parseErrors.put(rows.size() - 1, String.join("; ", errors));
+            }
+        }
+        return importRows(rows, parseErrors);
+    }
+
+    /**
+     * Cheap checks run first (field constraints, duplicates, company ids, existing emails),
+     * so only the survivors pay for the email validation and the insert.
+     */
+    private EmployeeImportReportDTO importRows(List<EmployeeRequestDTO> rows, Map<Integer, String> parseErrors) {
+        if (rows == null || rows.isEmpty()) {
+            throw new BadRequestException("No employees to import");
+        }
+        if (rows.size() > importMaxRows) {
+            throw new BadRequestException("Too many employees to import: " + rows.size() + " (max " + importMaxRows + ")");
+        }
+        log.info("EmployeeServiceImpl.importEmployees called with {} rows", rows.size());
+
+        EmployeeImportRowDTO[] report = new EmployeeImportRowDTO[rows.size()];
+
+        // field constraints, same as the single-employee endpoint
+        for (int i = 0; i < rows.size(); i++) {
+            EmployeeRequestDTO dto = rows.get(i);
+            if (dto == null) {
+                report[i] = rejected(i, null, "Row is empty");
+                continue;
+            }
+            String parseError = parseErrors.get(i);
+            if (parseError != null) {
+                report[i] = rejected(i, dto.getEmail(), parseError);
+                continue;
+            }
+            Set<ConstraintViolation<EmployeeRequestDTO>> violations = validator.validate(dto);
+            if (!violations.isEmpty()) {
+                String message = violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; "));
+                report[i] = rejected(i, dto.getEmail(), message);
+            }
+        }
+
+        // the same email twice in one request
+        Map<String, Integer> firstRowByEmail = new HashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            if (report[i] != null) continue;
+            String email = rows.get(i).getEmail();
+            Integer first = firstRowByEmail.putIfAbsent(email.trim().toLowerCase(), i);
+            if (first != null) {
+                report[i] = rejected(i, email, "Duplicate email, same as row " + (first + 1));
+            }
+        }
+
+        // every referenced company in one query
+        Set<Integer> companyIds = new HashSet<>();
+        for (int i = 0; i < rows.size(); i++) {
+            if (report[i] == null) companyIds.add(rows.get(i).getCompanyId());
+        }
+        Map<Integer, Company> companies = new HashMap<>();
+        if (!companyIds.isEmpty()) {
+            for (Company company : companyRepository.findAllById(companyIds)) {
+                companies.put(company.getCompanyId(), company);
+            }
+        }
+        for (int i = 0; i < rows.size(); i++) {
+            if (report[i] == null && !companies.containsKey(rows.get(i).getCompanyId())) {
+                report[i] = rejected(i, rows.get(i).getEmail(), "Company not found :: " + rows.get(i).getCompanyId());
+            }
+        }
+
+        // emails that are already taken
+        List<String> candidates = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            if (report[i] == null) candidates.add(rows.get(i).getEmail());
+        }
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < candidates.size(); from += EXISTING_EMAIL_QUERY_SIZE) {
+            List<String> chunk = candidates.subList(from, Math.min(candidates.size(), from + EXISTING_EMAIL_QUERY_SIZE));
+            existing.addAll(repository.findExistingEmails(chunk));
+        }
+        for (int i = 0; i < rows.size(); i++) {
+            if (report[i] == null && existing.contains(rows.get(i).getEmail())) {
+                report[i] = rejected(i, rows.get(i).getEmail(), "Email already exists");
+            }
+        }
+
+        validateEmails(rows, report);
+
+        insertInBatches(rows, report, companies);
+        for (EmployeeImportRowDTO row : report) {
+            if (row.getStatus() == EmployeeImportRowDTO.RowStatus.CREATED) {
+                entityCache.companies().invalidate(rows.get(row.getRow() - 1).getCompanyId());
+            }
+        }
+
+        List<EmployeeImportRowDTO> rowReports = Arrays.asList(report);
+        int created = 0, rejected = 0, failed = 0;
+        for (EmployeeImportRowDTO row : rowReports) {
+            switch (row.getStatus()) {
+                case CREATED -> created++;
+                case REJECTED -> rejected++;
+                case FAILED -> failed++;
+            }
+        }
+        log.info("Employee import finished: {} created, {} rejected, {} failed", created, rejected, failed);
+        return new EmployeeImportReportDTO(rows.size(), created, rejected, failed, rowReports);
+    }
+
+    /**
+     * Validates the remaining addresses concurrently through the batch validator, which
+     * groups them by domain and reuses SMTP sessions.
+     */
+    private void validateEmails(List<EmployeeRequestDTO> rows, EmployeeImportRowDTO[] report) {
+        List<String> emails = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            if (report[i] == null) emails.add(rows.get(i).getEmail());
+        }
+        if (emails.isEmpty()) return;
+
+        Map<String, EmailValidationResponse> results = new ConcurrentHashMap<>();
+        String failure = null;
+        try {
+            emailValidationService
+                    .validateBatch(emails, result -> results.put(result.getEmail().trim().toLowerCase(), result))
+                    .get(emailValidationTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            failure = "interrupted";
+        } catch (ExecutionException | TimeoutException e) {
+            failure = e.getCause() != null ? e.getCause().getMessage() : e.toString();
+            log.warn("Email validation during import failed: {}", failure);
+        }
+
+        for (int i = 0; i < rows.size(); i++) {
+            if (report[i] != null) continue;
+            String email = rows.get(i).getEmail();
+            EmailValidationResponse result = results.get(email.trim().toLowerCase());
+            if (result == null) {
+                report[i] = rejected(i, email, "Email validation failed: " + (failure == null ? "no result" : failure));
+            } else if (!result.isValid()) {
+                report[i] = rejected(i, email, "Invalid email address: " + email
+                        + (result.getSmtpMessage() == null ? "" : " (" + result.getSmtpMessage() + ")"));
+            }
+        }
+    }
+
+    private void insertInBatches(List<EmployeeRequestDTO> rows, EmployeeImportRowDTO[] report, Map<Integer, Company> companies) {
+        List<Integer> accepted = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            if (report[i] == null) accepted.add(i);
+        }
+
+        for (int from = 0; from < accepted.size(); from += importBatchSize) {
+            List<Integer> chunk = accepted.subList(from, Math.min(accepted.size(), from + importBatchSize));
+            List<Employee> employees = new ArrayList<>(chunk.size());
+            for (int i : chunk) {
+                employees.add(toEntity(rows.get(i), companies));
+            }
+            try {
+                batchWriter.insert(employees);
+                for (int k = 0; k < chunk.size(); k++) {
+                    int i = chunk.get(k);
+                    searchIndex.put(employees.get(k));
+                    report[i] = new EmployeeImportRowDTO(i + 1, rows.get(i).getEmail(), EmployeeImportRowDTO.RowStatus.CREATED,
+                            employees.get(k).getEmpId(), null);
+                }
+            } catch (RuntimeException e) {
+                // the whole batch was rolled back, retry its rows one by one to isolate the bad one
+                log.warn("Batch insert of {} employees failed, retrying row by row: {}", chunk.size(), e.getMessage());
+                for (int i : chunk) {
+                    Employee employee = toEntity(rows.get(i), companies);
+                    try {
+                        batchWriter.insert(List.of(employee));
+                        searchIndex.put(employee);
+                        report[i] = new EmployeeImportRowDTO(i + 1, rows.get(i).getEmail(), EmployeeImportRowDTO.RowStatus.CREATED,
+                                employee.getEmpId(), null);
+                    } catch (RuntimeException rowError) {
+                        report[i] = new EmployeeImportRowDTO(i + 1, rows.get(i).getEmail(), EmployeeImportRowDTO.RowStatus.FAILED,
+                                null, rootMessage(rowError));
+                    }
+                }
+            }
+        }
+    }
 
+    private Employee toEntity(EmployeeRequestDTO dto, Map<Integer, Company> companies) {
         Employee employee = employeeMapper.toEntity(dto);
-        employee.setCompany(company);
+        employee.setCompany(companies.get(dto.getCompanyId()));
+        return employee;
+    }
 
-        Employee savedEmployee = repository.save(employee);
+    private static EmployeeImportRowDTO rejected(int index, String email, String message) {
+        return new EmployeeImportRowDTO(index + 1, email, EmployeeImportRowDTO.RowStatus.REJECTED, null, message);
+    }
 
-        EmployeeResponseDTO response = employeeMapper.toDTO(savedEmployee);
-        response.setCompany(companyMapper.toDTO(company));
+    private static String rootMessage(Throwable t) {
+        Throwable root = t;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage() == null ? root.toString() : root.getMessage();
+    }
 
-        return response;
+    private static String csvField(List<String> fields, Map<String, Integer> columns, String column) {
+        int idx = columns.get(column.toLowerCase());
+        if (idx >= fields.size() || fields.get(idx).isEmpty()) return null;
+        return fields.get(idx);
+    }
+
+    private static Integer parseInteger(String value, String field, List<String> errors) {
+        if (value == null) return null;
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            errors.add(field + ": not a number '" + value + "'");
+            return null;
+        }
+    }
+
+    private static Status parseStatus(String value, List<String> errors) {
+        if (value == null) return null;
+        try {
+            return Status.valueOf(value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            errors.add("status: unknown value '" + value + "'");
+            return null;
+        }
+    }
+
+    /**
+     * Each chunk is selected, updated and committed in its own short transaction, so
+     * neither the id list nor the row locks of the whole selection are held at once.
+     * A failure leaves the chunks before it committed; the patch sets fixed values, so
+     * repeating the request finishes the job. Committed rows are counted in the
+     * employee.bulk_update.rows meter while the request runs.
+     */
+    @Override
+    public EmployeeBulkUpdateResultDTO bulkUpdateEmployees(EmployeeBulkUpdateRequestDTO request) {
+        EmployeeBulkUpdateRequestDTO.Patch patch = request.getPatch();
+        if (patch == null || patch.isEmpty()) {
+            throw new BadRequestException("patch must set at least one of dept, city, status");
+        }
+        boolean byIds = request.getEmpIds() != null && !request.getEmpIds().isEmpty();
+        boolean byFilter = request.getFilter() != null && !request.getFilter().isEmpty();
+        if (byIds == byFilter) {
+            throw new BadRequestException("Give either empIds or a non-empty filter");
+        }
+
+        Counter progress = Counter.builder("employee.bulk_update.rows")
+                .description("Employee rows changed by committed bulk update chunks")
+                .register(meterRegistry);
+        EmployeeBulkUpdateResultDTO result = new EmployeeBulkUpdateResultDTO(0, 0, 0);
+
+        if (byIds) {
+            List<Integer> ids = new ArrayList<>(new LinkedHashSet<>(request.getEmpIds()));
+            for (int from = 0; from < ids.size(); from += bulkUpdateChunkSize) {
+                List<Integer> chunk = ids.subList(from, Math.min(ids.size(), from + bulkUpdateChunkSize));
+                transactionTemplate.execute(status -> {
+                    updateChunk(chunk, patch, result, progress);
+                    return null;
+                });
+            }
+            return result;
+        }
+
+        // walk the selection by id, one chunk of ids at a time; rows already updated are
+        // behind the position even when the patch takes them out of the filter
+        EmployeeBulkUpdateRequestDTO.Filter f = request.getFilter();
+        Specification<Employee> filter = EmployeeSpecifications.filter(f.getEmpName(), f.getDept(), f.getEmail(), f.getCity(), f.getStatus());
+        ScrollPosition position = ScrollPosition.keyset();
+        while (position != null) {
+            ScrollPosition start = position;
+            position = transactionTemplate.execute(status -> {
+                Window<IEmployeeRepository.IdView> window = repository.findBy(filter, query -> query
+                        .as(IEmployeeRepository.IdView.class)
+                        .sortBy(Sort.by("empId"))
+                        .limit(bulkUpdateChunkSize)
+                        .scroll(start));
+                if (window.isEmpty()) return null;
+                updateChunk(window.stream().map(IEmployeeRepository.IdView::getEmpId).toList(), patch, result, progress);
+                return window.hasNext() ? window.positionAt(window.size() - 1) : null;
+            });
+        }
+        return result;
+    }
+
+    // the ids are bound as IN (...) parameters; caches and index follow once the chunk commits
+    private void updateChunk(List<Integer> chunk, EmployeeBulkUpdateRequestDTO.Patch patch,
+                             EmployeeBulkUpdateResultDTO result, Counter progress) {
+        UpdateSpecification<Employee> update = UpdateSpecification.<Employee>update((root, criteria, cb) -> {
+            if (patch.getDept() != null) criteria.set(root.<String>get("dept"), patch.getDept());
+            if (patch.getCity() != null) criteria.set(root.<String>get("city"), patch.getCity());
+            if (patch.getStatus() != null) criteria.set(root.<Status>get("status"), patch.getStatus());
+            criteria.set(root.<Long>get("version"), cb.sum(root.<Long>get("version"), 1L));
+        }).where((root, cb) -> root.get("empId").in(chunk));
+        long updated = repository.update(update);
+
+        result.setMatched(result.getMatched() + chunk.size());
+        result.setUpdated(result.getUpdated() + updated);
+        result.setChunks(result.getChunks() + 1);
+        int processed = result.getMatched();
+
+        Set<Integer> changed = new HashSet<>(chunk);
+        entityCache.afterCommit(() -> {
+            if (patch.getDept() != null) searchIndex.setField(changed, EmployeeSearchIndex.Field.DEPT, patch.getDept());
+            if (patch.getCity() != null) searchIndex.setField(changed, EmployeeSearchIndex.Field.CITY, patch.getCity());
+            for (Integer id : changed) {
+                entityCache.employees().invalidate(id);
+            }
+            entityCache.invalidateCompaniesListing(changed);
+            progress.increment(updated);
+            log.info("Bulk employee update: {} employees processed", processed);
+        });
+    }
+
+    private static final String CSV_EXPORT_HEADER = "empId,empName,salary,email,dept,city,status,companyId,companyName\n";
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportEmployees(EmployeeExportFormat format, OutputStream out) throws IOException {
+        OutputStream buffered = new BufferedOutputStream(out, 64 * 1024);
+        if (format == EmployeeExportFormat.CSV) {
+            buffered.write(CSV_EXPORT_HEADER.getBytes(StandardCharsets.UTF_8));
+        }
+
+        long count = 0;
+        try (Stream<Employee> employees = repository.streamAllWithCompany()) {
+            Iterator<Employee> it = employees.iterator();
+            while (it.hasNext()) {
+                Employee employee = it.next();
+                if (format == EmployeeExportFormat.CSV) {
+                    buffered.write(toCsvLine(employee).getBytes(StandardCharsets.UTF_8));
+                } else {
+                    EmployeeResponseDTO dto = employeeMapper.toDTO(employee);
+                    if (employee.getCompany() != null) {
+                        dto.setCompany(companyMapper.toDTO(employee.getCompany()));
+                    }
+                    buffered.write(objectMapper.writeValueAsBytes(dto));
+                    buffered.write('\n');
+                }
+                // written rows are not needed again, keep the persistence context small
+                entityManager.detach(employee);
+
+                if (++count % exportFlushEvery == 0) {
+                    buffered.flush();
+                }
+            }
+        }
+        buffered.flush();
+        log.info("Exported {} employees as {}", count, format);
+        return count;
+    }
+
+    private static String toCsvLine(Employee employee) {
+        Company company = employee.getCompany();
+        return CsvUtils.escape(employee.getEmpId()) + ','
+                + CsvUtils.escape(employee.getEmpName()) + ','
+                + CsvUtils.escape(employee.getSalary()) + ','
+                + CsvUtils.escape(employee.getEmail()) + ','
+                + CsvUtils.escape(employee.getDept()) + ','
+                + CsvUtils.escape(employee.getCity()) + ','
+                + CsvUtils.escape(employee.getStatus()) + ','
+                + CsvUtils.escape(company == null ? null : company.getCompanyId()) + ','
+                + CsvUtils.escape(company == null ? null : company.getCompanyName()) + '\n';
     }
 
     @Override
     public List<EmployeeResponseDTO> getEmployees() {
-        return repository.findAll()
+        return repository.findAllWithCompany()
                 .stream()
                 .map(emp -> {
                     EmployeeResponseDTO dto = employeeMapper.toDTO(emp);
@@ -150,6 +780,10 @@ public class EmployeeServiceImpl implements IEmployeeService {
 
     @Override
     public EmployeeResponseDTO getEmployees(Integer empId) {
+        return entityCache.employees().get(empId, this::loadEmployee);
+    }
+
+    private EmployeeResponseDTO loadEmployee(Integer empId) {
         Employee employee = repository.findById(empId)
                 .orElseThrow(() -> new EmployeeNotFoundException("Employee Not Found :: " + empId));
 
@@ -162,24 +796,70 @@ public class EmployeeServiceImpl implements IEmployeeService {
         return dto;
     }
 
+    /**
+     * Only fields that differ from the stored row are set, so an unchanged request
+     * writes nothing and the UPDATE lists only the changed columns. The email is
+     * validated and the company looked up only when they change.
+     *
+     * Not @Transactional: validating a new email takes DNS and SMTP round trips (seconds),
+     * so the row is read and the email checked without a transaction, and only the write
+     * runs in one (saveAndFlush). The @Version check on that write catches anyone who
+     * updated the row in between.
+     */
     @Override
-    public EmployeeResponseDTO updateEmployee(Integer empId, EmployeeRequestDTO dto) {
-        Employee emp = repository.findById(empId)
+    public EmployeeResponseDTO updateEmployee(Integer empId, EmployeeRequestDTO dto, Long expectedVersion) {
+        Employee emp = repository.findWithCompanyByEmpId(empId)
                 .orElseThrow(() -> new EmployeeNotFoundException("Cannot Update! Employee Not Found :: " + empId));
+        if (expectedVersion != null && !expectedVersion.equals(emp.getVersion())) {
+            throw new PreconditionFailedException("Employee " + empId + " has changed, current version is " + emp.getVersion());
+        }
+        Company company = emp.getCompany();
+        Integer previousCompanyId = company == null ? null : company.getCompanyId();
+        boolean changed = false;
+
+        if (!Objects.equals(emp.getEmail(), dto.getEmail())) {
+            requireValidEmail(dto.getEmail());
+            emp.setEmail(dto.getEmail());
+            changed = true;
+        }
+        if (!Objects.equals(emp.getEmpName(), dto.getEmpName())) {
+            emp.setEmpName(dto.getEmpName());
+            changed = true;
+        }
+        if (!Objects.equals(emp.getSalary(), dto.getSalary())) {
+            emp.setSalary(dto.getSalary());
+            changed = true;
+        }
+        if (!Objects.equals(emp.getDept(), dto.getDept())) {
+            emp.setDept(dto.getDept());
+            changed = true;
+        }
+        if (!Objects.equals(emp.getCity(), dto.getCity())) {
+            emp.setCity(dto.getCity());
+            changed = true;
+        }
+        if (emp.getStatus() != dto.getStatus()) {
+            emp.setStatus(dto.getStatus());
+            changed = true;
+        }
+        if (!Objects.equals(previousCompanyId, dto.getCompanyId())) {
+            company = companyRepository.findById(dto.getCompanyId())
+                    .orElseThrow(() -> new RuntimeException("Company not found"));
+            emp.setCompany(company);
+            changed = true;
+        }
 
-        emp.setEmpName(dto.getEmpName());
-        emp.setEmail(dto.getEmail());
-        emp.setSalary(dto.getSalary());
-        emp.setDept(dto.getDept());
-        emp.setCity(dto.getCity());
-        emp.setStatus(dto.getStatus());
-
-        Company company = companyRepository.findById(dto.getCompanyId())
-                .orElseThrow(() -> new RuntimeException("Company not found"));
-
-        emp.setCompany(company);
-
-        Employee updated = repository.save(emp);
+        // merges the detached row in its own transaction, a concurrent write fails here
+        // with a version conflict; the response carries the new version
+        Employee updated = changed ? repository.saveAndFlush(emp) : emp;
+        if (changed) {
+            entityCache.afterCommit(() -> {
+                searchIndex.put(updated);
+                entityCache.employees().invalidate(empId);
+                entityCache.companies().invalidate(previousCompanyId);
+                entityCache.companies().invalidate(dto.getCompanyId());
+            });
+        }
 
         EmployeeResponseDTO response = employeeMapper.toDTO(updated);
         response.setCompany(companyMapper.toDTO(company));
@@ -193,6 +873,9 @@ public class EmployeeServiceImpl implements IEmployeeService {
             throw new EmployeeNotFoundException("Cannot Delete! Employee Not Found :: " + empId);
         }
         repository.deleteById(empId);
+        searchIndex.remove(empId);
+        entityCache.employees().invalidate(empId);
+        entityCache.invalidateCompaniesListing(empId);
     }
 
 
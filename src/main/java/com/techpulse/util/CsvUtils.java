@@ -0,0 +1,91 @@
+package com.techpulse.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 helpers: comma separated, fields optionally wrapped in double
+ * quotes, a doubled quote inside a quoted field stands for one quote. A quoted
+ * field may span several lines.
+ */
+public final class CsvUtils {
+
+    private CsvUtils() {
+    }
+
+    public static List<String> parseLine(String line) {
+        List<List<String>> records = parseRecords(line);
+        return records.isEmpty() ? new ArrayList<>(List.of("")) : records.get(0);
+    }
+
+    /**
+     * Splits the text into records at line breaks (LF or CRLF) outside quoted fields.
+     * Blank lines are skipped.
+     */
+    public static List<List<String>> parseRecords(String text) {
+        List<List<String>> records = new ArrayList<>();
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean blank = true;
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            if (quoted) {
+                if (ch == '"') {
+                    if (i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(ch);
+                }
+            } else if (ch == '"') {
+                quoted = true;
+                blank = false;
+            } else if (ch == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+                blank = false;
+            } else if (ch == '\n' || ch == '\r') {
+                if (ch == '\r' && i + 1 < text.length() && text.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                fields.add(field.toString().trim());
+                if (!blank || !fields.get(0).isEmpty()) {
+                    records.add(fields);
+                }
+                fields = new ArrayList<>();
+                field.setLength(0);
+                blank = true;
+            } else {
+                field.append(ch);
+                if (!Character.isWhitespace(ch)) blank = false;
+            }
+        }
+        fields.add(field.toString().trim());
+        if (!blank || !fields.get(0).isEmpty()) {
+            records.add(fields);
+        }
+        return records;
+    }
+
+    /**
+     * Quotes the value when it contains a comma, quote or line break. Null becomes an empty field.
+     */
+    public static String escape(Object value) {
+        if (value == null) return "";
+        String text = value.toString();
+        boolean needsQuotes = false;
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            if (ch == ',' || ch == '"' || ch == '\n' || ch == '\r') {
+                needsQuotes = true;
+                break;
+            }
+        }
+        if (!needsQuotes) return text;
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,223 @@
+package com.techpulse.util;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.naming.CommunicationException;
+import javax.naming.Context;
+import javax.naming.InterruptedNamingException;
+import javax.naming.NameNotFoundException;
+import javax.naming.NamingEnumeration;
+import javax.naming.NamingException;
+import javax.naming.ServiceUnavailableException;
+import javax.naming.directory.Attribute;
+import javax.naming.directory.Attributes;
+import javax.naming.directory.DirContext;
+import javax.naming.directory.InitialDirContext;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * MX resolver with reused JNDI DNS contexts.
+ *
+ * Lookups go through the {@link MxRecordCache} first. On a miss, concurrent lookups
+ * for the same domain share a single in-flight query, and the query itself runs
+ * on a context borrowed from a small pool instead of a fresh InitialDirContext.
+ */
+@Component
+public class DnsResolver {
+
+    private static final Logger log = LoggerFactory.getLogger(DnsResolver.class);
+
+    private final MxRecordCache mxRecordCache;
+
+    private final Hashtable<String, String> env = new Hashtable<>();
+    private final BlockingQueue<DirContext> idleContexts;
+
+    private final ConcurrentHashMap<String, CompletableFuture<List<MxRecord>>> inFlight = new ConcurrentHashMap<>();
+
+    @Autowired
+    public DnsResolver(
+            MxRecordCache mxRecordCache,
+            @Value("${email.validation.dns.servers:}") String servers,
+            @Value("${email.validation.dns.timeout-ms:2000}") int timeoutMs,
+            @Value("${email.validation.dns.retries:2}") int retries,
+            @Value("${email.validation.dns.pool-size:8}") int poolSize) {
+        this.mxRecordCache = mxRecordCache;
+        this.idleContexts = new ArrayBlockingQueue<>(Math.max(1, poolSize));
+
+        env.put(Context.INITIAL_CONTEXT_FACTORY, "com.sun.jndi.dns.DnsContextFactory");
+        // initial timeout is doubled on every retry by the JNDI DNS provider
+        env.put("com.sun.jndi.dns.timeout.initial", String.valueOf(timeoutMs));
+        env.put("com.sun.jndi.dns.timeout.retries", String.valueOf(retries));
+        if (servers != null && !servers.isBlank()) {
+            // e.g. "dns://10.0.0.2 dns://10.0.0.3", empty means the system resolvers
+            env.put(Context.PROVIDER_URL, servers.trim());
+        }
+    }
+
+    /**
+     * Returns the MX records for the domain sorted by priority (or the domain itself when
+     * it only has an A record). An empty list means the domain has neither.
+     */
+    public List<MxRecord> lookupMx(String domain) throws NamingException {
+        MxRecordCache.Entry cached = mxRecordCache.get(domain);
+        if (cached != null) {
+            log.debug("MX cache hit for domain {}", domain);
+            if (cached.getError() != null) {
+                throw new NameNotFoundException(cached.getError());
+            }
+            return cached.getRecords();
+        }
+
+        CompletableFuture<List<MxRecord>> mine = new CompletableFuture<>();
+        CompletableFuture<List<MxRecord>> existing = inFlight.putIfAbsent(domain, mine);
+        if (existing != null) {
+            log.debug("Joining in-flight MX lookup for domain {}", domain);
+            return await(existing);
+        }
+
+        try {
+            List<MxRecord> records = resolveAndCache(domain);
+            mine.complete(records);
+            return records;
+        } catch (NamingException | RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(domain, mine);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        DirContext ctx;
+        while ((ctx = idleContexts.poll()) != null) {
+            closeQuietly(ctx);
+        }
+    }
+
+    private List<MxRecord> resolveAndCache(String domain) throws NamingException {
+        List<MxRecord> records;
+        try {
+            records = query(domain);
+        } catch (NameNotFoundException nnfe) {
+            // NXDOMAIN is a definitive answer, remember it for the negative TTL
+            String msg = nnfe.getMessage() == null ? nnfe.toString() : nnfe.getMessage();
+            mxRecordCache.putNegative(domain, msg);
+            throw nnfe;
+        }
+
+        // JNDI does not expose record TTLs, the cache's positive TTL applies
+        mxRecordCache.putRecords(domain, records);
+        return records;
+    }
+
+    private List<MxRecord> query(String domain) throws NamingException {
+        DirContext dirContext = borrow();
+        boolean healthy = true;
+        try {
+            Attributes attrs = dirContext.getAttributes(domain, new String[]{"MX"});
+            List<MxRecord> records = new ArrayList<>();
+            Attribute mxAttr = attrs == null ? null : attrs.get("MX");
+
+            if (mxAttr == null) {
+                // try A record if MX not present, and use the domain itself as host if A exists
+                Attributes aAttrs = dirContext.getAttributes(domain, new String[]{"A"});
+                Attribute aAttr = aAttrs == null ? null : aAttrs.get("A");
+                if (aAttr != null && aAttr.size() > 0) {
+                    records.add(new MxRecord(0, domain));
+                }
+                return records;
+            }
+
+            NamingEnumeration<?> enumeration = mxAttr.getAll();
+            while (enumeration.hasMore()) {
+                MxRecord record = parseMxRecord(enumeration.next().toString());
+                if (record != null) {
+                    records.add(record);
+                }
+            }
+            // stable sort: equal priorities keep the order the server returned
+            Collections.sort(records);
+            return records;
+        } catch (CommunicationException | ServiceUnavailableException e) {
+            // server unreachable or timed out, do not hand this context out again
+            healthy = false;
+            throw e;
+        } finally {
+            if (healthy) {
+                release(dirContext);
+            } else {
+                closeQuietly(dirContext);
+            }
+        }
+    }
+
+    // contexts waiting in the pool, for tests
+    int idleContexts() {
+        return idleContexts.size();
+    }
+
+    static MxRecord parseMxRecord(String value) {
+        // MX record format: "priority host"
+        String[] parts = value.trim().split("\\s+");
+        if (parts.length == 0 || parts[0].isEmpty()) return null;
+        String host = parts[parts.length - 1];
+        // ensure host ends with a dot for SMTP connect normalization
+        if (!host.endsWith(".")) host = host + ".";
+
+        int priority = Integer.MAX_VALUE;
+        if (parts.length > 1) {
+            try {
+                priority = Integer.parseInt(parts[0]);
+            } catch (NumberFormatException ignored) {
+                // unknown preference, try it last
+            }
+        }
+        return new MxRecord(priority, host);
+    }
+
+    private DirContext borrow() throws NamingException {
+        DirContext ctx = idleContexts.poll();
+        return ctx != null ? ctx : new InitialDirContext(env);
+    }
+
+    private void release(DirContext ctx) {
+        if (!idleContexts.offer(ctx)) {
+            closeQuietly(ctx);
+        }
+    }
+
+    private static List<MxRecord> await(CompletableFuture<List<MxRecord>> future) throws NamingException {
+        try {
+            return future.get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedNamingException("Interrupted while waiting for MX lookup");
+        } catch (ExecutionException ee) {
+            Throwable cause = ee.getCause();
+            if (cause instanceof NamingException ne) throw ne;
+            if (cause instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private static void closeQuietly(DirContext ctx) {
+        try {
+            ctx.close();
+        } catch (NamingException ignored) {
+        }
+    }
+}
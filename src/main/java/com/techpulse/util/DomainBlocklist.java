@@ -0,0 +1,165 @@
+package com.techpulse.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Disposable, typo and dead domains that are rejected without a DNS or SMTP round trip.
+ *
+ * The list is read from a plain text file, one {@code domain [category]} per line
+ * ('#' starts a comment). Subdomains of a listed domain are rejected too. Lookups go
+ * through a Bloom filter first, so the common case (domain not listed) never touches
+ * the exact map. The file is re-read when its modification time changes, checked at
+ * most once per reload interval.
+ */
+@Component
+public class DomainBlocklist implements EmailPreFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(DomainBlocklist.class);
+
+    private static final String DEFAULT_CATEGORY = "blocked";
+
+    private final Path file;
+    private final long reloadCheckMillis;
+    private final double falsePositiveRate;
+
+    private volatile Snapshot snapshot;
+    private volatile long nextCheckAtMillis;
+
+    public DomainBlocklist(
+            @Value("${email.validation.prefilter.file:domain-blocklist.txt}") String file,
+            @Value("${email.validation.prefilter.reload-check-ms:10000}") long reloadCheckMillis,
+            @Value("${email.validation.prefilter.bloom-fpp:0.01}") double falsePositiveRate) {
+        this.file = Paths.get(file);
+        this.reloadCheckMillis = reloadCheckMillis;
+        this.falsePositiveRate = falsePositiveRate;
+        this.snapshot = load(null);
+        this.nextCheckAtMillis = System.currentTimeMillis() + reloadCheckMillis;
+    }
+
+    @Override
+    public String reject(String email, String domain) {
+        if (domain == null || domain.isEmpty()) return null;
+        Snapshot current = current();
+        if (current.entries.isEmpty()) return null;
+
+        // example.com, then its parents: mail.tempmail.com also matches tempmail.com
+        String candidate = domain;
+        while (true) {
+            if (current.bloom.mightContain(candidate)) {
+                String category = current.entries.get(candidate);
+                if (category != null) {
+                    return category + " domain: " + candidate;
+                }
+            }
+            int dot = candidate.indexOf('.');
+            if (dot < 0 || candidate.indexOf('.', dot + 1) < 0) return null;
+            candidate = candidate.substring(dot + 1);
+        }
+    }
+
+    public int size() {
+        return current().entries.size();
+    }
+
+    public long getLoadedAtMillis() {
+        return current().loadedAtMillis;
+    }
+
+    public String getSource() {
+        return file.toAbsolutePath().toString();
+    }
+
+    private Snapshot current() {
+        long now = System.currentTimeMillis();
+        if (now >= nextCheckAtMillis) {
+            synchronized (this) {
+                if (now >= nextCheckAtMillis) {
+                    nextCheckAtMillis = now + reloadCheckMillis;
+                    Snapshot previous = snapshot;
+                    if (lastModified() != previous.fileModifiedMillis) {
+                        snapshot = load(previous);
+                    }
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    private long lastModified() {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Reads the file into a new snapshot. On a read error the previous snapshot (if any)
+     * stays in use, so a half-written file never empties the list.
+     */
+    private Snapshot load(Snapshot previous) {
+        long modified = lastModified();
+        if (modified < 0) {
+            if (previous == null) {
+                log.info("No domain blocklist at {}, pre-filter disabled", getSource());
+            } else if (previous.fileModifiedMillis >= 0) {
+                log.warn("Domain blocklist {} disappeared, keeping {} loaded entries", getSource(), previous.entries.size());
+                return new Snapshot(previous.bloom, previous.entries, -1, previous.loadedAtMillis);
+            }
+            return new Snapshot(new BloomFilter(1, falsePositiveRate), Map.of(), -1, System.currentTimeMillis());
+        }
+
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            log.warn("Could not read domain blocklist {}: {}", getSource(), e.getMessage());
+            if (previous != null) return previous;
+            return new Snapshot(new BloomFilter(1, falsePositiveRate), Map.of(), -1, System.currentTimeMillis());
+        }
+
+        Map<String, String> entries = new HashMap<>();
+        for (String line : lines) {
+            int hash = line.indexOf('#');
+            String content = (hash >= 0 ? line.substring(0, hash) : line).trim();
+            if (content.isEmpty()) continue;
+            String[] parts = content.split("\\s+");
+            String domain = parts[0].toLowerCase();
+            if (domain.endsWith(".")) domain = domain.substring(0, domain.length() - 1);
+            entries.put(domain, parts.length > 1 ? parts[1].toLowerCase() : DEFAULT_CATEGORY);
+        }
+
+        BloomFilter bloom = new BloomFilter(entries.size(), falsePositiveRate);
+        for (String domain : entries.keySet()) {
+            bloom.put(domain);
+        }
+        log.info("Loaded {} blocked domains from {} ({} bloom bits)", entries.size(), getSource(), bloom.getNumBits());
+        return new Snapshot(bloom, entries, modified, System.currentTimeMillis());
+    }
+
+    private static final class Snapshot {
+        private final BloomFilter bloom;
+        private final Map<String, String> entries;
+        private final long fileModifiedMillis;
+        private final long loadedAtMillis;
+
+        private Snapshot(BloomFilter bloom, Map<String, String> entries, long fileModifiedMillis, long loadedAtMillis) {
+            this.bloom = bloom;
+            this.entries = entries;
+            this.fileModifiedMillis = fileModifiedMillis;
+            this.loadedAtMillis = loadedAtMillis;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.techpulse.util;
+
+import com.techpulse.dto.CompanyResponseDTO;
+import com.techpulse.dto.EmployeeResponseDTO;
+import com.techpulse.exception.BadRequestException;
+
+/**
+ * Entity tags for single employee and company responses, derived from the @Version
+ * columns so they are computed without serialising the body.
+ *
+ * An employee response embeds its company, so its tag is "empVersion-companyVersion".
+ * A company response embeds its employees, so its tag is the company version followed
+ * by a hash of the listed employees' ids and versions. If-Match on a write is checked
+ * against the part before the dash: the version of the entity being written.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String of(EmployeeResponseDTO dto) {
+        CompanyResponseDTO company = dto.getCompany();
+        return "\"" + dto.getVersion() + (company == null ? "" : "-" + company.getVersion()) + "\"";
+    }
+
+    public static String of(CompanyResponseDTO dto) {
+        int hash = 1;
+        if (dto.getEmployees() != null) {
+            for (EmployeeResponseDTO employee : dto.getEmployees()) {
+                hash = 31 * hash + employee.getEmpId();
+                hash = 31 * hash + Long.hashCode(employee.getVersion() == null ? 0 : employee.getVersion());
+            }
+        }
+        return "\"" + dto.getVersion() + "-" + Integer.toHexString(hash) + "\"";
+    }
+
+    /**
+     * The entity version an If-Match header asks for; null when the header is absent or "*".
+     */
+    public static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) return null;
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) tag = tag.substring(2);
+        tag = tag.replace("\"", "");
+        int dash = tag.indexOf('-');
+        try {
+            return Long.parseLong(dash < 0 ? tag : tag.substring(0, dash));
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Malformed If-Match header: " + ifMatch);
+        }
+    }
+}
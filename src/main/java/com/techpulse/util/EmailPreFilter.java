@@ -0,0 +1,14 @@
+package com.techpulse.util;
+
+/**
+ * Cheap in-memory check that runs after the syntax check and before any DNS or SMTP
+ * work. Every {@code EmailPreFilter} bean is applied in order.
+ */
+public interface EmailPreFilter {
+
+    /**
+     * Returns why the address is rejected, or null to let it go on to the MX lookup.
+     * The domain is already lower-cased.
+     */
+    String reject(String email, String domain);
+}
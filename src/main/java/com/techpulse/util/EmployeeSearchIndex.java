@@ -0,0 +1,365 @@
+package com.techpulse.util;
+
+import com.techpulse.entity.Employee;
+import com.techpulse.exception.BadRequestException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index over employee name, email, department and city, so type-ahead
+ * search does not scan the table.
+ *
+ * Every field value is lower-cased and split into trigrams; a query of three or more
+ * characters only looks at employees holding all of its trigrams, which are then
+ * checked against the real value. Shorter prefix queries go through the one and two
+ * character word prefixes, shorter substring queries scan the documents. The second
+ * letter of the name has its own posting list.
+ *
+ * Results are ordered by how well they match (whole value, value prefix, word prefix,
+ * anywhere), then by field (name, email, department, city), then by name and id.
+ * The index holds ids and the searched fields only; callers load the entities.
+ */
+@Component
+public class EmployeeSearchIndex {
+
+    public enum Field {
+        EMP_NAME("empName"), EMAIL("email"), DEPT("dept"), CITY("city");
+
+        private final String property;
+
+        Field(String property) {
+            this.property = property;
+        }
+
+        public String getProperty() {
+            return property;
+        }
+
+        /**
+         * Null for a null or blank value, meaning every field.
+         */
+        public static Field from(String value) {
+            if (value == null || value.isBlank()) return null;
+            for (Field field : values()) {
+                if (field.property.equalsIgnoreCase(value.trim())) return field;
+            }
+            throw new BadRequestException("Cannot search field: " + value + " (use empName, email, dept or city)");
+        }
+    }
+
+    public enum Match {
+        PREFIX, SUBSTRING, SECOND_CHAR;
+
+        public static Match from(String value) {
+            if (value == null || value.isBlank()) return SUBSTRING;
+            switch (value.trim().toLowerCase(Locale.ROOT)) {
+                case "prefix":
+                    return PREFIX;
+                case "substring":
+                    return SUBSTRING;
+                case "secondchar":
+                case "second_char":
+                    return SECOND_CHAR;
+                default:
+                    throw new BadRequestException("Unsupported match: " + value + " (use prefix, substring or secondChar)");
+            }
+        }
+    }
+
+    private static final int WHOLE_VALUE = 3;
+    private static final int VALUE_PREFIX = 2;
+    private static final int WORD_PREFIX = 1;
+    private static final int ANYWHERE = 0;
+    private static final int NO_MATCH = -1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Integer, Document> documents = new HashMap<>();
+    // field ordinal + gram -> ids; trigrams anywhere, 1-2 character grams at word starts
+    private final Map<String, Set<Integer>> postings = new HashMap<>();
+    private final Map<Character, Set<Integer>> bySecondChar = new HashMap<>();
+
+    /**
+     * Replaces the whole index with the given employees.
+     */
+    public void replaceAll(Collection<Employee> employees) {
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            postings.clear();
+            bySecondChar.clear();
+            for (Employee employee : employees) {
+                add(new Document(employee));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds the employee or replaces what was indexed for its id.
+     */
+    public void put(Employee employee) {
+        if (employee == null || employee.getEmpId() == null) return;
+        Document document = new Document(employee);
+        lock.writeLock().lock();
+        try {
+            Document previous = documents.get(document.id);
+            if (previous != null) {
+                if (previous.sameValues(document)) return;
+                delete(previous);
+            }
+            add(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Sets one field of the given employees, as after a bulk UPDATE. Unknown ids are ignored.
+     */
+    public void setField(Collection<Integer> empIds, Field field, String value) {
+        lock.writeLock().lock();
+        try {
+            for (Integer empId : empIds) {
+                Document previous = documents.get(empId);
+                if (previous == null) continue;
+                Document document = previous.with(field, value);
+                if (previous.sameValues(document)) continue;
+                delete(previous);
+                add(document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Integer empId) {
+        lock.writeLock().lock();
+        try {
+            Document previous = documents.get(empId);
+            if (previous != null) delete(previous);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the matching employees, best match first. A null field searches all of
+     * them; SECOND_CHAR only looks at the name and uses the first character of text.
+     */
+    public List<Integer> search(String text, Field field, Match match) {
+        if (text == null || text.isEmpty()) return Collections.emptyList();
+        String query = text.toLowerCase(Locale.ROOT);
+        List<Field> fields = field == null ? List.of(Field.values()) : List.of(field);
+
+        lock.readLock().lock();
+        try {
+            if (match == Match.SECOND_CHAR) {
+                Set<Integer> ids = bySecondChar.getOrDefault(query.charAt(0), Collections.emptySet());
+                List<Document> hits = new ArrayList<>(ids.size());
+                for (Integer id : ids) hits.add(documents.get(id));
+                hits.sort(Comparator.comparing((Document d) -> d.values[Field.EMP_NAME.ordinal()])
+                        .thenComparing(d -> d.id));
+                List<Integer> result = new ArrayList<>(hits.size());
+                for (Document hit : hits) result.add(hit.id);
+                return result;
+            }
+
+            List<Hit> hits = new ArrayList<>();
+            Map<Integer, Hit> best = new HashMap<>();
+            for (Field f : fields) {
+                for (Integer id : candidates(f, query, match)) {
+                    Document document = documents.get(id);
+                    int score = score(document.values[f.ordinal()], query, match);
+                    if (score == NO_MATCH) continue;
+                    Hit hit = best.get(id);
+                    if (hit == null) {
+                        hit = new Hit(document, score, f);
+                        best.put(id, hit);
+                        hits.add(hit);
+                    } else if (score > hit.score || (score == hit.score && f.ordinal() < hit.field.ordinal())) {
+                        hit.score = score;
+                        hit.field = f;
+                    }
+                }
+            }
+
+            hits.sort(Comparator.comparingInt((Hit h) -> -h.score)
+                    .thenComparingInt(h -> h.field.ordinal())
+                    .thenComparing(h -> h.document.values[Field.EMP_NAME.ordinal()])
+                    .thenComparing(h -> h.document.id));
+            List<Integer> result = new ArrayList<>(hits.size());
+            for (Hit hit : hits) result.add(hit.document.id);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // callers hold the read lock
+    private Collection<Integer> candidates(Field field, String query, Match match) {
+        if (query.length() >= 3) {
+            List<Set<Integer>> lists = new ArrayList<>();
+            for (String gram : trigrams(query)) {
+                Set<Integer> ids = postings.get(key(field, gram));
+                if (ids == null) return Collections.emptyList();
+                lists.add(ids);
+            }
+            // walk the shortest list, probe the others
+            lists.sort(Comparator.comparingInt(Set::size));
+            List<Integer> result = new ArrayList<>();
+            outer:
+            for (Integer id : lists.get(0)) {
+                for (int i = 1; i < lists.size(); i++) {
+                    if (!lists.get(i).contains(id)) continue outer;
+                }
+                result.add(id);
+            }
+            return result;
+        }
+        if (match == Match.PREFIX) {
+            return postings.getOrDefault(key(field, "^" + query), Collections.emptySet());
+        }
+        return documents.keySet();
+    }
+
+    private static int score(String value, String query, Match match) {
+        if (value.isEmpty()) return NO_MATCH;
+        if (value.equals(query)) return WHOLE_VALUE;
+        if (value.startsWith(query)) return VALUE_PREFIX;
+        int at = value.indexOf(query);
+        while (at > 0) {
+            if (!Character.isLetterOrDigit(value.charAt(at - 1))) return WORD_PREFIX;
+            at = value.indexOf(query, at + 1);
+        }
+        if (match == Match.PREFIX || value.indexOf(query) < 0) return NO_MATCH;
+        return ANYWHERE;
+    }
+
+    private void add(Document document) {
+        documents.put(document.id, document);
+        for (String key : document.keys()) {
+            postings.computeIfAbsent(key, k -> new HashSet<>()).add(document.id);
+        }
+        String name = document.values[Field.EMP_NAME.ordinal()];
+        if (name.length() >= 2) {
+            bySecondChar.computeIfAbsent(name.charAt(1), c -> new HashSet<>()).add(document.id);
+        }
+    }
+
+    private void delete(Document document) {
+        documents.remove(document.id);
+        for (String key : document.keys()) {
+            Set<Integer> ids = postings.get(key);
+            if (ids != null && ids.remove(document.id) && ids.isEmpty()) {
+                postings.remove(key);
+            }
+        }
+        String name = document.values[Field.EMP_NAME.ordinal()];
+        if (name.length() >= 2) {
+            Set<Integer> ids = bySecondChar.get(name.charAt(1));
+            if (ids != null && ids.remove(document.id) && ids.isEmpty()) {
+                bySecondChar.remove(name.charAt(1));
+            }
+        }
+    }
+
+    private static String key(Field field, String gram) {
+        return (char) ('0' + field.ordinal()) + gram;
+    }
+
+    private static Set<String> trigrams(String value) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= value.length(); i++) {
+            grams.add(value.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    private static final class Document {
+        private final Integer id;
+        // lower-cased, indexed by Field ordinal, never null
+        private final String[] values = new String[Field.values().length];
+
+        private Document(Employee employee) {
+            this.id = employee.getEmpId();
+            values[Field.EMP_NAME.ordinal()] = normalize(employee.getEmpName());
+            values[Field.EMAIL.ordinal()] = normalize(employee.getEmail());
+            values[Field.DEPT.ordinal()] = normalize(employee.getDept());
+            values[Field.CITY.ordinal()] = normalize(employee.getCity());
+        }
+
+        private Document(Integer id) {
+            this.id = id;
+        }
+
+        private Document with(Field field, String value) {
+            Document copy = new Document(id);
+            System.arraycopy(values, 0, copy.values, 0, values.length);
+            copy.values[field.ordinal()] = normalize(value);
+            return copy;
+        }
+
+        private static String normalize(String value) {
+            return value == null ? "" : value.toLowerCase(Locale.ROOT);
+        }
+
+        private boolean sameValues(Document other) {
+            for (int i = 0; i < values.length; i++) {
+                if (!values[i].equals(other.values[i])) return false;
+            }
+            return true;
+        }
+
+        private Set<String> keys() {
+            Set<String> keys = new HashSet<>();
+            for (Field field : Field.values()) {
+                String value = values[field.ordinal()];
+                for (String gram : trigrams(value)) {
+                    keys.add(key(field, gram));
+                }
+                for (int i = 0; i < value.length(); i++) {
+                    if (i > 0 && Character.isLetterOrDigit(value.charAt(i - 1))) continue;
+                    if (!Character.isLetterOrDigit(value.charAt(i))) continue;
+                    keys.add(key(field, "^" + value.charAt(i)));
+                    if (i + 1 < value.length()) keys.add(key(field, "^" + value.substring(i, i + 2)));
+                }
+            }
+            return keys;
+        }
+    }
+
+    private static final class Hit {
+        private final Document document;
+        private int score;
+        private Field field;
+
+        private Hit(Document document, int score, Field field) {
+            this.document = document;
+            this.score = score;
+            this.field = field;
+        }
+    }
+}
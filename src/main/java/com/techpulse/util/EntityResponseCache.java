@@ -0,0 +1,89 @@
+package com.techpulse.util;
+
+import com.techpulse.dto.CompanyResponseDTO;
+import com.techpulse.dto.EmployeeResponseDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Response DTOs of single employee and company lookups, keyed by id.
+ *
+ * An employee DTO embeds its company and a company DTO lists its employees, so a
+ * write to one has to invalidate the other side too; the services do that right
+ * after their write is committed.
+ */
+@Component
+public class EntityResponseCache {
+
+    private final ReadThroughCache<Integer, EmployeeResponseDTO> employees;
+    private final ReadThroughCache<Integer, CompanyResponseDTO> companies;
+
+    public EntityResponseCache(
+            MeterRegistry registry,
+            @Value("${employee.cache.max-entries:10000}") long maxEmployees,
+            @Value("${employee.cache.ttl-seconds:300}") long employeeTtlSeconds,
+            @Value("${company.cache.max-entries:1000}") long maxCompanies,
+            @Value("${company.cache.ttl-seconds:300}") long companyTtlSeconds) {
+        this.employees = new ReadThroughCache<Integer, EmployeeResponseDTO>(
+                "employees", maxEmployees, Duration.ofSeconds(employeeTtlSeconds)).bindTo(registry);
+        this.companies = new ReadThroughCache<Integer, CompanyResponseDTO>(
+                "companies", maxCompanies, Duration.ofSeconds(companyTtlSeconds)).bindTo(registry);
+    }
+
+    public ReadThroughCache<Integer, EmployeeResponseDTO> employees() {
+        return employees;
+    }
+
+    public ReadThroughCache<Integer, CompanyResponseDTO> companies() {
+        return companies;
+    }
+
+    /**
+     * Runs the invalidation once the current transaction has committed, or right away
+     * outside a transaction. Invalidating before the commit would let a reader cache
+     * the rows it can still see.
+     */
+    public void afterCommit(Runnable invalidation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidation.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidation.run();
+            }
+        });
+    }
+
+    /**
+     * Drops cached employees whose embedded company is the given one.
+     */
+    public void invalidateEmployeesOfCompany(Integer companyId) {
+        if (companyId == null) return;
+        employees.invalidateIf(dto -> dto.getCompany() != null && companyId.equals(dto.getCompany().getCompanyId()));
+    }
+
+    /**
+     * Drops cached companies whose employee list contains the given employee.
+     */
+    public void invalidateCompaniesListing(Integer empId) {
+        if (empId == null) return;
+        invalidateCompaniesListing(Set.of(empId));
+    }
+
+    /**
+     * Drops cached companies whose employee list contains any of the given employees.
+     */
+    public void invalidateCompaniesListing(Set<Integer> empIds) {
+        if (empIds.isEmpty()) return;
+        companies.invalidateIf(dto -> dto.getEmployees() != null
+                && dto.getEmployees().stream().anyMatch(e -> empIds.contains(e.getEmpId())));
+    }
+}
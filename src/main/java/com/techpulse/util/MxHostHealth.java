@@ -0,0 +1,223 @@
+package com.techpulse.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.techpulse.dto.MxHostHealthDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Per-MX-host health: rolling latency windows, adaptive timeouts and a circuit breaker.
+ *
+ * Timeouts are derived from the observed p99 (times a safety factor, clamped between
+ * the configured min and max) once enough samples exist; until then the max applies.
+ * After failureThreshold consecutive failures the circuit opens and the host is skipped;
+ * once openMillis have passed a single half-open probe decides whether it closes again.
+ * At most maxHosts hosts are tracked; beyond that Caffeine evicts the least useful ones
+ * whatever their circuit state, so a forgotten host simply starts over as CLOSED.
+ */
+@Component
+public class MxHostHealth {
+
+    private static final Logger log = LoggerFactory.getLogger(MxHostHealth.class);
+
+    private static final int WINDOW_SIZE = 256;
+
+    public enum Circuit {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int minTimeoutMs;
+    private final int maxTimeoutMs;
+    private final double timeoutFactor;
+    private final int minSamples;
+    private final int failureThreshold;
+    private final long openMillis;
+
+    private final Cache<String, HostState> hosts;
+
+    public MxHostHealth(
+            @Value("${email.validation.smtp.min-timeout-ms:1000}") int minTimeoutMs,
+            @Value("${email.validation.smtp.max-timeout-ms:7000}") int maxTimeoutMs,
+            @Value("${email.validation.smtp.timeout-factor:3.0}") double timeoutFactor,
+            @Value("${email.validation.smtp.min-samples:20}") int minSamples,
+            @Value("${email.validation.smtp.circuit.failure-threshold:3}") int failureThreshold,
+            @Value("${email.validation.smtp.circuit.open-seconds:60}") long openSeconds,
+            @Value("${email.validation.smtp.max-tracked-hosts:10000}") int maxHosts) {
+        this.minTimeoutMs = minTimeoutMs;
+        this.maxTimeoutMs = maxTimeoutMs;
+        this.timeoutFactor = timeoutFactor;
+        this.minSamples = minSamples;
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openSeconds * 1000;
+        // eviction runs on the calling thread so the bound holds as soon as a host is added
+        this.hosts = Caffeine.newBuilder()
+                .maximumSize(maxHosts)
+                .executor(Runnable::run)
+                .build();
+    }
+
+    /**
+     * Whether the host may be contacted now. In HALF_OPEN only one probe is let through.
+     */
+    public boolean allowRequest(String host) {
+        return state(host).allowRequest(System.currentTimeMillis());
+    }
+
+    public int connectTimeoutMs(String host) {
+        return timeoutFor(state(host).connect);
+    }
+
+    public int readTimeoutMs(String host) {
+        return timeoutFor(state(host).reply);
+    }
+
+    public void recordSuccess(String host, long connectMillis, long slowestReplyMillis) {
+        HostState state = state(host);
+        // -1: the probe reused an open session, no connect was made
+        if (connectMillis >= 0) {
+            state.connect.add(connectMillis);
+        }
+        state.reply.add(slowestReplyMillis);
+        if (state.onSuccess()) {
+            log.info("Circuit for MX host {} closed", host);
+        }
+    }
+
+    public void recordFailure(String host) {
+        if (state(host).onFailure(System.currentTimeMillis())) {
+            log.warn("Circuit for MX host {} opened for {} ms", host, openMillis);
+        }
+    }
+
+    /**
+     * A probe was cancelled before it told anything about the host (it lost the hedge).
+     * A half-open trial probe is given back so the next request can take it.
+     */
+    public void recordCancelled(String host) {
+        state(host).onCancelled();
+    }
+
+    public List<MxHostHealthDTO> snapshot() {
+        List<MxHostHealthDTO> list = new ArrayList<>();
+        hosts.asMap().forEach((host, state) -> {
+            synchronized (state) {
+                list.add(new MxHostHealthDTO(host, state.circuit.name(), state.consecutiveFailures,
+                        state.connect.p99(), state.reply.p99(),
+                        timeoutFor(state.connect), timeoutFor(state.reply)));
+            }
+        });
+        return list;
+    }
+
+    private int timeoutFor(LatencyWindow window) {
+        if (window.count() < minSamples) return maxTimeoutMs;
+        long adaptive = (long) (window.p99() * timeoutFactor);
+        return (int) Math.max(minTimeoutMs, Math.min(maxTimeoutMs, adaptive));
+    }
+
+    private HostState state(String host) {
+        return hosts.get(host, h -> new HostState());
+    }
+
+    private class HostState {
+        private final LatencyWindow connect = new LatencyWindow();
+        private final LatencyWindow reply = new LatencyWindow();
+
+        private volatile Circuit circuit = Circuit.CLOSED;
+        private int consecutiveFailures;
+        private long openedAt;
+        private boolean probeInFlight;
+
+        synchronized boolean allowRequest(long now) {
+            switch (circuit) {
+                case CLOSED:
+                    return true;
+                case OPEN:
+                    if (now - openedAt < openMillis) return false;
+                    circuit = Circuit.HALF_OPEN;
+                    probeInFlight = true;
+                    return true;
+                default:
+                    if (probeInFlight) return false;
+                    probeInFlight = true;
+                    return true;
+            }
+        }
+
+        // returns true when this success closed the circuit
+        synchronized boolean onSuccess() {
+            consecutiveFailures = 0;
+            probeInFlight = false;
+            if (circuit != Circuit.CLOSED) {
+                circuit = Circuit.CLOSED;
+                return true;
+            }
+            return false;
+        }
+
+        // back to OPEN with the original openedAt, so the trial is due again right away
+        synchronized void onCancelled() {
+            if (circuit == Circuit.HALF_OPEN && probeInFlight) {
+                circuit = Circuit.OPEN;
+                probeInFlight = false;
+            }
+        }
+
+        // returns true when this failure opened the circuit
+        synchronized boolean onFailure(long now) {
+            consecutiveFailures++;
+            probeInFlight = false;
+            if (circuit == Circuit.HALF_OPEN || (circuit == Circuit.CLOSED && consecutiveFailures >= failureThreshold)) {
+                circuit = Circuit.OPEN;
+                openedAt = now;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Ring buffer of the last WINDOW_SIZE latency samples.
+     *
+     * The p99 is cached and only re-sorted once the samples added since make up a
+     * sixteenth of the window, so a full window is sorted every 16 samples rather than
+     * on every probe, and the cached value is never more than ~6% of the window behind.
+     */
+    private static class LatencyWindow {
+        private final long[] samples = new long[WINDOW_SIZE];
+        private final long[] sorted = new long[WINDOW_SIZE];
+        private int next;
+        private int count;
+        private long p99;
+        private int addedSinceP99;
+
+        synchronized void add(long millis) {
+            samples[next] = millis;
+            next = (next + 1) % WINDOW_SIZE;
+            if (count < WINDOW_SIZE) count++;
+            addedSinceP99++;
+        }
+
+        synchronized int count() {
+            return count;
+        }
+
+        synchronized long p99() {
+            if (addedSinceP99 > 0 && addedSinceP99 >= Math.max(1, count / 16)) {
+                System.arraycopy(samples, 0, sorted, 0, count);
+                Arrays.sort(sorted, 0, count);
+                int idx = (int) Math.ceil(0.99 * count) - 1;
+                p99 = sorted[Math.max(0, Math.min(count - 1, idx))];
+                addedSinceP99 = 0;
+            }
+            return p99;
+        }
+    }
+}
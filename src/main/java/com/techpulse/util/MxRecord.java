@@ -0,0 +1,22 @@
+package com.techpulse.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One MX record. Lower priority values are preferred (RFC 5321 section 5.1).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MxRecord implements Comparable<MxRecord> {
+
+    private int priority;
+    private String host;
+
+    @Override
+    public int compareTo(MxRecord other) {
+        return Integer.compare(priority, other.priority);
+    }
+}
@@ -0,0 +1,125 @@
+package com.techpulse.util;
+
+import com.techpulse.dto.CacheStatsDTO;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded domain -> MX record list cache.
+ *
+ * Positive entries live for the configured positive TTL, negative entries
+ * (NXDOMAIN / no MX and no A record) for the shorter negative TTL. The JNDI
+ * resolver does not expose record TTLs, so the DNS TTLs themselves are not used.
+ * Least recently used domains are evicted once the cache is full.
+ */
+@Component
+public class MxRecordCache {
+
+    @Data
+    @AllArgsConstructor
+    public static class Entry {
+        // sorted by priority, empty for negative entries
+        private List<MxRecord> records;
+        // DNS error message for NXDOMAIN entries, null otherwise
+        private String error;
+        private long expiresAtMillis;
+
+        public boolean isNegative() {
+            return records.isEmpty();
+        }
+    }
+
+    private final int maxEntries;
+    private final long positiveTtlMillis;
+    private final long negativeTtlMillis;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private final LinkedHashMap<String, Entry> entries;
+
+    public MxRecordCache(
+            @Value("${email.validation.mx-cache.max-entries:10000}") int maxEntries,
+            @Value("${email.validation.mx-cache.positive-ttl-seconds:3600}") long positiveTtlSeconds,
+            @Value("${email.validation.mx-cache.negative-ttl-seconds:300}") long negativeTtlSeconds) {
+        this.maxEntries = maxEntries;
+        this.positiveTtlMillis = positiveTtlSeconds * 1000;
+        this.negativeTtlMillis = negativeTtlSeconds * 1000;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > MxRecordCache.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached entry for the domain, or null when absent or expired.
+     */
+    public synchronized Entry get(String domain) {
+        Entry entry = entries.get(domain);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        if (entry.getExpiresAtMillis() <= System.currentTimeMillis()) {
+            entries.remove(domain);
+            evictions.incrementAndGet();
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry;
+    }
+
+    /**
+     * Caches resolved records for the positive TTL, an empty list as a negative entry.
+     */
+    public void putRecords(String domain, List<MxRecord> records) {
+        if (records == null || records.isEmpty()) {
+            putNegative(domain, null);
+            return;
+        }
+        put(domain, new Entry(List.copyOf(records), null, System.currentTimeMillis() + positiveTtlMillis));
+    }
+
+    /**
+     * Caches a negative answer: NXDOMAIN (error != null) or no MX/A records (error == null).
+     */
+    public void putNegative(String domain, String error) {
+        put(domain, new Entry(Collections.emptyList(), error, System.currentTimeMillis() + negativeTtlMillis));
+    }
+
+    public synchronized void invalidate(String domain) {
+        entries.remove(domain);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized CacheStatsDTO stats() {
+        long h = hits.get();
+        long m = misses.get();
+        double ratio = (h + m) == 0 ? 0.0 : (double) h / (h + m);
+        return new CacheStatsDTO("mx-records", entries.size(), maxEntries, h, m, evictions.get(), ratio);
+    }
+
+    private synchronized void put(String domain, Entry entry) {
+        if (maxEntries <= 0) return;
+        entries.put(domain, entry);
+    }
+}
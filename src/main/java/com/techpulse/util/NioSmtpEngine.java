@@ -0,0 +1,452 @@
+package com.techpulse.util;
+
+import com.techpulse.util.SmtpValidator.ProbeOutcome;
+import com.techpulse.util.SmtpValidator.SmtpResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Non-blocking SMTP probe engine: a few selector threads drive any number of
+ * concurrent SMTP conversations, so probes do not hold a thread while they wait.
+ *
+ * Replies are parsed straight from the read buffer (code digits and the
+ * continuation byte), a String is only created for the reply lines that end up
+ * in a result. The conversation is the same as {@link SmtpValidator.SmtpSession}:
+ * greeting, EHLO, MAIL FROM, RCPT TO per recipient (pipelined when advertised,
+ * RSET between transactions), QUIT.
+ */
+public class NioSmtpEngine implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(NioSmtpEngine.class);
+
+    private static final long TICK_MS = 100;
+    private static final int READ_BUFFER_SIZE = 4096;
+
+    private static final byte[] PIPELINING = "PIPELINING".getBytes(StandardCharsets.US_ASCII);
+
+    private final Worker[] workers;
+    private final AtomicInteger nextWorker = new AtomicInteger();
+
+    public NioSmtpEngine(int ioThreads) throws IOException {
+        workers = new Worker[Math.max(1, ioThreads)];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new Worker("nio-smtp-" + (i + 1));
+            workers[i].start();
+        }
+    }
+
+    /**
+     * Starts a probe and returns immediately. Cancelling the future aborts the conversation.
+     * The MX host name is resolved on the calling thread.
+     */
+    public CompletableFuture<ProbeOutcome> probe(String mxHost, int port, List<String> emails, int connectTimeoutMs, int readTimeoutMs) {
+        CompletableFuture<ProbeOutcome> future = new CompletableFuture<>();
+        InetSocketAddress address = new InetSocketAddress(mxHost, port);
+        if (address.isUnresolved()) {
+            future.complete(ProbeOutcome.failed(emails, "SMTP Error :: " + mxHost + ": unknown host"));
+            return future;
+        }
+
+        Worker worker = workers[Math.floorMod(nextWorker.getAndIncrement(), workers.length)];
+        Conversation conversation = new Conversation(worker, address, emails, connectTimeoutMs, readTimeoutMs, future);
+        future.whenComplete((outcome, ex) -> {
+            if (future.isCancelled()) worker.abort(conversation);
+        });
+        worker.submit(conversation);
+        return future;
+    }
+
+    @Override
+    public void close() {
+        for (Worker worker : workers) {
+            worker.shutdown();
+        }
+    }
+
+    private enum Phase {
+        CONNECTING, GREETING, EHLO, MAIL, RCPT, RSET, DONE
+    }
+
+    private static final class Conversation {
+        private final Worker worker;
+        private final InetSocketAddress address;
+        private final List<String> emails;
+        private final long connectTimeoutNanos;
+        private final long readTimeoutNanos;
+        private final CompletableFuture<ProbeOutcome> future;
+
+        private SocketChannel channel;
+        private SelectionKey key;
+        private Phase phase = Phase.CONNECTING;
+        private long deadline;
+
+        private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        private ByteBuffer writeBuffer = ByteBuffer.allocate(1024);
+
+        private final List<SmtpResult> results;
+        private boolean pipelining;
+        // recipients [txnStart, txnEnd) belong to the current MAIL transaction
+        private int txnStart;
+        private int txnEnd;
+        private int nextToSend;
+
+        private long startNanos;
+        private long connectMillis;
+        private long lastSendNanos;
+        private long slowestReplyMillis;
+        private long greetingMillis;
+        private long rcptStartNanos;
+
+        private Conversation(Worker worker, InetSocketAddress address, List<String> emails,
+                             int connectTimeoutMs, int readTimeoutMs, CompletableFuture<ProbeOutcome> future) {
+            this.worker = worker;
+            this.address = address;
+            this.emails = emails;
+            this.connectTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(connectTimeoutMs);
+            this.readTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(readTimeoutMs);
+            this.future = future;
+            this.results = new ArrayList<>(emails.size());
+        }
+    }
+
+    private static final class Worker extends Thread {
+
+        private final Selector selector;
+        private final ConcurrentLinkedQueue<Conversation> pending = new ConcurrentLinkedQueue<>();
+        private final ConcurrentLinkedQueue<Conversation> aborted = new ConcurrentLinkedQueue<>();
+        private volatile boolean running = true;
+
+        private Worker(String name) throws IOException {
+            super(name);
+            setDaemon(true);
+            selector = Selector.open();
+        }
+
+        void submit(Conversation conversation) {
+            pending.add(conversation);
+            selector.wakeup();
+        }
+
+        void abort(Conversation conversation) {
+            aborted.add(conversation);
+            selector.wakeup();
+        }
+
+        void shutdown() {
+            running = false;
+            selector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            long nextExpiryCheck = System.nanoTime();
+            while (running) {
+                try {
+                    selector.select(TICK_MS);
+                    registerPending();
+                    closeAborted();
+
+                    Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                    while (it.hasNext()) {
+                        SelectionKey key = it.next();
+                        it.remove();
+                        Conversation c = (Conversation) key.attachment();
+                        try {
+                            if (key.isConnectable()) onConnectable(c);
+                            if (key.isValid() && key.isWritable()) flush(c);
+                            if (key.isValid() && key.isReadable()) onReadable(c);
+                        } catch (IOException | CancelledKeyException e) {
+                            fail(c, "SMTP Error :: " + e.getMessage());
+                        }
+                    }
+
+                    long now = System.nanoTime();
+                    if (now >= nextExpiryCheck) {
+                        expire(now);
+                        nextExpiryCheck = now + TimeUnit.MILLISECONDS.toNanos(TICK_MS);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    log.error("NIO SMTP worker {} error: {}", getName(), e.getMessage(), e);
+                }
+            }
+
+            for (SelectionKey key : selector.keys()) {
+                fail((Conversation) key.attachment(), "SMTP Error :: engine closed");
+            }
+            try { selector.close(); } catch (IOException ignored) {}
+        }
+
+        private void registerPending() {
+            Conversation c;
+            while ((c = pending.poll()) != null) {
+                if (c.future.isDone()) continue;
+                try {
+                    c.channel = SocketChannel.open();
+                    c.channel.configureBlocking(false);
+                    c.startNanos = System.nanoTime();
+                    c.deadline = c.startNanos + c.connectTimeoutNanos;
+                    if (c.channel.connect(c.address)) {
+                        c.key = c.channel.register(selector, SelectionKey.OP_READ, c);
+                        connected(c);
+                    } else {
+                        c.key = c.channel.register(selector, SelectionKey.OP_CONNECT, c);
+                    }
+                } catch (IOException e) {
+                    fail(c, "SMTP Error :: " + e.getMessage());
+                }
+            }
+        }
+
+        private void closeAborted() {
+            Conversation c;
+            while ((c = aborted.poll()) != null) {
+                c.phase = Phase.DONE;
+                closeChannel(c);
+            }
+        }
+
+        private void expire(long now) {
+            for (SelectionKey key : selector.keys()) {
+                Conversation c = (Conversation) key.attachment();
+                if (c != null && c.phase != Phase.DONE && now - c.deadline > 0) {
+                    fail(c, c.phase == Phase.CONNECTING ? "SMTP Timeout: Connect timed out" : "SMTP Timeout: Read timed out");
+                }
+            }
+        }
+
+        private void onConnectable(Conversation c) throws IOException {
+            if (c.channel.finishConnect()) {
+                c.key.interestOps(SelectionKey.OP_READ);
+                connected(c);
+            }
+        }
+
+        private void connected(Conversation c) {
+            long now = System.nanoTime();
+            c.connectMillis = TimeUnit.NANOSECONDS.toMillis(now - c.startNanos);
+            c.lastSendNanos = now;
+            c.deadline = now + c.readTimeoutNanos;
+            c.phase = Phase.GREETING;
+        }
+
+        private void onReadable(Conversation c) throws IOException {
+            int n = c.channel.read(c.readBuffer);
+            if (n < 0) {
+                fail(c, "SMTP Error :: Connection closed by server");
+                return;
+            }
+            if (n == 0) return;
+            c.deadline = System.nanoTime() + c.readTimeoutNanos;
+
+            ByteBuffer buf = c.readBuffer;
+            buf.flip();
+            int lineStart = buf.position();
+            for (int i = lineStart; i < buf.limit() && c.phase != Phase.DONE; i++) {
+                if (buf.get(i) != '\n') continue;
+                onLine(c, buf, lineStart, i);
+                lineStart = i + 1;
+            }
+            if (c.phase == Phase.DONE) return;
+
+            buf.position(lineStart);
+            buf.compact();
+            if (!buf.hasRemaining()) {
+                fail(c, "SMTP Error :: Reply line too long");
+            }
+        }
+
+        /**
+         * Handles one reply line [start, newline). Continuation lines ("250-...") only
+         * matter for EHLO, where they carry the extension keywords.
+         */
+        private void onLine(Conversation c, ByteBuffer buf, int start, int newline) throws IOException {
+            int end = newline;
+            if (end > start && buf.get(end - 1) == '\r') end--;
+
+            int code = -1;
+            if (end - start >= 3 && isDigit(buf.get(start)) && isDigit(buf.get(start + 1)) && isDigit(buf.get(start + 2))) {
+                code = (buf.get(start) - '0') * 100 + (buf.get(start + 1) - '0') * 10 + (buf.get(start + 2) - '0');
+            }
+            boolean last = end - start <= 3 || buf.get(start + 3) != '-';
+
+            if (c.phase == Phase.EHLO && end - start > 4 && startsWithIgnoreCase(buf, start + 4, end, PIPELINING)) {
+                c.pipelining = true;
+            }
+            if (!last) return;
+
+            long now = System.nanoTime();
+            c.slowestReplyMillis = Math.max(c.slowestReplyMillis, TimeUnit.NANOSECONDS.toMillis(now - c.lastSendNanos));
+            onReply(c, code, buf, start, end);
+        }
+
+        private void onReply(Conversation c, int code, ByteBuffer buf, int start, int end) throws IOException {
+            switch (c.phase) {
+                case GREETING:
+                    c.greetingMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - c.lastSendNanos);
+                    if (code < 0) {
+                        fail(c, "SMTP Error :: " + ascii(buf, start, end));
+                        return;
+                    }
+                    if (code >= 400) {
+                        // the server answered but refuses the session, report its code per recipient
+                        String message = ascii(buf, start, end);
+                        while (c.results.size() < c.emails.size()) {
+                            c.results.add(new SmtpResult(false, message, code));
+                        }
+                        finish(c);
+                        return;
+                    }
+                    c.phase = Phase.EHLO;
+                    send(c, "EHLO localhost");
+                    break;
+                case EHLO:
+                    c.phase = Phase.MAIL;
+                    send(c, "MAIL FROM:<validator@localhost>");
+                    break;
+                case MAIL:
+                    if (code < 200 || code >= 400) {
+                        // sender refused, every remaining recipient gets the same answer
+                        String message = ascii(buf, start, end);
+                        while (c.results.size() < c.emails.size()) {
+                            c.results.add(new SmtpResult(false, message, code < 0 ? -1 : code));
+                        }
+                        finish(c);
+                        return;
+                    }
+                    startTransaction(c);
+                    break;
+                case RCPT:
+                    c.results.add(new SmtpResult(code == 250 || code == 251, ascii(buf, start, end), code < 0 ? -1 : code));
+                    if (c.results.size() == c.emails.size()) {
+                        finish(c);
+                    } else if (c.results.size() == c.txnEnd) {
+                        c.phase = Phase.RSET;
+                        send(c, "RSET");
+                    } else if (!c.pipelining) {
+                        sendRcpt(c);
+                    }
+                    break;
+                case RSET:
+                    c.phase = Phase.MAIL;
+                    send(c, "MAIL FROM:<validator@localhost>");
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private void startTransaction(Conversation c) throws IOException {
+            if (c.rcptStartNanos == 0) c.rcptStartNanos = System.nanoTime();
+            c.phase = Phase.RCPT;
+            c.txnStart = c.results.size();
+            c.txnEnd = Math.min(c.emails.size(), c.txnStart + SmtpValidator.MAX_RECIPIENTS_PER_TRANSACTION);
+            c.nextToSend = c.txnStart;
+            if (c.pipelining) {
+                while (c.nextToSend < c.txnEnd) {
+                    queue(c, "RCPT TO:<" + c.emails.get(c.nextToSend++) + ">");
+                }
+                flush(c);
+            } else {
+                sendRcpt(c);
+            }
+        }
+
+        private void sendRcpt(Conversation c) throws IOException {
+            send(c, "RCPT TO:<" + c.emails.get(c.nextToSend++) + ">");
+        }
+
+        private void send(Conversation c, String command) throws IOException {
+            queue(c, command);
+            flush(c);
+        }
+
+        private void queue(Conversation c, String command) {
+            byte[] bytes = (command + "\r\n").getBytes(StandardCharsets.UTF_8);
+            if (c.writeBuffer.remaining() < bytes.length) {
+                ByteBuffer bigger = ByteBuffer.allocate(Math.max(c.writeBuffer.capacity() * 2, c.writeBuffer.position() + bytes.length));
+                c.writeBuffer.flip();
+                bigger.put(c.writeBuffer);
+                c.writeBuffer = bigger;
+            }
+            c.writeBuffer.put(bytes);
+        }
+
+        private void flush(Conversation c) throws IOException {
+            c.writeBuffer.flip();
+            c.channel.write(c.writeBuffer);
+            boolean drained = !c.writeBuffer.hasRemaining();
+            c.writeBuffer.compact();
+            if (c.key.isValid()) {
+                c.key.interestOps(drained ? SelectionKey.OP_READ : SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+            }
+            c.lastSendNanos = System.nanoTime();
+        }
+
+        private void finish(Conversation c) {
+            try {
+                queue(c, "QUIT");
+                c.writeBuffer.flip();
+                c.channel.write(c.writeBuffer);
+            } catch (IOException ignored) {
+            }
+            c.phase = Phase.DONE;
+            closeChannel(c);
+            long rcptMillis = c.rcptStartNanos == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - c.rcptStartNanos);
+            c.future.complete(new ProbeOutcome(new ArrayList<>(c.results), true, c.connectMillis, c.slowestReplyMillis,
+                    c.greetingMillis, rcptMillis));
+        }
+
+        private void fail(Conversation c, String message) {
+            if (c == null) return;
+            c.phase = Phase.DONE;
+            closeChannel(c);
+            c.future.complete(ProbeOutcome.failed(c.emails, message));
+        }
+
+        private static void closeChannel(Conversation c) {
+            if (c.key != null) c.key.cancel();
+            if (c.channel != null) {
+                try { c.channel.close(); } catch (IOException ignored) {}
+            }
+        }
+
+        private static boolean isDigit(byte b) {
+            return b >= '0' && b <= '9';
+        }
+
+        private static boolean startsWithIgnoreCase(ByteBuffer buf, int from, int end, byte[] word) {
+            if (end - from < word.length) return false;
+            for (int k = 0; k < word.length; k++) {
+                byte b = buf.get(from + k);
+                if (b >= 'a' && b <= 'z') b -= 32;
+                if (b != word[k]) return false;
+            }
+            return true;
+        }
+
+        private static String ascii(ByteBuffer buf, int start, int end) {
+            byte[] bytes = new byte[end - start];
+            for (int k = 0; k < bytes.length; k++) {
+                bytes[k] = buf.get(start + k);
+            }
+            return new String(bytes, StandardCharsets.US_ASCII);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.techpulse.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.techpulse.dto.CacheStatsDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Size and TTL bounded cache that loads missing values through the caller's loader.
+ *
+ * A load that overlaps an invalidation of its key is returned but not stored, so once
+ * a writer has committed and called invalidate, no reader can put back the value it
+ * read before the commit. Each load remembers the stamp of its key's stripe and the
+ * cache-wide generation; invalidate bumps the first, invalidateIf the second, and
+ * the value is only stored if neither moved while it was loading.
+ *
+ * Values are shared between callers and must not be modified.
+ */
+public class ReadThroughCache<K, V> {
+
+    private static final int STRIPES = 64;
+
+    private final String name;
+    private final long maxEntries;
+    private final Cache<K, V> cache;
+
+    private final AtomicLongArray stamps = new AtomicLongArray(STRIPES);
+    private final AtomicLong generation = new AtomicLong();
+
+    public ReadThroughCache(String name, long maxEntries, Duration ttl) {
+        this.name = name;
+        this.maxEntries = maxEntries;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Registers Caffeine's cache.gets/puts/evictions/size meters and a cache.hit.ratio
+     * gauge, all tagged cache=name.
+     */
+    public ReadThroughCache<K, V> bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, name);
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().requestCount() == 0 ? 0.0 : c.stats().hitRate())
+                .description("Share of lookups answered from the cache")
+                .tag("cache", name)
+                .register(registry);
+        return this;
+    }
+
+    /**
+     * The cached value, or the loader's result. Exceptions from the loader are passed
+     * on and nothing is cached; a null result is not cached either.
+     */
+    public V get(K key, Function<K, V> loader) {
+        V cached = cache.getIfPresent(key);
+        if (cached != null) return cached;
+
+        int stripe = stripe(key);
+        long stamp = stamps.get(stripe);
+        long gen = generation.get();
+        V loaded = loader.apply(key);
+        if (loaded == null) return null;
+
+        // atomic with invalidate's removal of the same key
+        cache.asMap().compute(key, (k, current) ->
+                stamps.get(stripe) == stamp && generation.get() == gen ? loaded : current);
+        return loaded;
+    }
+
+    public void invalidate(K key) {
+        if (key == null) return;
+        stamps.incrementAndGet(stripe(key));
+        cache.invalidate(key);
+    }
+
+    /**
+     * Drops every cached value matching the predicate. Loads in flight are not stored,
+     * whatever their key, since their value cannot be checked before it exists.
+     */
+    public void invalidateIf(Predicate<V> predicate) {
+        generation.incrementAndGet();
+        cache.asMap().values().removeIf(predicate);
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    public CacheStatsDTO stats() {
+        CacheStats stats = cache.stats();
+        double ratio = stats.requestCount() == 0 ? 0.0 : stats.hitRate();
+        return new CacheStatsDTO(name, (int) cache.estimatedSize(), (int) maxEntries,
+                stats.hitCount(), stats.missCount(), stats.evictionCount(), ratio);
+    }
+
+    private static int stripe(Object key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & (STRIPES - 1);
+    }
+}
@@ -0,0 +1,99 @@
+package com.techpulse.util;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.Closeable;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Idle SMTP sessions kept per MX host, so the chunks of a batch that go to the
+ * same host continue one conversation (RSET + MAIL FROM) instead of paying
+ * connect, greeting and EHLO again.
+ *
+ * Sessions idle for longer than idleMs are closed on the next borrow: servers
+ * drop quiet connections after a while, and a stale session is only discovered
+ * on use.
+ */
+@Component
+public class SmtpSessionPool implements Closeable {
+
+    private final int maxIdlePerHost;
+    private final long idleNanos;
+
+    private final ConcurrentHashMap<String, Deque<SmtpValidator.SmtpSession>> idle = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    @Autowired
+    public SmtpSessionPool(
+            @Value("${email.validation.smtp.session-pool.max-idle-per-host:4}") int maxIdlePerHost,
+            @Value("${email.validation.smtp.session-pool.idle-ms:10000}") long idleMs) {
+        this.maxIdlePerHost = maxIdlePerHost;
+        this.idleNanos = TimeUnit.MILLISECONDS.toNanos(idleMs);
+    }
+
+    /**
+     * Takes the most recently used idle session to the host, or null when there is none.
+     */
+    public SmtpValidator.SmtpSession borrow(String host, int port) {
+        Deque<SmtpValidator.SmtpSession> sessions = idle.get(key(host, port));
+        if (sessions == null) return null;
+        SmtpValidator.SmtpSession session;
+        while ((session = sessions.pollFirst()) != null) {
+            if (System.nanoTime() - session.getLastUsedNanos() <= idleNanos) {
+                return session;
+            }
+            session.close();
+        }
+        return null;
+    }
+
+    /**
+     * Hands a session back after use. It is closed instead when the server
+     * refused it, the host already has maxIdlePerHost idle sessions, or the pool is closed.
+     */
+    public void release(String host, int port, SmtpValidator.SmtpSession session) {
+        if (closed || !session.isReusable()) {
+            session.close();
+            return;
+        }
+        Deque<SmtpValidator.SmtpSession> sessions = idle.computeIfAbsent(key(host, port), k -> new ConcurrentLinkedDeque<>());
+        if (sessions.size() >= maxIdlePerHost) {
+            session.close();
+            return;
+        }
+        sessions.offerFirst(session);
+        if (closed && sessions.remove(session)) {
+            session.close();
+        }
+    }
+
+    public int idleSessions() {
+        int count = 0;
+        for (Deque<SmtpValidator.SmtpSession> sessions : idle.values()) {
+            count += sessions.size();
+        }
+        return count;
+    }
+
+    @PreDestroy
+    @Override
+    public void close() {
+        closed = true;
+        for (Deque<SmtpValidator.SmtpSession> sessions : idle.values()) {
+            SmtpValidator.SmtpSession session;
+            while ((session = sessions.pollFirst()) != null) {
+                session.close();
+            }
+        }
+    }
+
+    private static String key(String host, int port) {
+        return host + ":" + port;
+    }
+}
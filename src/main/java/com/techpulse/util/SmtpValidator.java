@@ -5,15 +5,25 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.io.BufferedReader;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.PrintWriter;
 import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 public class SmtpValidator {
 
+    public static final int SMTP_PORT = 25;
+    public static final int DEFAULT_TIMEOUT_MS = 7000;
+
+    // many servers reject more than 100 recipients per transaction, stay well below
+    public static final int MAX_RECIPIENTS_PER_TRANSACTION = 50;
+
     @Data
     @AllArgsConstructor
     @NoArgsConstructor
@@ -24,75 +34,386 @@ public class SmtpValidator {
 
     }
 
+    /**
+     * Results of one SMTP conversation plus what was observed about the host,
+     * used for per-host health tracking.
+     */
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class ProbeOutcome {
+        private List<SmtpResult> results;
+        // false when the host could not be reached or stopped answering (timeout / IO error)
+        private boolean hostResponsive;
+        // -1 when a pooled session was reused and nothing was measured
+        private long connectMillis;
+        private long slowestReplyMillis;
+        // wait for the 220 banner (-1 on a reused session), and the whole RCPT phase (RSETs included)
+        private long greetingMillis;
+        private long rcptMillis;
+
+        public static ProbeOutcome failed(List<String> emails, String message) {
+            return new ProbeOutcome(failAll(emails, message), false, 0, 0, 0, 0);
+        }
+    }
+
     public static SmtpResult checkEmail(String mxHost, String email) throws IOException {
+        return checkEmails(mxHost, Collections.singletonList(email)).get(0);
+    }
 
-        SmtpResult result = new SmtpResult();
-        Socket socket = null;
-        BufferedReader reader = null;
-        PrintWriter writer = null;
-        try {
-            socket = new Socket();
-            // connect with timeout
-            socket.connect(new InetSocketAddress(mxHost, 25), 7000);
-            socket.setSoTimeout(7000); // read timeout
+    /**
+     * Checks all recipients over a single SMTP conversation with the MX host.
+     * Results are returned in the same order as the emails.
+     */
+    public static List<SmtpResult> checkEmails(String mxHost, List<String> emails) throws IOException {
+        return probe(mxHost, SMTP_PORT, emails, DEFAULT_TIMEOUT_MS, DEFAULT_TIMEOUT_MS).getResults();
+    }
+
+    public static ProbeOutcome probe(String mxHost, int port, List<String> emails, int connectTimeoutMs, int readTimeoutMs) {
+        return new Probe(mxHost, port, emails, connectTimeoutMs, readTimeoutMs).run();
+    }
+
+    /**
+     * A single probe of one MX host that another thread can cancel, e.g. when a
+     * hedged probe of a different MX host answered first. Cancelling closes the
+     * socket so a blocked connect or read returns immediately.
+     *
+     * With a {@link SmtpSessionPool} the probe continues an idle session to the
+     * host when there is one, and hands its session back afterwards.
+     */
+    public static class Probe {
+
+        private final String mxHost;
+        private final int port;
+        private final List<String> emails;
+        private final int connectTimeoutMs;
+        private final int readTimeoutMs;
+        private final SmtpSessionPool pool;
+
+        private final Socket socket = new Socket();
+        private volatile SmtpSession current;
+        private volatile boolean cancelled;
+
+        public Probe(String mxHost, int port, List<String> emails, int connectTimeoutMs, int readTimeoutMs) {
+            this(mxHost, port, emails, connectTimeoutMs, readTimeoutMs, null);
+        }
+
+        public Probe(String mxHost, int port, List<String> emails, int connectTimeoutMs, int readTimeoutMs, SmtpSessionPool pool) {
+            this.mxHost = mxHost;
+            this.port = port;
+            this.emails = emails;
+            this.connectTimeoutMs = connectTimeoutMs;
+            this.readTimeoutMs = readTimeoutMs;
+            this.pool = pool;
+        }
+
+        public String getMxHost() {
+            return mxHost;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        public void cancel() {
+            cancelled = true;
+            try { socket.close(); } catch (IOException ignored) {}
+            SmtpSession session = current;
+            if (session != null) session.abort();
+        }
+
+        public ProbeOutcome run() {
+            SmtpSession session = null;
+            boolean completed = false;
+            try {
+                long rcptStart = System.nanoTime();
+                List<SmtpResult> results = null;
+                session = pool == null ? null : pool.borrow(mxHost, port);
+                if (session != null) {
+                    current = session;
+                    if (cancelled) throw new IOException("cancelled");
+                    try {
+                        session.startProbe(readTimeoutMs);
+                        results = session.checkRecipients(emails);
+                    } catch (SocketTimeoutException ste) {
+                        throw ste;
+                    } catch (IOException stale) {
+                        // the server dropped the idle connection, start over on a fresh one
+                        session.abort();
+                        session = null;
+                        if (cancelled) throw stale;
+                        rcptStart = System.nanoTime();
+                    }
+                }
+                boolean reused = results != null;
+                if (!reused) {
+                    session = SmtpSession.open(socket, mxHost, port, connectTimeoutMs, readTimeoutMs);
+                    current = session;
+                    rcptStart = System.nanoTime();
+                    results = session.checkRecipients(emails);
+                }
+                long rcptMillis = (System.nanoTime() - rcptStart) / 1_000_000;
+                completed = true;
+                return new ProbeOutcome(results, true,
+                        reused ? -1 : session.getConnectMillis(), session.getSlowestReplyMillis(),
+                        reused ? -1 : session.getGreetingMillis(), rcptMillis);
+            } catch (SocketTimeoutException ste) {
+                return ProbeOutcome.failed(emails, "SMTP Timeout: " + ste.getMessage());
+            } catch (Exception e) {
+                String message = cancelled ? "SMTP probe cancelled" : "SMTP Error :: " + e.getMessage();
+                return ProbeOutcome.failed(emails, message);
+            } finally {
+                if (session != null) {
+                    if (completed && pool != null && !cancelled) {
+                        pool.release(mxHost, port, session);
+                    } else {
+                        session.close();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * One open SMTP conversation: greeting, EHLO and MAIL FROM are paid once,
+     * then any number of RCPT TO commands can be checked. Consecutive batches are
+     * separated with RSET, and RCPT TO commands are pipelined when the server
+     * advertises PIPELINING. A session is reused across probes through
+     * {@link SmtpSessionPool}, one probe at a time.
+     */
+    public static class SmtpSession implements Closeable {
+
+        private final Socket socket;
+        private final BufferedReader reader;
+        private final PrintWriter writer;
 
-            reader = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-            writer = new PrintWriter(socket.getOutputStream(), true);
+        private boolean pipelining;
+        private int recipientsInTransaction;
+        // a 4xx/5xx greeting: the server answered but will not take the session
+        private SmtpResult greetingFailure;
+        private SmtpResult mailFromFailure;
+
+        private long connectMillis;
+        private long greetingMillis;
+        private long slowestReplyMillis;
+        private volatile long lastUsedNanos = System.nanoTime();
+
+        private SmtpSession(Socket socket) throws IOException {
+            this.socket = socket;
+            this.reader = new BufferedReader(new InputStreamReader(socket.getInputStream()));
+            this.writer = new PrintWriter(socket.getOutputStream(), false);
+        }
+
+        public static SmtpSession open(String mxHost, int port, int connectTimeoutMs, int readTimeoutMs) throws IOException {
+            return open(new Socket(), mxHost, port, connectTimeoutMs, readTimeoutMs);
+        }
+
+        public static SmtpSession open(Socket socket, String mxHost, int port, int connectTimeoutMs, int readTimeoutMs) throws IOException {
+            try {
+                long start = System.nanoTime();
+                socket.connect(new InetSocketAddress(mxHost, port), connectTimeoutMs);
+                long connectMillis = (System.nanoTime() - start) / 1_000_000;
+                socket.setSoTimeout(readTimeoutMs);
+                SmtpSession session = new SmtpSession(socket);
+                session.connectMillis = connectMillis;
+                session.handshake();
+                return session;
+            } catch (IOException | RuntimeException e) {
+                try { socket.close(); } catch (IOException ignored) {}
+                throw e;
+            }
+        }
+
+        public boolean isPipelining() {
+            return pipelining;
+        }
 
+        public long getConnectMillis() {
+            return connectMillis;
+        }
+
+        public long getGreetingMillis() {
+            return greetingMillis;
+        }
+
+        // longest single wait for a server reply, the figure read timeouts must cover
+        public long getSlowestReplyMillis() {
+            return slowestReplyMillis;
+        }
+
+        public long getLastUsedNanos() {
+            return lastUsedNanos;
+        }
+
+        // false once the server refused the greeting or the sender, there is nothing to reuse
+        public boolean isReusable() {
+            return greetingFailure == null && mailFromFailure == null;
+        }
+
+        /**
+         * Prepares a pooled session for the next probe: the read timeout and the
+         * slowest-reply figure are per probe.
+         */
+        public void startProbe(int readTimeoutMs) throws IOException {
+            socket.setSoTimeout(readTimeoutMs);
+            slowestReplyMillis = 0;
+        }
+
+        public List<SmtpResult> checkRecipients(List<String> emails) throws IOException {
+            if (greetingFailure != null) {
+                return refuseAll(emails.size(), greetingFailure);
+            }
+            if (recipientsInTransaction > 0) {
+                reset();
+            }
+
+            List<SmtpResult> results = new ArrayList<>(emails.size());
+            int i = 0;
+            while (i < emails.size()) {
+                if (recipientsInTransaction >= MAX_RECIPIENTS_PER_TRANSACTION) {
+                    reset();
+                }
+                if (mailFromFailure != null) {
+                    // sender refused, every remaining recipient gets the same answer
+                    results.addAll(refuseAll(emails.size() - i, mailFromFailure));
+                    break;
+                }
+
+                int chunk = Math.min(emails.size() - i, MAX_RECIPIENTS_PER_TRANSACTION - recipientsInTransaction);
+                List<String> part = emails.subList(i, i + chunk);
+                if (pipelining) {
+                    for (String email : part) {
+                        send("RCPT TO:<" + email + ">");
+                    }
+                    writer.flush();
+                    for (int k = 0; k < part.size(); k++) {
+                        results.add(readRcptResult());
+                    }
+                } else {
+                    for (String email : part) {
+                        send("RCPT TO:<" + email + ">");
+                        writer.flush();
+                        results.add(readRcptResult());
+                    }
+                }
+                recipientsInTransaction += chunk;
+                i += chunk;
+            }
+            lastUsedNanos = System.nanoTime();
+            return results;
+        }
+
+        // closes the connection without QUIT, for a cancelled probe or a dead connection
+        public void abort() {
+            try { socket.close(); } catch (IOException ignored) {}
+        }
+
+        @Override
+        public void close() {
+            try {
+                send("QUIT");
+                writer.flush();
+            } catch (Exception ignored) {}
+            try { writer.close(); } catch (Exception ignored) {}
+            try { reader.close(); } catch (Exception ignored) {}
+            try { socket.close(); } catch (IOException ignored) {}
+        }
+
+        private void handshake() throws IOException {
             // Read server greeting (could be multi-line)
-            String greeting = readMultiLineResponse(reader);
+            long start = System.nanoTime();
+            String greeting = readReply();
+            greetingMillis = (System.nanoTime() - start) / 1_000_000;
             int code = parseCodeFromMultiLine(greeting);
             if (code < 0) {
-                result.setSuccess(false);
-                result.setCode(-1);
-                result.setMessage(greeting == null ? "No greeting" : greeting.trim());
-                return result;
+                throw new IOException(greeting == null ? "No greeting" : greeting.trim());
+            }
+            if (code >= 400) {
+                // a policy answer (e.g. 554 no service for you), reported per recipient
+                greetingFailure = new SmtpResult(false, greeting.trim(), code);
+                return;
             }
 
             // EHLO
-            writer.println("EHLO localhost");
-            String ehloResponse = readMultiLineResponse(reader);
+            send("EHLO localhost");
+            writer.flush();
+            String ehloResponse = readReply();
+            pipelining = advertises(ehloResponse, "PIPELINING");
+
+            mailFrom();
+        }
 
-            // MAIL FROM
-            writer.println("MAIL FROM:<validator@localhost>");
-            String mailResp = reader.readLine();
-            int mailCode = parseCode(mailResp);
+        private void mailFrom() throws IOException {
+            send("MAIL FROM:<validator@localhost>");
+            writer.flush();
+            String mailResp = readReply();
+            int mailCode = parseCodeFromMultiLine(mailResp);
             if (mailResp == null || mailCode < 200 || mailCode >= 400) {
-                result.setSuccess(false);
-                result.setCode(mailCode < 0 ? -1 : mailCode);
-                result.setMessage(mailResp == null ? "No MAIL FROM response" : mailResp);
-                writer.println("QUIT");
-                return result;
+                mailFromFailure = new SmtpResult(false,
+                        mailResp == null ? "No MAIL FROM response" : mailResp.trim(),
+                        mailCode < 0 ? -1 : mailCode);
+            } else {
+                mailFromFailure = null;
             }
+        }
 
-            // RCPT TO
-            writer.println("RCPT TO:<" + email + ">");
-            String rcptResp = reader.readLine();
-            int rcptCode = parseCode(rcptResp);
-            result.setCode(rcptCode < 0 ? -1 : rcptCode);
-            result.setMessage(rcptResp == null ? "No RCPT response" : rcptResp);
-            result.setSuccess(rcptCode == 250 || rcptCode == 251);
-
-            // QUIT
-            writer.println("QUIT");
-
-        } catch (SocketTimeoutException ste) {
-            result.setSuccess(false);
-            result.setCode(-1);
-            result.setMessage("SMTP Timeout: " + ste.getMessage());
-        } catch (Exception e) {
-            result.setSuccess(false);
-            result.setCode(-1);
-            result.setMessage("SMTP Error :: " + e.getMessage());
-        } finally {
-            try { if (writer != null) writer.close(); } catch (Exception ignored) {}
-            try { if (reader != null) reader.close(); } catch (Exception ignored) {}
-            if (socket != null && !socket.isClosed()) {
-                try { socket.close(); } catch (IOException ignored) {}
+        private void reset() throws IOException {
+            send("RSET");
+            writer.flush();
+            if (readReply() == null) {
+                throw new IOException("Connection closed by server");
             }
+            recipientsInTransaction = 0;
+            mailFrom();
+        }
+
+        private static List<SmtpResult> refuseAll(int count, SmtpResult refusal) {
+            List<SmtpResult> results = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                results.add(new SmtpResult(false, refusal.getMessage(), refusal.getCode()));
+            }
+            return results;
+        }
+
+        private SmtpResult readRcptResult() throws IOException {
+            String rcptResp = readReply();
+            int rcptCode = parseCodeFromMultiLine(rcptResp);
+            return new SmtpResult(
+                    rcptCode == 250 || rcptCode == 251,
+                    rcptResp == null ? "No RCPT response" : rcptResp.trim(),
+                    rcptCode < 0 ? -1 : rcptCode);
         }
 
-        return result;
+        private String readReply() throws IOException {
+            long start = System.nanoTime();
+            String reply = readMultiLineResponse(reader);
+            slowestReplyMillis = Math.max(slowestReplyMillis, (System.nanoTime() - start) / 1_000_000);
+            return reply;
+        }
+
+        private void send(String command) {
+            writer.print(command);
+            writer.print("\r\n");
+        }
+    }
+
+    private static List<SmtpResult> failAll(List<String> emails, String message) {
+        List<SmtpResult> results = new ArrayList<>(emails.size());
+        for (int i = 0; i < emails.size(); i++) {
+            results.add(new SmtpResult(false, message, -1));
+        }
+        return results;
+    }
+
+    private static boolean advertises(String ehloResponse, String extension) {
+        if (ehloResponse == null) return false;
+        for (String line : ehloResponse.split("\\r?\\n")) {
+            // "250-PIPELINING" or "250 PIPELINING"
+            if (line.length() > 4 && line.substring(4).trim().toUpperCase().startsWith(extension)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private static String readMultiLineResponse(BufferedReader reader) throws IOException {
@@ -0,0 +1,130 @@
+package com.techpulse.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer meters for the email validation pipeline.
+ *
+ * <ul>
+ *   <li>{@code email.validation.phase{phase=syntax|mx_lookup|smtp_greeting|smtp_rcpt|total}}: timers with percentile histograms</li>
+ *   <li>{@code email.validation.smtp.connect{mx=...}}: TCP connect time per MX host</li>
+ *   <li>{@code email.validation.domain{domain=...}}: end-to-end latency per recipient domain</li>
+ *   <li>{@code email.validation.outcome{outcome=-4|-3|-2|-1|2xx|4xx|5xx}}: results by code</li>
+ * </ul>
+ *
+ * Domain and MX host tags are bounded: the first N distinct values get their own
+ * series, everything after that is tagged "other".
+ */
+@Component
+public class ValidationMetrics {
+
+    static final String OTHER = "other";
+
+    private final MeterRegistry registry;
+
+    private final Timer syntaxTimer;
+    private final Timer mxLookupTimer;
+    private final Timer greetingTimer;
+    private final Timer rcptTimer;
+    private final Timer totalTimer;
+
+    private final BoundedTagValues domains;
+    private final BoundedTagValues mxHosts;
+
+    public ValidationMetrics(
+            MeterRegistry registry,
+            @Value("${email.validation.metrics.max-tagged-domains:200}") int maxTaggedDomains,
+            @Value("${email.validation.metrics.max-tagged-mx-hosts:200}") int maxTaggedMxHosts) {
+        this.registry = registry;
+        this.syntaxTimer = phaseTimer("syntax");
+        this.mxLookupTimer = phaseTimer("mx_lookup");
+        this.greetingTimer = phaseTimer("smtp_greeting");
+        this.rcptTimer = phaseTimer("smtp_rcpt");
+        this.totalTimer = phaseTimer("total");
+        this.domains = new BoundedTagValues(maxTaggedDomains);
+        this.mxHosts = new BoundedTagValues(maxTaggedMxHosts);
+    }
+
+    public void recordSyntax(long nanos) {
+        syntaxTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordMxLookup(long nanos) {
+        mxLookupTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Connect, greeting and RCPT timings of a probe that got answers from the host.
+     * A probe on a reused session only has the RCPT timing.
+     */
+    public void recordProbe(String mxHost, SmtpValidator.ProbeOutcome outcome) {
+        if (!outcome.isHostResponsive()) return;
+        if (outcome.getConnectMillis() >= 0) {
+            Timer.builder("email.validation.smtp.connect")
+                    .description("TCP connect time to the MX host")
+                    .tag("mx", mxHosts.tag(mxHost))
+                    .register(registry)
+                    .record(outcome.getConnectMillis(), TimeUnit.MILLISECONDS);
+            greetingTimer.record(outcome.getGreetingMillis(), TimeUnit.MILLISECONDS);
+        }
+        rcptTimer.record(outcome.getRcptMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * End-to-end time and outcome of one address that was not served from the result cache.
+     */
+    public void recordResult(String domain, int smtpCode, long nanos) {
+        totalTimer.record(nanos, TimeUnit.NANOSECONDS);
+        // no histogram here: one per domain would multiply the series count
+        Timer.builder("email.validation.domain")
+                .description("End-to-end validation time per recipient domain")
+                .tag("domain", domains.tag(domain == null || domain.isEmpty() ? "none" : domain))
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        Counter.builder("email.validation.outcome")
+                .description("Validation results by SMTP code class")
+                .tag("outcome", outcome(smtpCode))
+                .register(registry)
+                .increment();
+    }
+
+    static String outcome(int smtpCode) {
+        if (smtpCode < 0) return String.valueOf(smtpCode);
+        return (smtpCode / 100) + "xx";
+    }
+
+    private Timer phaseTimer(String phase) {
+        return Timer.builder("email.validation.phase")
+                .description("Time spent in one phase of email validation")
+                .tag("phase", phase)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /**
+     * Admits the first max distinct values, maps the rest to "other".
+     */
+    static final class BoundedTagValues {
+        private final int max;
+        private final Set<String> admitted = ConcurrentHashMap.newKeySet();
+
+        BoundedTagValues(int max) {
+            this.max = max;
+        }
+
+        String tag(String value) {
+            if (admitted.contains(value)) return value;
+            // may overshoot by a few under contention, which is harmless
+            if (admitted.size() < max && admitted.add(value)) return value;
+            return admitted.contains(value) ? value : OTHER;
+        }
+    }
+}
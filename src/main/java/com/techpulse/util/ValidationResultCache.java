@@ -0,0 +1,124 @@
+package com.techpulse.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.techpulse.dto.CacheStatsDTO;
+import com.techpulse.dto.EmailValidationResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Email validation results keyed by the normalized (trimmed, lower-case) address.
+ *
+ * How long a result is kept depends on how final it is: accepted recipients and
+ * syntax errors rarely change, hard rejections may, and temporary failures (4xx,
+ * timeouts) are retried soon. Size is bounded with Caffeine's W-TinyLFU eviction.
+ */
+@Component
+public class ValidationResultCache {
+
+    private final long maxEntries;
+    private final long acceptedTtlNanos;
+    private final long rejectedTtlNanos;
+    private final long temporaryFailureTtlNanos;
+    private final long dnsFailureTtlNanos;
+    private final long syntaxErrorTtlNanos;
+
+    private final Cache<String, EmailValidationResponse> cache;
+
+    public ValidationResultCache(
+            @Value("${email.validation.result-cache.max-entries:100000}") long maxEntries,
+            @Value("${email.validation.result-cache.accepted-ttl-minutes:1440}") long acceptedTtlMinutes,
+            @Value("${email.validation.result-cache.rejected-ttl-minutes:360}") long rejectedTtlMinutes,
+            @Value("${email.validation.result-cache.temporary-failure-ttl-minutes:5}") long temporaryFailureTtlMinutes,
+            @Value("${email.validation.result-cache.dns-failure-ttl-minutes:30}") long dnsFailureTtlMinutes,
+            @Value("${email.validation.result-cache.syntax-error-ttl-minutes:1440}") long syntaxErrorTtlMinutes) {
+        this.maxEntries = maxEntries;
+        this.acceptedTtlNanos = TimeUnit.MINUTES.toNanos(acceptedTtlMinutes);
+        this.rejectedTtlNanos = TimeUnit.MINUTES.toNanos(rejectedTtlMinutes);
+        this.temporaryFailureTtlNanos = TimeUnit.MINUTES.toNanos(temporaryFailureTtlMinutes);
+        this.dnsFailureTtlNanos = TimeUnit.MINUTES.toNanos(dnsFailureTtlMinutes);
+        this.syntaxErrorTtlNanos = TimeUnit.MINUTES.toNanos(syntaxErrorTtlMinutes);
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new Expiry<String, EmailValidationResponse>() {
+                    @Override
+                    public long expireAfterCreate(String key, EmailValidationResponse value, long currentTime) {
+                        return ttlNanos(value);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, EmailValidationResponse value, long currentTime, long currentDuration) {
+                        return ttlNanos(value);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, EmailValidationResponse value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    public static String normalize(String email) {
+        return email == null ? null : email.trim().toLowerCase();
+    }
+
+    /**
+     * Returns a copy of the cached result, or null.
+     */
+    public EmailValidationResponse get(String email) {
+        String key = normalize(email);
+        if (key == null || key.isEmpty()) return null;
+        EmailValidationResponse cached = cache.getIfPresent(key);
+        if (cached == null) return null;
+        EmailValidationResponse copy = copy(cached);
+        // report the address as the caller wrote it
+        copy.setEmail(email);
+        return copy;
+    }
+
+    public void put(String email, EmailValidationResponse response) {
+        String key = normalize(email);
+        if (key == null || key.isEmpty() || ttlNanos(response) <= 0) return;
+        cache.put(key, copy(response));
+    }
+
+    public void invalidate(String email) {
+        String key = normalize(email);
+        if (key != null) cache.invalidate(key);
+    }
+
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    public CacheStatsDTO stats() {
+        CacheStats stats = cache.stats();
+        double ratio = stats.requestCount() == 0 ? 0.0 : stats.hitRate();
+        return new CacheStatsDTO("validation-results", (int) cache.estimatedSize(), (int) maxEntries,
+                stats.hitCount(), stats.missCount(), stats.evictionCount(), ratio);
+    }
+
+    private long ttlNanos(EmailValidationResponse response) {
+        int code = response.getSmtpCode();
+        if (response.isSmtpAcceptsRecipient() || code == 250 || code == 251) return acceptedTtlNanos;
+        if (code == -3) return syntaxErrorTtlNanos;
+        // pre-filter rejections (-4) follow the blocklist, which can be edited at any time
+        if (code == -2 || code == -4) return dnsFailureTtlNanos;
+        if (code >= 500 && code < 600) return rejectedTtlNanos;
+        // 4xx, timeouts and IO errors (-1) are worth retrying soon
+        return temporaryFailureTtlNanos;
+    }
+
+    private static EmailValidationResponse copy(EmailValidationResponse r) {
+        return new EmailValidationResponse(r.getEmail(), r.isSyntaxValid(), r.isDomainValid(), r.isSmtpAcceptsRecipient(),
+                r.isHasMax(), r.getMxTried(), r.getSmtpMessage(), r.getSmtpCode(), r.isValid());
+    }
+}
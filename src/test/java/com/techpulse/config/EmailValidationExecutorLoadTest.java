@@ -0,0 +1,133 @@
+package com.techpulse.config;
+
+import com.techpulse.util.BoundedExecutorService;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pushes 1k concurrent blocking "validations" (50 ms of simulated DNS/SMTP wait each)
+ * through the executor in both modes and checks the concurrency each one allows.
+ *
+ * The virtual mode is also run with a thread-per-task stand-in for the virtual
+ * thread factory, so its branch is covered on runtimes older than Java 21.
+ */
+class EmailValidationExecutorLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailValidationExecutorLoadTest.class);
+
+    private static final int VALIDATIONS = 1000;
+    private static final long IO_WAIT_MS = 50;
+
+    // a cached pool starts a thread per task when all are busy, like a virtual thread executor
+    private static final Supplier<ExecutorService> THREAD_PER_TASK = Executors::newCachedThreadPool;
+
+    @Test
+    void testPlatformMode() throws Exception {
+        ExecutorService executor = EmailValidationExecutorConfig.emailValidationExecutor("platform", 64, 1000, THREAD_PER_TASK);
+
+        assertInstanceOf(ThreadPoolExecutor.class, executor);
+        int observedMax = run(executor, 64);
+
+        assertTrue(observedMax <= 64, "observed concurrency " + observedMax);
+    }
+
+    @Test
+    void testVirtualModeOnThisRuntime() throws Exception {
+        ExecutorService executor = new EmailValidationExecutorConfig().emailValidationExecutor("virtual", 64, 1000);
+
+        if (Runtime.version().feature() >= 21) {
+            assertInstanceOf(BoundedExecutorService.class, executor);
+            run(executor, 1000);
+        } else {
+            // falls back to the platform pool
+            assertInstanceOf(ThreadPoolExecutor.class, executor);
+            assertEquals(64, ((ThreadPoolExecutor) executor).getCorePoolSize());
+            run(executor, 64);
+        }
+    }
+
+    @Test
+    void testVirtualModeIsNotLimitedByPoolSize() throws Exception {
+        ExecutorService executor = EmailValidationExecutorConfig.emailValidationExecutor("virtual", 64, 1000, THREAD_PER_TASK);
+
+        assertInstanceOf(BoundedExecutorService.class, executor);
+        int observedMax = run(executor, 1000);
+
+        assertTrue(observedMax > 64, "observed concurrency " + observedMax);
+    }
+
+    @Test
+    void testVirtualModeRespectsConcurrencyLimit() throws Exception {
+        ExecutorService executor = EmailValidationExecutorConfig.emailValidationExecutor("virtual", 64, 50, THREAD_PER_TASK);
+
+        assertEquals(50, ((BoundedExecutorService) executor).getMaxConcurrency());
+        int observedMax = run(executor, 50);
+
+        assertTrue(observedMax <= 50, "observed concurrency " + observedMax);
+    }
+
+    @Test
+    void testVirtualFallbackKeepsConcurrencyLimit() throws Exception {
+        ExecutorService executor = EmailValidationExecutorConfig.emailValidationExecutor("virtual", 64, 50, () -> null);
+
+        assertEquals(50, ((ThreadPoolExecutor) executor).getCorePoolSize());
+        int observedMax = run(executor, 50);
+
+        assertTrue(observedMax <= 50, "observed concurrency " + observedMax);
+    }
+
+    /**
+     * Runs the validations and returns the highest number seen running at once.
+     * With a limit of n they cannot finish faster than VALIDATIONS / n rounds of IO_WAIT_MS.
+     */
+    private int run(ExecutorService executor, int limit) throws Exception {
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        AtomicInteger completed = new AtomicInteger();
+
+        long start = System.nanoTime();
+        List<CompletableFuture<Void>> futures = new ArrayList<>(VALIDATIONS);
+        try {
+            for (int i = 0; i < VALIDATIONS; i++) {
+                futures.add(CompletableFuture.runAsync(() -> {
+                    int now = active.incrementAndGet();
+                    maxActive.accumulateAndGet(now, Math::max);
+                    try {
+                        Thread.sleep(IO_WAIT_MS);
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        active.decrementAndGet();
+                        completed.incrementAndGet();
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(2, TimeUnit.MINUTES);
+        } finally {
+            executor.shutdownNow();
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(VALIDATIONS, completed.get());
+        long rounds = (VALIDATIONS + limit - 1) / limit;
+        assertTrue(elapsedMs >= rounds * IO_WAIT_MS, elapsedMs + " ms for " + rounds + " rounds");
+        // far from running one at a time
+        assertTrue(elapsedMs < VALIDATIONS * IO_WAIT_MS / 4, elapsedMs + " ms");
+        log.info("validations={} limit={} elapsed={}ms throughput={}/s maxConcurrent={}",
+                VALIDATIONS, limit, elapsedMs, VALIDATIONS * 1000L / Math.max(1, elapsedMs), maxActive.get());
+        return maxActive.get();
+    }
+}
@@ -0,0 +1,88 @@
+package com.techpulse.controller;
+
+import com.techpulse.dto.CompanyRequestDTO;
+import com.techpulse.dto.CompanyResponseDTO;
+import com.techpulse.dto.EmployeeResponseDTO;
+import com.techpulse.exception.GlobalExceptionHandler;
+import com.techpulse.service.ICompanyService;
+import com.techpulse.util.ETags;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class CompanyControllerTest {
+
+    private static final String BODY = "{\"companyName\":\"Acme\",\"noOfEmployees\":5}";
+
+    @Mock
+    private ICompanyService service;
+
+    @InjectMocks
+    private CompanyController controller;
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        mvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    private static CompanyResponseDTO company(long version) {
+        EmployeeResponseDTO employee = new EmployeeResponseDTO();
+        employee.setEmpId(7);
+        employee.setVersion(2L);
+
+        CompanyResponseDTO dto = new CompanyResponseDTO();
+        dto.setCompanyId(1);
+        dto.setCompanyName("Acme");
+        dto.setVersion(version);
+        dto.setEmployees(List.of(employee));
+        return dto;
+    }
+
+    @Test
+    void testUpdateReturnsNewETag() throws Exception {
+        CompanyResponseDTO updated = company(3);
+        when(service.updateCompanyDetails(eq(1), any(CompanyRequestDTO.class), isNull())).thenReturn(updated);
+
+        mvc.perform(put("/companies/1").contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETags.of(updated)))
+                .andExpect(jsonPath("$.data.version").value(3));
+    }
+
+    @Test
+    void testUpdateETagMatchesGet() throws Exception {
+        CompanyResponseDTO updated = company(3);
+        when(service.updateCompanyDetails(eq(1), any(CompanyRequestDTO.class), eq(2L))).thenReturn(updated);
+        when(service.getCompanies(1)).thenReturn(updated);
+
+        String etag = mvc.perform(put("/companies/1").contentType(MediaType.APPLICATION_JSON).content(BODY)
+                        .header(HttpHeaders.IF_MATCH, ETags.of(company(2))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mvc.perform(get("/companies/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        verify(service).updateCompanyDetails(eq(1), any(CompanyRequestDTO.class), eq(2L));
+    }
+}
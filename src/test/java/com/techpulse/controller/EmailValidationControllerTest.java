@@ -0,0 +1,129 @@
+package com.techpulse.controller;
+
+import com.techpulse.dto.EmailValidationJobDTO;
+import com.techpulse.dto.EmailValidationJobDTO.JobState;
+import com.techpulse.exception.GlobalExceptionHandler;
+import com.techpulse.exception.JobNotFoundException;
+import com.techpulse.exception.TooManyJobsException;
+import com.techpulse.service.IEmailValidationJobService;
+import com.techpulse.service.IEmailValidationService;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class EmailValidationControllerTest {
+
+    private static final String JOB_ID = "6f1c2f9e";
+
+    @Mock
+    private IEmailValidationService service;
+
+    @Mock
+    private IEmailValidationJobService jobService;
+
+    @InjectMocks
+    private EmailValidationController controller;
+
+    private MockMvc mvc;
+
+    private final CompletableFuture<EmailValidationJobDTO> finished = new CompletableFuture<>();
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(controller, "streamTimeoutMs", 60_000L);
+        mvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        when(jobService.whenFinished(JOB_ID)).thenReturn(finished);
+    }
+
+    private static EmailValidationJobDTO job(JobState state) {
+        EmailValidationJobDTO dto = new EmailValidationJobDTO();
+        dto.setJobId(JOB_ID);
+        dto.setEmail("john@gmail.com");
+        dto.setState(state);
+        return dto;
+    }
+
+    private MvcResult openStream() throws Exception {
+        return mvc.perform(get("/email-validation/jobs/{jobId}/stream", JOB_ID).accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    @Test
+    void testStreamSendsFinishedJob() throws Exception {
+        MvcResult result = openStream();
+
+        finished.complete(job(JobState.DONE));
+
+        String body = result.getResponse().getContentAsString();
+        assertTrue(body.contains("event:job"), body);
+        assertTrue(body.contains("\"state\":\"DONE\""), body);
+    }
+
+    @Test
+    void testStreamSendsErrorEventWhenJobFails() throws Exception {
+        MvcResult result = openStream();
+
+        finished.completeExceptionally(new IllegalStateException("worker died"));
+
+        String body = result.getResponse().getContentAsString();
+        assertTrue(body.contains("event:error"), body);
+        assertTrue(body.contains("worker died"), body);
+        assertFalse(body.contains("event:job"), body);
+    }
+
+    @Test
+    void testTimedOutStreamIgnoresLateResult() throws Exception {
+        MvcResult result = openStream();
+
+        MockAsyncContext asyncContext = (MockAsyncContext) result.getRequest().getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+        // must not try to write to the closed stream
+        assertDoesNotThrow(() -> finished.complete(job(JobState.DONE)));
+
+        assertFalse(result.getResponse().getContentAsString().contains("event:job"));
+    }
+
+    @Test
+    void testStreamOfUnknownJobIsNotFound() throws Exception {
+        when(jobService.whenFinished("missing")).thenThrow(new JobNotFoundException("Validation Job Not Found :: missing"));
+
+        mvc.perform(get("/email-validation/jobs/{jobId}/stream", "missing").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testFullJobTableAnswers503WithRetryAfter() throws Exception {
+        when(jobService.submit("john@gmail.com"))
+                .thenThrow(new TooManyJobsException("Too many validation jobs, try again later", 30));
+
+        mvc.perform(post("/email-validation/jobs").param("email", "john@gmail.com"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "30"))
+                .andExpect(jsonPath("$.success").value(false));
+    }
+}
@@ -1,17 +1,30 @@
 package com.techpulse.service.impl;
 
+import com.techpulse.dto.CompanyBulkResultDTO;
 import com.techpulse.dto.CompanyRequestDTO;
 import com.techpulse.dto.CompanyResponseDTO;
+import com.techpulse.dto.CursorPageDTO;
 import com.techpulse.dto.EmployeeResponseDTO;
 import com.techpulse.entity.Company;
 import com.techpulse.entity.Employee;
+import com.techpulse.entity.enums.Status;
+import com.techpulse.exception.BadRequestException;
 import com.techpulse.exception.CompanyNotAvailableException;
 import com.techpulse.mapper.CompanyMapper;
 import com.techpulse.mapper.EmployeeMapper;
 import com.techpulse.repository.ICompanyRepository;
+import com.techpulse.repository.IEmployeeRepository;
+import com.techpulse.util.EmployeeSearchIndex;
+import com.techpulse.util.EntityResponseCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -28,6 +41,15 @@ class CompanyServiceImplTest {
     @Mock
     private EmployeeMapper employeeMapper;
 
+    @Mock
+    private IEmployeeRepository employeeRepository;
+
+    @Spy
+    private EmployeeSearchIndex searchIndex = new EmployeeSearchIndex();
+
+    @Spy
+    private EntityResponseCache entityCache = new EntityResponseCache(new SimpleMeterRegistry(), 100, 300, 100, 300);
+
     @InjectMocks
     private CompanyServiceImpl service;
 
@@ -66,24 +88,72 @@ class CompanyServiceImplTest {
 
 
     @Test
-    void testGetCompaniesList() {
+    void testGetCompaniesPageCountsEmployeesInOneQuery() {
         Company c1 = new Company();
         c1.setCompanyId(1);
-        c1.setCompanyName("ABC");
-        c1.setEmployees(List.of(new Employee()));
-
-        CompanyResponseDTO dto = new CompanyResponseDTO();
-        dto.setCompanyId(1);
-        dto.setEmployees(new ArrayList<>());
+        Company c2 = new Company();
+        c2.setCompanyId(2);
+
+        when(repository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(c1, c2), PageRequest.of(0, 2), 5));
+        when(employeeRepository.countByCompanyIds(List.of(1, 2))).thenReturn(List.<Object[]>of(new Object[]{1, 3L}));
+        when(companyMapper.toDTO(any(Company.class))).thenAnswer(invocation -> {
+            CompanyResponseDTO dto = new CompanyResponseDTO();
+            dto.setCompanyId(invocation.<Company>getArgument(0).getCompanyId());
+            return dto;
+        });
+
+        Page<CompanyResponseDTO> page = service.getCompanies(0, 2);
+
+        assertEquals(5, page.getTotalElements());
+        assertEquals(3L, page.getContent().get(0).getEmployeeCount());
+        assertEquals(0L, page.getContent().get(1).getEmployeeCount());
+        assertNull(page.getContent().get(0).getEmployees());
+        verify(employeeRepository, times(1)).countByCompanyIds(anyCollection());
+        verifyNoInteractions(employeeMapper);
+        assertThrows(BadRequestException.class, () -> service.getCompanies(0, 0));
+    }
 
-        when(repository.findAll()).thenReturn(List.of(c1));
-        when(companyMapper.toDTO(c1)).thenReturn(dto);
-        when(employeeMapper.toDTO(any(Employee.class))).thenReturn(new EmployeeResponseDTO());
+    @Test
+    void testGetCompanyEmployeesWalksKeysetPages() {
+        List<Employee> all = new ArrayList<>();
+        for (int id = 1; id <= 5; id++) {
+            Employee employee = new Employee();
+            employee.setEmpId(id * 10);
+            all.add(employee);
+        }
+        when(repository.existsById(1)).thenReturn(true);
+        when(employeeRepository.findByCompanyCompanyIdAndEmpIdGreaterThanOrderByEmpId(eq(1), anyInt(), any(Limit.class)))
+                .thenAnswer(invocation -> {
+                    int after = invocation.getArgument(1);
+                    Limit limit = invocation.getArgument(2);
+                    return all.stream().filter(e -> e.getEmpId() > after).limit(limit.max()).toList();
+                });
+        when(employeeMapper.toDTO(any(Employee.class))).thenAnswer(invocation -> {
+            EmployeeResponseDTO dto = new EmployeeResponseDTO();
+            dto.setEmpId(invocation.<Employee>getArgument(0).getEmpId());
+            return dto;
+        });
+
+        List<Integer> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPageDTO<EmployeeResponseDTO> page = service.getCompanyEmployees(1, cursor, 2);
+            page.getContent().forEach(dto -> seen.add(dto.getEmpId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(List.of(10, 20, 30, 40, 50), seen);
+        assertEquals(3, pages);
+        assertThrows(BadRequestException.class, () -> service.getCompanyEmployees(1, "garbage", 2));
+    }
 
-        List<CompanyResponseDTO> companies = service.getCompanies();
+    @Test
+    void testGetCompanyEmployeesUnknownCompany() {
+        when(repository.existsById(9)).thenReturn(false);
 
-        assertEquals(1, companies.size());
-        verify(repository, times(1)).findAll();
+        assertThrows(CompanyNotAvailableException.class, () -> service.getCompanyEmployees(9, null, 5));
     }
 
 
@@ -97,19 +167,53 @@ class CompanyServiceImplTest {
         CompanyResponseDTO dto = new CompanyResponseDTO();
         dto.setCompanyId(1);
 
-        when(repository.findById(1)).thenReturn(Optional.of(company));
+        when(repository.findWithEmployeesByCompanyId(1)).thenReturn(Optional.of(company));
         when(companyMapper.toDTO(company)).thenReturn(dto);
         when(employeeMapper.toDTO(any(Employee.class))).thenReturn(new EmployeeResponseDTO());
 
         CompanyResponseDTO result = service.getCompanies(1);
 
         assertEquals(1, result.getCompanyId());
-        verify(repository).findById(1);
+        verify(repository).findWithEmployeesByCompanyId(1);
+    }
+
+    @Test
+    void testGetCompanyByIdIsCachedUntilUpdated() {
+        Company company = new Company();
+        company.setCompanyId(1);
+        company.setCompanyName("Old");
+        company.setEmployees(List.of());
+
+        when(repository.findWithEmployeesByCompanyId(1)).thenReturn(Optional.of(company));
+        when(repository.findById(1)).thenReturn(Optional.of(company));
+        when(repository.saveAndFlush(company)).thenReturn(company);
+        when(companyMapper.toDTO(company)).thenAnswer(invocation -> {
+            CompanyResponseDTO dto = new CompanyResponseDTO();
+            dto.setCompanyId(1);
+            dto.setCompanyName(company.getCompanyName());
+            return dto;
+        });
+
+        // an employee DTO that embeds this company
+        EmployeeResponseDTO employee = new EmployeeResponseDTO();
+        employee.setEmpId(7);
+        employee.setCompany(service.getCompanies(1));
+        entityCache.employees().get(7, id -> employee);
+
+        assertEquals("Old", service.getCompanies(1).getCompanyName());
+        verify(repository, times(1)).findWithEmployeesByCompanyId(1);
+
+        CompanyRequestDTO request = new CompanyRequestDTO();
+        request.setCompanyName("New");
+        service.updateCompanyDetails(1, request, null);
+
+        assertEquals("New", service.getCompanies(1).getCompanyName());
+        assertEquals(0, entityCache.employees().stats().getSize());
     }
 
     @Test
     void testGetCompanyByIdNotFound() {
-        when(repository.findById(100)).thenReturn(Optional.empty());
+        when(repository.findWithEmployeesByCompanyId(100)).thenReturn(Optional.empty());
 
         assertThrows(CompanyNotAvailableException.class,
                 () -> service.getCompanies(100));
@@ -132,30 +236,107 @@ class CompanyServiceImplTest {
         responseDTO.setCompanyName("NewName");
 
         when(repository.findById(1)).thenReturn(Optional.of(oldCompany));
-        when(repository.save(oldCompany)).thenReturn(updated);
+        when(repository.saveAndFlush(oldCompany)).thenReturn(updated);
         when(companyMapper.toDTO(updated)).thenReturn(responseDTO);
 
-        CompanyResponseDTO result = service.updateCompanyDetails(1, request);
+        CompanyResponseDTO result = service.updateCompanyDetails(1, request, null);
 
         assertEquals("NewName", result.getCompanyName());
-        verify(repository).save(oldCompany);
+        verify(repository).saveAndFlush(oldCompany);
+    }
+
+    @Test
+    void testUpdateCompanyListsEmployeesLikeGet() {
+        Employee employee = new Employee();
+        Company company = new Company();
+        company.setCompanyId(1);
+        company.setEmployees(List.of(employee));
+
+        EmployeeResponseDTO employeeDTO = new EmployeeResponseDTO();
+        employeeDTO.setEmpId(7);
+
+        when(repository.findById(1)).thenReturn(Optional.of(company));
+        when(repository.saveAndFlush(company)).thenReturn(company);
+        when(companyMapper.toDTO(company)).thenReturn(new CompanyResponseDTO());
+        when(employeeMapper.toDTO(employee)).thenReturn(employeeDTO);
+
+        CompanyResponseDTO result = service.updateCompanyDetails(1, new CompanyRequestDTO(), null);
+
+        assertEquals(List.of(employeeDTO), result.getEmployees());
+        assertEquals(1L, result.getEmployeeCount());
     }
 
 
     @Test
     void testDeleteCompany() {
-        when(repository.existsById(1)).thenReturn(true);
+        when(employeeRepository.findIdsByCompanyIds(List.of(1))).thenReturn(List.of(10, 11));
+        when(employeeRepository.deleteAllByCompanyIds(List.of(1))).thenReturn(2);
+        when(repository.deleteAllByIds(List.of(1))).thenReturn(1);
 
         service.deleteCompany(1);
 
-        verify(repository).deleteById(1);
+        verify(employeeRepository).deleteAllByCompanyIds(List.of(1));
+        verify(repository).deleteAllByIds(List.of(1));
+        verify(repository, never()).deleteById(any());
+        verify(searchIndex).remove(10);
+        verify(searchIndex).remove(11);
     }
 
     @Test
     void testDeleteCompanyNotFound() {
-        when(repository.existsById(99)).thenReturn(false);
+        when(employeeRepository.findIdsByCompanyIds(List.of(99))).thenReturn(List.of());
+        when(repository.deleteAllByIds(List.of(99))).thenReturn(0);
 
         assertThrows(CompanyNotAvailableException.class,
                 () -> service.deleteCompany(99));
     }
+
+    @Test
+    void testDeleteCompaniesSkipsDuplicatesAndEvictsEmbeddedCompany() {
+        EmployeeResponseDTO cached = new EmployeeResponseDTO();
+        cached.setEmpId(10);
+        CompanyResponseDTO embedded = new CompanyResponseDTO();
+        embedded.setCompanyId(2);
+        cached.setCompany(embedded);
+        entityCache.employees().get(10, id -> cached);
+
+        when(employeeRepository.findIdsByCompanyIds(List.of(2, 3))).thenReturn(List.of(10));
+        when(employeeRepository.deleteAllByCompanyIds(List.of(2, 3))).thenReturn(1);
+        when(repository.deleteAllByIds(List.of(2, 3))).thenReturn(1);
+
+        CompanyBulkResultDTO result = service.deleteCompanies(List.of(2, 3, 2));
+
+        assertEquals(1, result.getCompanies());
+        assertEquals(1, result.getEmployees());
+        assertEquals(0, entityCache.employees().stats().getSize());
+        assertThrows(BadRequestException.class, () -> service.deleteCompanies(List.of()));
+    }
+
+    @Test
+    void testReassignEmployees() {
+        Company target = new Company();
+        target.setCompanyId(5);
+        when(repository.existsById(5)).thenReturn(true);
+        when(repository.findExistingIds(List.of(1, 2))).thenReturn(List.of(1));
+        when(repository.getReferenceById(5)).thenReturn(target);
+        when(employeeRepository.reassignCompany(List.of(1), target)).thenReturn(40);
+
+        CompanyBulkResultDTO result = service.reassignEmployees(List.of(1, 2), 5);
+
+        assertEquals(1, result.getCompanies());
+        assertEquals(40, result.getEmployees());
+        assertThrows(BadRequestException.class, () -> service.reassignEmployees(List.of(1, 5), 5));
+        assertThrows(BadRequestException.class, () -> service.reassignEmployees(List.of(1), null));
+        when(repository.existsById(6)).thenReturn(false);
+        assertThrows(CompanyNotAvailableException.class, () -> service.reassignEmployees(List.of(1), 6));
+    }
+
+    @Test
+    void testUpdateEmployeeStatus() {
+        when(repository.findExistingIds(List.of(1))).thenReturn(List.of(1));
+        when(employeeRepository.updateStatusByCompanyIds(List.of(1), Status.INACTIVE)).thenReturn(7);
+
+        assertEquals(7, service.updateEmployeeStatus(List.of(1), Status.INACTIVE).getEmployees());
+        assertThrows(BadRequestException.class, () -> service.updateEmployeeStatus(List.of(1), null));
+    }
 }
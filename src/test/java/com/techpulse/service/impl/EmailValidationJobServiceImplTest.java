@@ -0,0 +1,157 @@
+package com.techpulse.service.impl;
+
+import com.techpulse.dto.EmailValidationJobDTO;
+import com.techpulse.dto.EmailValidationJobDTO.JobState;
+import com.techpulse.dto.EmailValidationResponse;
+import com.techpulse.exception.JobNotFoundException;
+import com.techpulse.exception.TooManyJobsException;
+import com.techpulse.service.IEmailValidationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class EmailValidationJobServiceImplTest {
+
+    @Mock
+    private IEmailValidationService emailValidationService;
+
+    @InjectMocks
+    private EmailValidationJobServiceImpl service;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(service, "maxJobs", 2);
+        ReflectionTestUtils.setField(service, "retentionMinutes", 30L);
+        ReflectionTestUtils.setField(service, "retryAfterSeconds", 15L);
+        ReflectionTestUtils.setField(service, "maxPendingMinutes", 10L);
+        ReflectionTestUtils.setField(service, "purgeIntervalMillis", 0L);
+    }
+
+    private static EmailValidationResponse accepted(String email) {
+        EmailValidationResponse response = new EmailValidationResponse();
+        response.setEmail(email);
+        response.setValid(true);
+        return response;
+    }
+
+    @Test
+    void testJobIsPendingUntilValidationCompletes() throws Exception {
+        CompletableFuture<EmailValidationResponse> validation = new CompletableFuture<>();
+        when(emailValidationService.validateEmailAsync("john@gmail.com")).thenReturn(validation);
+
+        EmailValidationJobDTO submitted = service.submit("john@gmail.com");
+
+        assertEquals(JobState.PENDING, submitted.getState());
+        assertFalse(service.whenFinished(submitted.getJobId()).isDone());
+
+        validation.complete(accepted("john@gmail.com"));
+
+        EmailValidationJobDTO finished = service.whenFinished(submitted.getJobId()).get(1, TimeUnit.SECONDS);
+        assertEquals(JobState.DONE, finished.getState());
+        assertTrue(finished.getResult().isValid());
+        assertNotNull(finished.getCompletedAt());
+        assertEquals(JobState.DONE, service.getJob(submitted.getJobId()).getState());
+        // the snapshot handed out at submit time is a copy
+        assertEquals(JobState.PENDING, submitted.getState());
+    }
+
+    @Test
+    void testFailedValidationFailsJob() throws Exception {
+        when(emailValidationService.validateEmailAsync(anyString()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("executor shut down")));
+
+        EmailValidationJobDTO submitted = service.submit("john@gmail.com");
+
+        EmailValidationJobDTO finished = service.whenFinished(submitted.getJobId()).get(1, TimeUnit.SECONDS);
+        assertEquals(JobState.FAILED, finished.getState());
+        assertEquals("executor shut down", finished.getError());
+        assertNull(finished.getResult());
+    }
+
+    @Test
+    void testFullJobTableIsRejectedWithRetryAfter() {
+        when(emailValidationService.validateEmailAsync(anyString())).thenReturn(new CompletableFuture<>());
+        service.submit("a@gmail.com");
+        service.submit("b@gmail.com");
+
+        TooManyJobsException ex = assertThrows(TooManyJobsException.class, () -> service.submit("c@gmail.com"));
+
+        assertEquals(15, ex.getRetryAfterSeconds());
+    }
+
+    @Test
+    void testExpiredJobsFreeTheirSlot() throws Exception {
+        when(emailValidationService.validateEmailAsync(anyString()))
+                .thenAnswer(inv -> CompletableFuture.completedFuture(accepted(inv.getArgument(0))));
+        ReflectionTestUtils.setField(service, "retentionMinutes", 0L);
+        EmailValidationJobDTO first = service.submit("a@gmail.com");
+        service.submit("b@gmail.com");
+        Thread.sleep(5);
+
+        EmailValidationJobDTO third = service.submit("c@gmail.com");
+
+        assertEquals(JobState.DONE, service.getJob(third.getJobId()).getState());
+        assertThrows(JobNotFoundException.class, () -> service.getJob(first.getJobId()));
+    }
+
+    @Test
+    void testRejectedSubmissionFailsJob() throws Exception {
+        when(emailValidationService.validateEmailAsync(anyString()))
+                .thenThrow(new RejectedExecutionException("executor shut down"));
+
+        EmailValidationJobDTO submitted = service.submit("john@gmail.com");
+
+        assertEquals(JobState.FAILED, submitted.getState());
+        assertEquals("executor shut down", submitted.getError());
+        assertTrue(service.whenFinished(submitted.getJobId()).isDone());
+    }
+
+    @Test
+    void testStuckPendingJobIsFailedOnRead() throws Exception {
+        CompletableFuture<EmailValidationResponse> neverRuns = new CompletableFuture<>();
+        when(emailValidationService.validateEmailAsync(anyString())).thenReturn(neverRuns);
+        EmailValidationJobDTO submitted = service.submit("john@gmail.com");
+
+        ReflectionTestUtils.setField(service, "maxPendingMinutes", 0L);
+        Thread.sleep(5);
+
+        EmailValidationJobDTO job = service.getJob(submitted.getJobId());
+        assertEquals(JobState.FAILED, job.getState());
+        assertTrue(job.getError().contains("did not finish"), job.getError());
+        assertEquals(JobState.FAILED, service.whenFinished(submitted.getJobId()).get(1, TimeUnit.SECONDS).getState());
+
+        // a result arriving afterwards does not overwrite the failure
+        neverRuns.complete(accepted("john@gmail.com"));
+        assertEquals(JobState.FAILED, service.getJob(submitted.getJobId()).getState());
+    }
+
+    @Test
+    void testExpiredJobsArePurgedOnRead() throws Exception {
+        when(emailValidationService.validateEmailAsync(anyString()))
+                .thenAnswer(inv -> CompletableFuture.completedFuture(accepted(inv.getArgument(0))));
+        EmailValidationJobDTO done = service.submit("a@gmail.com");
+
+        ReflectionTestUtils.setField(service, "retentionMinutes", 0L);
+        Thread.sleep(5);
+
+        assertThrows(JobNotFoundException.class, () -> service.getJob(done.getJobId()));
+    }
+
+    @Test
+    void testUnknownJob() {
+        assertThrows(JobNotFoundException.class, () -> service.getJob("missing"));
+        assertThrows(JobNotFoundException.class, () -> service.whenFinished("missing"));
+    }
+}
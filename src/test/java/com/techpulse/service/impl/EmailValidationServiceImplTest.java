@@ -0,0 +1,138 @@
+package com.techpulse.service.impl;
+
+import com.techpulse.dto.EmailValidationResponse;
+import com.techpulse.util.DnsResolver;
+import com.techpulse.util.MxHostHealth;
+import com.techpulse.util.ValidationMetrics;
+import com.techpulse.util.ValidationResultCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.naming.NameNotFoundException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class EmailValidationServiceImplTest {
+
+    private static final int PER_DOMAIN_CONCURRENCY = 2;
+
+    @Mock
+    private DnsResolver dnsResolver;
+
+    @Mock
+    private MxHostHealth mxHostHealth;
+
+    @Mock
+    private ValidationMetrics metrics;
+
+    @Spy
+    private ValidationResultCache resultCache = new ValidationResultCache(1000, 10, 10, 10, 10, 10);
+
+    @InjectMocks
+    private EmailValidationServiceImpl service;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    // lookups running right now, per domain and overall, and the highest seen
+    private final Map<String, AtomicInteger> activeByDomain = new ConcurrentHashMap<>();
+    private final Map<String, Integer> peakByDomain = new ConcurrentHashMap<>();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger peak = new AtomicInteger();
+    private final AtomicInteger lookups = new AtomicInteger();
+
+    @BeforeEach
+    void setup() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(service, "emailValidationExecutor", executor);
+        ReflectionTestUtils.setField(service, "perDomainConcurrency", PER_DOMAIN_CONCURRENCY);
+        ReflectionTestUtils.setField(service, "smtpSessionSize", 3);
+
+        // every domain is NXDOMAIN after a short wait, so no SMTP is attempted
+        when(dnsResolver.lookupMx(anyString())).thenAnswer(invocation -> {
+            String domain = invocation.getArgument(0);
+            int nowForDomain = activeByDomain.computeIfAbsent(domain, d -> new AtomicInteger()).incrementAndGet();
+            peakByDomain.merge(domain, nowForDomain, Math::max);
+            peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+            lookups.incrementAndGet();
+            try {
+                Thread.sleep(20);
+            } finally {
+                activeByDomain.get(domain).decrementAndGet();
+                active.decrementAndGet();
+            }
+            throw new NameNotFoundException("no such domain: " + domain);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static List<String> addresses(int perDomain, String... domains) {
+        List<String> emails = new ArrayList<>();
+        for (int i = 0; i < perDomain; i++) {
+            for (String domain : domains) {
+                emails.add("user" + i + "@" + domain);
+            }
+        }
+        return emails;
+    }
+
+    @Test
+    void testBatchCapsConcurrencyPerDomain() throws Exception {
+        List<String> emails = addresses(10, "alpha.com", "beta.org", "gamma.net");
+        ConcurrentLinkedQueue<EmailValidationResponse> results = new ConcurrentLinkedQueue<>();
+
+        service.validateBatch(emails, results::add).get(10, TimeUnit.SECONDS);
+
+        assertEquals(emails.size(), results.size());
+        assertEquals(emails.size(), results.stream().map(EmailValidationResponse::getEmail).distinct().count());
+        results.forEach(r -> assertEquals(-2, r.getSmtpCode()));
+        peakByDomain.values().forEach(p -> assertTrue(p <= PER_DOMAIN_CONCURRENCY, "per-domain peak " + p));
+        // the domains themselves are worked on side by side
+        assertTrue(peak.get() > PER_DOMAIN_CONCURRENCY, "overall peak " + peak.get());
+    }
+
+    @Test
+    void testSmallDomainGetsOneWorker() throws Exception {
+        ConcurrentLinkedQueue<EmailValidationResponse> results = new ConcurrentLinkedQueue<>();
+
+        service.validateBatch(List.of("solo@delta.io"), results::add).get(10, TimeUnit.SECONDS);
+
+        assertEquals(1, results.size());
+        assertEquals(1, lookups.get());
+    }
+
+    @Test
+    void testFailingListenerStopsRemainingWork() {
+        List<String> emails = addresses(30, "alpha.com");
+
+        ExecutionException failure = assertThrows(ExecutionException.class,
+                () -> service.validateBatch(emails, r -> {
+                    throw new IllegalStateException("client went away");
+                }).get(10, TimeUnit.SECONDS));
+
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+        // each worker finishes the chunk it had taken, then stops
+        assertTrue(lookups.get() < emails.size(), lookups.get() + " lookups");
+    }
+}
@@ -0,0 +1,403 @@
+package com.techpulse.service.impl;
+
+import com.techpulse.dto.CompanyResponseDTO;
+import com.techpulse.dto.CursorPageDTO;
+import com.techpulse.dto.EmailValidationResponse;
+import com.techpulse.dto.EmployeeBulkUpdateRequestDTO;
+import com.techpulse.dto.EmployeeBulkUpdateResultDTO;
+import com.techpulse.dto.EmployeeRequestDTO;
+import com.techpulse.dto.EmployeeResponseDTO;
+import com.techpulse.entity.Company;
+import com.techpulse.entity.Employee;
+import com.techpulse.entity.enums.Status;
+import com.techpulse.exception.BadRequestException;
+import com.techpulse.exception.PreconditionFailedException;
+import com.techpulse.repository.ICompanyRepository;
+import com.techpulse.repository.IEmployeeRepository;
+import com.techpulse.service.ICompanyService;
+import com.techpulse.service.IEmailValidationService;
+import com.techpulse.service.IEmployeeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Listing employees must not issue one extra SELECT per row for the lazy company.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false",
+        "employee.bulk-update.chunk-size=16"
+})
+class EmployeeQueryCountTest {
+
+    private static final int COMPANIES = 6;
+    private static final int EMPLOYEES = 40;
+
+    @Autowired
+    private IEmployeeService service;
+
+    @Autowired
+    private ICompanyService companyService;
+
+    @Autowired
+    private IEmployeeRepository employeeRepository;
+
+    @Autowired
+    private ICompanyRepository companyRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockitoBean
+    private IEmailValidationService emailValidationService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        List<Company> companies = new ArrayList<>();
+        for (int c = 0; c < COMPANIES; c++) {
+            Company company = new Company();
+            company.setCompanyName("Company" + c);
+            company.setNoOfEmployees(10);
+            companies.add(companyRepository.save(company));
+        }
+
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < EMPLOYEES; i++) {
+            Employee employee = new Employee();
+            employee.setEmpName("Emp" + i);
+            employee.setSalary(1000 + i);
+            employee.setEmail("qc" + i + "@example.org");
+            employee.setDept("IT");
+            employee.setCity("Pune");
+            employee.setStatus(Status.ACTIVE);
+            // spread across companies so every row points at a different proxy
+            employee.setCompany(companies.get(i % COMPANIES));
+            employees.add(employee);
+        }
+        employeeRepository.saveAll(employees);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeRepository.deleteAllInBatch();
+        companyRepository.deleteAllInBatch();
+    }
+
+    private long statementsFor(Runnable call) {
+        statistics.clear();
+        call.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    void testPageQueryCountIndependentOfPageSize() {
+        long small = statementsFor(() -> assertCompaniesLoaded(service.getEmployees(0, 5)));
+        long large = statementsFor(() -> assertCompaniesLoaded(service.getEmployees(0, 20)));
+
+        // one SELECT for the rows (company joined) plus one COUNT
+        assertEquals(2, small);
+        assertEquals(small, large);
+    }
+
+    @Test
+    void testFilterQueryCountIndependentOfPageSize() {
+        long small = statementsFor(() -> assertCompaniesLoaded(service.filterEmployees(null, "IT", null, null, Status.ACTIVE, 0, 5)));
+        long large = statementsFor(() -> assertCompaniesLoaded(service.filterEmployees(null, "IT", null, null, Status.ACTIVE, 0, 20)));
+
+        assertEquals(2, small);
+        assertEquals(small, large);
+    }
+
+    @Test
+    void testFullListIsOneStatement() {
+        long statements = statementsFor(() -> {
+            List<EmployeeResponseDTO> all = service.getEmployees();
+            assertEquals(EMPLOYEES, all.size());
+            all.forEach(dto -> assertNotNull(dto.getCompany().getCompanyName()));
+        });
+
+        assertEquals(1, statements);
+    }
+
+    @Test
+    void testSecondCharacterLookupUsesStoredColumn() {
+        // every seeded name is "Emp<i>", so 'm' and 'M' match all of them
+        assertEquals(EMPLOYEES, service.findEmployeeBySecondCharacter("M").size());
+        assertEquals(EMPLOYEES, service.findEmployeeBySecondCharacter("m").size());
+        assertTrue(service.findEmployeeBySecondCharacter("x").isEmpty());
+    }
+
+    @Test
+    void testQuickSearchLoadsOnlyThePage() {
+        // rows were saved through the repository, bypassing the service's index updates
+        assertEquals(EMPLOYEES, service.rebuildSearchIndex());
+
+        long statements = statementsFor(() -> {
+            Page<EmployeeResponseDTO> page = service.searchEmployees("emp1", "empName", "prefix", 0, 5);
+            // Emp1 and Emp10..Emp19
+            assertEquals(11, page.getTotalElements());
+            assertEquals("Emp1", page.getContent().get(0).getEmpName());
+            assertCompaniesLoaded(page);
+        });
+
+        assertEquals(1, statements);
+    }
+
+    @Test
+    void testCompanyPageCostIndependentOfEmployees() {
+        long small = statementsFor(() -> assertEquals(2, companyService.getCompanies(0, 2).getContent().size()));
+        long large = statementsFor(() -> {
+            Page<CompanyResponseDTO> page = companyService.getCompanies(0, 4);
+            // 40 employees spread round-robin over 6 companies
+            assertEquals(List.of(7L, 7L, 7L, 7L),
+                    page.getContent().stream().map(CompanyResponseDTO::getEmployeeCount).toList());
+        });
+        assertEquals(List.of(6L, 6L), companyService.getCompanies(1, 4).getContent().stream()
+                .map(CompanyResponseDTO::getEmployeeCount).toList());
+
+        // page SELECT, COUNT, one GROUP BY for the employee counts
+        assertEquals(3, small);
+        assertEquals(small, large);
+    }
+
+    @Test
+    void testCompanyEmployeesKeysetPages() {
+        Integer companyId = companyService.getCompanies(0, 1).getContent().get(0).getCompanyId();
+        List<Integer> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageDTO<EmployeeResponseDTO> page = companyService.getCompanyEmployees(companyId, cursor, 3);
+            page.getContent().forEach(dto -> ids.add(dto.getEmpId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(7, ids.size());
+        List<Integer> sorted = new ArrayList<>(ids);
+        sorted.sort(Comparator.naturalOrder());
+        assertEquals(sorted, ids);
+    }
+
+    @Test
+    void testBulkCompanyOperationsAreSetBased() {
+        List<Integer> ids = companyService.getCompanies(0, COMPANIES).map(CompanyResponseDTO::getCompanyId).getContent();
+
+        long status = statementsFor(() -> assertEquals(14,
+                companyService.updateEmployeeStatus(ids.subList(0, 2), Status.INACTIVE).getEmployees()));
+        long reassign = statementsFor(() -> assertEquals(14,
+                companyService.reassignEmployees(ids.subList(0, 2), ids.get(5)).getEmployees()));
+        // 6 + 6 of their own plus the 14 just moved in
+        long delete = statementsFor(() -> assertEquals(26,
+                companyService.deleteCompanies(ids.subList(4, 6)).getEmployees()));
+
+        // existence checks plus one DML per table, however many employees are touched
+        assertEquals(2, status);
+        assertEquals(3, reassign);
+        assertEquals(3, delete);
+        assertEquals(EMPLOYEES - 26, employeeRepository.count());
+        assertEquals(COMPANIES - 2, companyRepository.count());
+        assertEquals(0, companyService.getCompanies(0, COMPANIES).getContent().stream()
+                .filter(c -> c.getCompanyId().equals(ids.get(0))).findFirst().orElseThrow().getEmployeeCount());
+    }
+
+    @Test
+    void testBulkUpdateByFilterIsChunked() {
+        service.rebuildSearchIndex();
+        EmployeeBulkUpdateRequestDTO request = new EmployeeBulkUpdateRequestDTO();
+        request.setFilter(new EmployeeBulkUpdateRequestDTO.Filter());
+        request.getFilter().setDept("IT");
+        request.setPatch(new EmployeeBulkUpdateRequestDTO.Patch());
+        request.getPatch().setDept("Ops");
+        request.getPatch().setStatus(Status.INACTIVE);
+
+        double rowsBefore = meterRegistry.counter("employee.bulk_update.rows").count();
+        EmployeeBulkUpdateResultDTO[] result = new EmployeeBulkUpdateResultDTO[1];
+        long statements = statementsFor(() -> result[0] = service.bulkUpdateEmployees(request));
+
+        assertEquals(new EmployeeBulkUpdateResultDTO(EMPLOYEES, EMPLOYEES, 3), result[0]);
+        // per chunk one keyset SELECT of up to 16 ids and one UPDATE, each chunk committed on its own
+        assertEquals(6, statements);
+        assertEquals(3, statistics.getTransactionCount());
+        assertEquals(EMPLOYEES, meterRegistry.counter("employee.bulk_update.rows").count() - rowsBefore);
+        assertEquals(EMPLOYEES, service.filterEmployees(null, "Ops", null, null, Status.INACTIVE, 0, 50).getTotalElements());
+        assertEquals(EMPLOYEES, service.searchEmployees("ops", "dept", "prefix", 0, 5).getTotalElements());
+    }
+
+    @Test
+    void testUpdateWritesOnlyWhenSomethingChanged() {
+        Employee stored = employeeRepository.findAll().get(0);
+        EmployeeRequestDTO request = new EmployeeRequestDTO();
+        request.setEmpName(stored.getEmpName());
+        request.setSalary(stored.getSalary() + 1);
+        request.setEmail(stored.getEmail());
+        request.setDept(stored.getDept());
+        request.setCity(stored.getCity());
+        request.setStatus(stored.getStatus());
+        request.setCompanyId(stored.getCompany().getCompanyId());
+
+        // employee and company in one SELECT, then the merge's SELECT and the UPDATE in the
+        // write transaction; no email check, no company lookup
+        assertEquals(3, statementsFor(() -> service.updateEmployee(stored.getEmpId(), request, null)));
+        assertEquals(1, statementsFor(() -> service.updateEmployee(stored.getEmpId(), request, null)));
+        assertEquals(stored.getSalary() + 1, employeeRepository.findById(stored.getEmpId()).orElseThrow().getSalary());
+    }
+
+    @Test
+    void testConcurrentUpdateOfStaleCopyConflicts() {
+        // detached copy read before someone else's update
+        Employee stale = employeeRepository.findById(employeeRepository.findAll().get(0).getEmpId()).orElseThrow();
+        EmployeeRequestDTO request = new EmployeeRequestDTO();
+        request.setEmpName("Renamed");
+        request.setSalary(stale.getSalary());
+        request.setEmail(stale.getEmail());
+        request.setDept(stale.getDept());
+        request.setCity(stale.getCity());
+        request.setStatus(stale.getStatus());
+        request.setCompanyId(employeeRepository.findWithCompanyByEmpId(stale.getEmpId()).orElseThrow().getCompany().getCompanyId());
+
+        assertEquals(stale.getVersion() + 1, service.updateEmployee(stale.getEmpId(), request, stale.getVersion()).getVersion());
+        assertThrows(PreconditionFailedException.class, () -> service.updateEmployee(stale.getEmpId(), request, stale.getVersion()));
+
+        stale.setCity("Delhi");
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> employeeRepository.save(stale));
+        assertEquals("Pune", employeeRepository.findById(stale.getEmpId()).orElseThrow().getCity());
+    }
+
+    @Test
+    void testEmailIsValidatedOutsideTransactionAndRaceIsCaught() throws Exception {
+        Employee stored = employeeRepository.findWithCompanyByEmpId(employeeRepository.findAll().get(0).getEmpId()).orElseThrow();
+        EmployeeRequestDTO request = new EmployeeRequestDTO();
+        request.setEmpName(stored.getEmpName());
+        request.setSalary(stored.getSalary());
+        request.setEmail("moved." + stored.getEmail());
+        request.setDept(stored.getDept());
+        request.setCity(stored.getCity());
+        request.setStatus(stored.getStatus());
+        request.setCompanyId(stored.getCompany().getCompanyId());
+
+        when(emailValidationService.validateEmail(request.getEmail())).thenAnswer(invocation -> {
+            // no connection or transaction is held while DNS/SMTP run
+            assertFalse(TransactionSynchronizationManager.isActualTransactionActive());
+            // someone else updates the row meanwhile
+            Employee concurrent = employeeRepository.findById(stored.getEmpId()).orElseThrow();
+            concurrent.setCity("Delhi");
+            employeeRepository.save(concurrent);
+            EmailValidationResponse valid = new EmailValidationResponse();
+            valid.setValid(true);
+            return valid;
+        });
+
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> service.updateEmployee(stored.getEmpId(), request, stored.getVersion()));
+
+        Employee after = employeeRepository.findById(stored.getEmpId()).orElseThrow();
+        assertEquals("Delhi", after.getCity());
+        assertEquals(stored.getEmail(), after.getEmail());
+    }
+
+    @Test
+    void testSetBasedUpdatesBumpVersions() {
+        List<Integer> ids = companyService.getCompanies(0, COMPANIES).map(CompanyResponseDTO::getCompanyId).getContent();
+        companyService.updateEmployeeStatus(ids.subList(0, 1), Status.INACTIVE);
+
+        EmployeeBulkUpdateRequestDTO request = new EmployeeBulkUpdateRequestDTO();
+        request.setFilter(new EmployeeBulkUpdateRequestDTO.Filter());
+        request.getFilter().setStatus(Status.INACTIVE);
+        request.setPatch(new EmployeeBulkUpdateRequestDTO.Patch());
+        request.getPatch().setCity("Delhi");
+        service.bulkUpdateEmployees(request);
+
+        // the company's 7 employees went through both statements, the rest through neither
+        assertEquals(List.of(0L, 2L), employeeRepository.findAll().stream()
+                .map(Employee::getVersion).distinct().sorted().toList());
+        assertEquals(7, employeeRepository.findAll().stream().filter(e -> e.getVersion() == 2L).count());
+    }
+
+    @Test
+    void testScrollVisitsEveryRowOnceInOrder() {
+        List<String> names = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPageDTO<EmployeeResponseDTO> page = service.scrollEmployees(null, null, "qc%", null, null,
+                    cursor, 7, "empName", "desc", false);
+            page.getContent().forEach(dto -> names.add(dto.getEmpName()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(EMPLOYEES, names.size());
+        assertEquals(EMPLOYEES, new HashSet<>(names).size());
+        List<String> sorted = new ArrayList<>(names);
+        sorted.sort(Comparator.reverseOrder());
+        assertEquals(sorted, names);
+        assertEquals(6, pages);
+    }
+
+    @Test
+    void testScrollDeepPageCostsSameAsFirst() {
+        CursorPageDTO<EmployeeResponseDTO> first = service.scrollEmployees(null, null, null, null, null, null, 5, null, null, false);
+        String cursor = first.getNextCursor();
+        for (int i = 0; i < 5; i++) {
+            cursor = service.scrollEmployees(null, null, null, null, null, cursor, 5, null, null, false).getNextCursor();
+        }
+        String deepCursor = cursor;
+
+        long firstPage = statementsFor(() -> assertScrollCompaniesLoaded(
+                service.scrollEmployees(null, null, null, null, null, null, 5, null, null, false)));
+        long deepPage = statementsFor(() -> assertScrollCompaniesLoaded(
+                service.scrollEmployees(null, null, null, null, null, deepCursor, 20, null, null, false)));
+
+        // no COUNT, company joined: a single SELECT either way
+        assertEquals(1, firstPage);
+        assertEquals(firstPage, deepPage);
+        assertNull(first.getTotal());
+        assertEquals(EMPLOYEES, service.scrollEmployees(null, null, "qc%", null, null, null, 5, null, null, true).getTotal());
+    }
+
+    @Test
+    void testScrollRejectsCursorForOtherSort() {
+        String cursor = service.scrollEmployees(null, null, null, null, null, null, 5, "salary", "asc", false).getNextCursor();
+
+        assertThrows(BadRequestException.class,
+                () -> service.scrollEmployees(null, null, null, null, null, cursor, 5, "empName", "asc", false));
+        assertThrows(BadRequestException.class,
+                () -> service.scrollEmployees(null, null, null, null, null, "garbage", 5, "salary", "asc", false));
+    }
+
+    private static void assertScrollCompaniesLoaded(CursorPageDTO<EmployeeResponseDTO> page) {
+        assertFalse(page.getContent().isEmpty());
+        page.getContent().forEach(dto -> assertNotNull(dto.getCompany().getCompanyName()));
+    }
+
+    private static void assertCompaniesLoaded(Page<EmployeeResponseDTO> page) {
+        assertFalse(page.getContent().isEmpty());
+        page.getContent().forEach(dto -> assertNotNull(dto.getCompany().getCompanyName()));
+    }
+}
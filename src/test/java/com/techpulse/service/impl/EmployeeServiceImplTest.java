@@ -1,23 +1,48 @@
 package com.techpulse.service.impl;
 
+import com.techpulse.dto.EmailValidationResponse;
+import com.techpulse.dto.EmployeeBulkUpdateRequestDTO;
+import com.techpulse.dto.EmployeeBulkUpdateResultDTO;
+import com.techpulse.dto.EmployeeExportFormat;
+import com.techpulse.dto.EmployeeImportReportDTO;
+import com.techpulse.dto.EmployeeImportRowDTO;
 import com.techpulse.dto.EmployeeRequestDTO;
 import com.techpulse.dto.EmployeeResponseDTO;
 import com.techpulse.entity.Company;
 import com.techpulse.entity.Employee;
 import com.techpulse.entity.enums.Status;
+import com.techpulse.exception.BadRequestException;
 import com.techpulse.exception.EmployeeNotFoundException;
+import com.techpulse.exception.PreconditionFailedException;
 import com.techpulse.mapper.CompanyMapper;
 import com.techpulse.mapper.EmployeeMapper;
 import com.techpulse.repository.ICompanyRepository;
 import com.techpulse.repository.IEmployeeRepository;
+import com.techpulse.service.IEmailValidationService;
+import com.techpulse.util.EmployeeSearchIndex;
+import com.techpulse.util.EntityResponseCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
 import org.springframework.data.domain.*;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.domain.UpdateSpecification;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
 
 import javax.naming.NamingException;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -36,12 +61,85 @@ class EmployeeServiceImplTest {
     @Mock
     private CompanyMapper companyMapper;
 
+    @Mock
+    private IEmailValidationService emailValidationService;
+
+    @Mock
+    private EmployeeBatchWriter batchWriter;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private EmployeeSearchIndex searchIndex = new EmployeeSearchIndex();
+
+    @Spy
+    private EntityResponseCache entityCache = new EntityResponseCache(new SimpleMeterRegistry(), 100, 300, 100, 300);
+
     @InjectMocks
     private EmployeeServiceImpl service;
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @BeforeEach
     void setup() {
         MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(service, "validator", Validation.buildDefaultValidatorFactory().getValidator());
+        ReflectionTestUtils.setField(service, "importBatchSize", 2);
+        ReflectionTestUtils.setField(service, "importMaxRows", 100);
+        ReflectionTestUtils.setField(service, "emailValidationTimeoutMs", 5000L);
+        ReflectionTestUtils.setField(service, "exportFlushEvery", 2);
+        ReflectionTestUtils.setField(service, "objectMapper", JsonMapper.builder().build());
+        ReflectionTestUtils.setField(service, "bulkUpdateChunkSize", 2);
+        ReflectionTestUtils.setField(service, "meterRegistry", meterRegistry);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private static EmailValidationResponse validationResult(String email, boolean valid) {
+        EmailValidationResponse response = new EmailValidationResponse();
+        response.setEmail(email);
+        response.setValid(valid);
+        response.setSmtpCode(valid ? 250 : 550);
+        return response;
+    }
+
+    private static EmployeeRequestDTO employeeRequest(String name, String email, Integer companyId) {
+        EmployeeRequestDTO dto = new EmployeeRequestDTO();
+        dto.setEmpName(name);
+        dto.setSalary(1000);
+        dto.setEmail(email);
+        dto.setDept("IT");
+        dto.setCity("Pune");
+        dto.setStatus(Status.ACTIVE);
+        dto.setCompanyId(companyId);
+        return dto;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void validateBatchAnswers(Set<String> invalidEmails) {
+        when(emailValidationService.validateBatch(anyList(), any())).thenAnswer(invocation -> {
+            List<String> emails = invocation.getArgument(0);
+            Consumer<EmailValidationResponse> listener = invocation.getArgument(1);
+            for (String email : emails) {
+                listener.accept(validationResult(email, !invalidEmails.contains(email)));
+            }
+            return CompletableFuture.completedFuture(null);
+        });
+    }
+
+    private void assignIdsOnInsert() {
+        int[] nextId = {1};
+        doAnswer(invocation -> {
+            List<Employee> employees = invocation.getArgument(0);
+            for (Employee employee : employees) {
+                employee.setEmpId(nextId[0]++);
+            }
+            return null;
+        }).when(batchWriter).insert(anyList());
     }
 
 
@@ -57,7 +155,7 @@ class EmployeeServiceImplTest {
 
         Page<Employee> page = new PageImpl<>(List.of(employee));
 
-        when(repository.filterEmployees(any(), any(), any(), any(), any(), any()))
+        when(repository.findAll(any(Specification.class), any(Pageable.class)))
                 .thenReturn(page);
 
         when(employeeMapper.toDTO(employee)).thenReturn(dto);
@@ -68,6 +166,59 @@ class EmployeeServiceImplTest {
         assertEquals(1, result.getContent().size());
     }
 
+    @Test
+    void testFindEmployeeBySecondCharacterUsesPrecomputedColumn() {
+        Employee emp = new Employee();
+        emp.setEmpName("Asha");
+
+        when(repository.findByNameSecondChar("s")).thenReturn(List.of(emp));
+        when(employeeMapper.toDTO(emp)).thenReturn(new EmployeeResponseDTO());
+
+        assertEquals(1, service.findEmployeeBySecondCharacter("S").size());
+        verify(repository).findByNameSecondChar("s");
+    }
+
+    private static Employee indexedEmployee(int id, String name, String city) {
+        Employee employee = new Employee();
+        employee.setEmpId(id);
+        employee.setEmpName(name);
+        employee.setEmail(name.toLowerCase() + "@example.com");
+        employee.setDept("IT");
+        employee.setCity(city);
+        return employee;
+    }
+
+    @Test
+    void testSearchEmployeesLoadsOnlyTheRankedPage() {
+        Employee ravi = indexedEmployee(1, "Ravi", "Pune");
+        Employee arav = indexedEmployee(2, "Arav", "Mumbai");
+        Employee kiran = indexedEmployee(3, "Kiran", "Ravinagar");
+        searchIndex.replaceAll(List.of(ravi, arav, kiran));
+
+        when(repository.findAllWithCompanyByIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Integer> ids = invocation.getArgument(0);
+            return Stream.of(kiran, arav, ravi).filter(e -> ids.contains(e.getEmpId())).toList();
+        });
+        when(employeeMapper.toDTO(any(Employee.class))).thenAnswer(invocation -> {
+            EmployeeResponseDTO dto = new EmployeeResponseDTO();
+            dto.setEmpId(invocation.<Employee>getArgument(0).getEmpId());
+            return dto;
+        });
+
+        // name prefix, then a city word prefix, then the name substring
+        Page<EmployeeResponseDTO> first = service.searchEmployees("rav", null, null, 0, 2);
+        assertEquals(3, first.getTotalElements());
+        assertEquals(List.of(1, 3), first.getContent().stream().map(EmployeeResponseDTO::getEmpId).toList());
+        verify(repository).findAllWithCompanyByIdIn(List.of(1, 3));
+
+        Page<EmployeeResponseDTO> second = service.searchEmployees("rav", null, null, 1, 2);
+        assertEquals(List.of(2), second.getContent().stream().map(EmployeeResponseDTO::getEmpId).toList());
+
+        assertEquals(2, service.searchEmployees("rav", null, "prefix", 0, 5).getTotalElements());
+        assertEquals(1, service.searchEmployees("rav", "empName", "prefix", 0, 5).getTotalElements());
+        assertThrows(BadRequestException.class, () -> service.searchEmployees("rav", "salary", null, 0, 5));
+        assertThrows(BadRequestException.class, () -> service.searchEmployees(" ", null, null, 0, 5));
+    }
 
     @Test
     void testAddEmployee() throws NamingException {
@@ -87,6 +238,7 @@ class EmployeeServiceImplTest {
         EmployeeResponseDTO dto = new EmployeeResponseDTO();
         dto.setEmpId(101);
 
+        when(emailValidationService.validateEmail(any())).thenReturn(validationResult("john@gmail.com", true));
         when(companyRepository.findById(1)).thenReturn(Optional.of(company));
         when(employeeMapper.toEntity(request)).thenReturn(employee);
         when(repository.save(employee)).thenReturn(saved);
@@ -109,13 +261,13 @@ class EmployeeServiceImplTest {
         EmployeeResponseDTO dto = new EmployeeResponseDTO();
         dto.setEmpId(1);
 
-        when(repository.findAll()).thenReturn(List.of(emp));
+        when(repository.findAllWithCompany()).thenReturn(List.of(emp));
         when(employeeMapper.toDTO(emp)).thenReturn(dto);
 
         List<EmployeeResponseDTO> result = service.getEmployees();
 
         assertEquals(1, result.size());
-        verify(repository).findAll();
+        verify(repository).findAllWithCompany();
     }
 
 
@@ -155,6 +307,36 @@ class EmployeeServiceImplTest {
         assertEquals(1, result.getEmpId());
     }
 
+    @Test
+    void testGetEmployeeByIdIsCachedUntilUpdated() throws Exception {
+        Company company = new Company();
+        company.setCompanyId(1);
+        Employee emp = new Employee();
+        emp.setEmpId(1);
+        emp.setCompany(company);
+
+        when(repository.findById(1)).thenReturn(Optional.of(emp));
+        when(repository.findWithCompanyByEmpId(1)).thenReturn(Optional.of(emp));
+        when(emailValidationService.validateEmail("after@example.com")).thenReturn(validationResult("after@example.com", true));
+        when(repository.saveAndFlush(emp)).thenReturn(emp);
+        when(employeeMapper.toDTO(emp)).thenAnswer(invocation -> {
+            EmployeeResponseDTO dto = new EmployeeResponseDTO();
+            dto.setEmpId(1);
+            dto.setEmpName(emp.getEmpName());
+            return dto;
+        });
+
+        emp.setEmpName("Before");
+        assertEquals("Before", service.getEmployees(1).getEmpName());
+        assertEquals("Before", service.getEmployees(1).getEmpName());
+        verify(repository, times(1)).findById(1);
+
+        service.updateEmployee(1, employeeRequest("After", "after@example.com", 1), null);
+
+        assertEquals("After", service.getEmployees(1).getEmpName());
+        assertEquals(1, entityCache.employees().stats().getHits());
+    }
+
     @Test
     void testGetEmployeeByIdNotFound() {
         when(repository.findById(5)).thenReturn(Optional.empty());
@@ -182,25 +364,85 @@ class EmployeeServiceImplTest {
         EmployeeResponseDTO dto = new EmployeeResponseDTO();
         dto.setEmpName("Updated");
 
-        when(repository.findById(1)).thenReturn(Optional.of(oldEmp));
+        when(repository.findWithCompanyByEmpId(1)).thenReturn(Optional.of(oldEmp));
         when(companyRepository.findById(1)).thenReturn(Optional.of(company));
-        when(repository.save(oldEmp)).thenReturn(updated);
+        when(repository.saveAndFlush(oldEmp)).thenReturn(updated);
         when(employeeMapper.toDTO(updated)).thenReturn(dto);
 
-        EmployeeResponseDTO result = service.updateEmployee(1, request);
+        EmployeeResponseDTO result = service.updateEmployee(1, request, null);
 
         assertEquals("Updated", result.getEmpName());
     }
 
+    @Test
+    void testUpdateEmployeeSkipsUnchangedEmailAndCompany() throws Exception {
+        Company company = new Company();
+        company.setCompanyId(1);
+        Employee emp = new Employee();
+        emp.setEmpId(1);
+        emp.setEmpName("Ravi");
+        emp.setEmail("ravi@example.com");
+        emp.setSalary(1000);
+        emp.setCompany(company);
+        EmployeeRequestDTO request = employeeRequest("Ravi", "ravi@example.com", 1);
+        request.setSalary(2000);
+
+        when(repository.findWithCompanyByEmpId(1)).thenReturn(Optional.of(emp));
+        when(repository.saveAndFlush(emp)).thenReturn(emp);
+        when(employeeMapper.toDTO(emp)).thenReturn(new EmployeeResponseDTO());
+
+        service.updateEmployee(1, request, null);
+        assertEquals(2000, emp.getSalary());
+        verify(repository).saveAndFlush(emp);
+
+        // same values again: nothing to write
+        service.updateEmployee(1, request, null);
+        verify(repository, times(1)).saveAndFlush(emp);
+
+        verifyNoInteractions(companyRepository, emailValidationService);
+    }
+
+    @Test
+    void testUpdateEmployeeRejectsStaleIfMatch() {
+        Employee emp = new Employee();
+        emp.setEmpId(1);
+        emp.setVersion(4L);
+        when(repository.findWithCompanyByEmpId(1)).thenReturn(Optional.of(emp));
+
+        assertThrows(PreconditionFailedException.class,
+                () -> service.updateEmployee(1, employeeRequest("Ravi", "ravi@example.com", 1), 3L));
+
+        assertNull(emp.getEmpName());
+        verify(repository, never()).saveAndFlush(any(Employee.class));
+    }
+
+    @Test
+    void testUpdateEmployeeValidatesChangedEmail() throws Exception {
+        Employee emp = new Employee();
+        emp.setEmpId(1);
+        emp.setEmail("old@example.com");
+        when(repository.findWithCompanyByEmpId(1)).thenReturn(Optional.of(emp));
+        when(emailValidationService.validateEmail("bad@example.com")).thenReturn(validationResult("bad@example.com", false));
+
+        assertThrows(BadRequestException.class,
+                () -> service.updateEmployee(1, employeeRequest("Ravi", "bad@example.com", null), null));
+
+        assertEquals("old@example.com", emp.getEmail());
+        verify(repository, never()).saveAndFlush(any(Employee.class));
+    }
+
 
 
     @Test
     void testDeleteEmployee() {
         when(repository.existsById(1)).thenReturn(true);
 
+        searchIndex.put(indexedEmployee(1, "Ravi", "Pune"));
+
         service.deleteEmployee(1);
 
         verify(repository).deleteById(1);
+        assertEquals(0, searchIndex.size());
     }
 
     @Test
@@ -210,4 +452,255 @@ class EmployeeServiceImplTest {
         assertThrows(EmployeeNotFoundException.class,
                 () -> service.deleteEmployee(99));
     }
+
+
+    @Test
+    void testImportEmployeesReportsEveryRow() {
+        Company company = new Company();
+        company.setCompanyId(1);
+
+        List<EmployeeRequestDTO> rows = new ArrayList<>();
+        rows.add(employeeRequest("Asha", "asha@gmail.com", 1));
+        rows.add(employeeRequest("Ravi", "ravi@gmail.com", 1));
+        rows.add(employeeRequest("Ravi2", "RAVI@gmail.com", 1));   // duplicate of row 2
+        rows.add(employeeRequest("Neha", "neha@gmail.com", 7));    // unknown company
+        rows.add(employeeRequest(null, "blank@gmail.com", 1));     // fails @NotBlank
+        rows.add(employeeRequest("Old", "old@gmail.com", 1));      // already stored
+        rows.add(employeeRequest("Bad", "bad@gmail.com", 1));      // rejected by SMTP
+        rows.add(employeeRequest("Kiran", "kiran@gmail.com", 1));
+
+        when(companyRepository.findAllById(any())).thenReturn(List.of(company));
+        when(repository.findExistingEmails(anyCollection())).thenReturn(List.of("old@gmail.com"));
+        when(employeeMapper.toEntity(any())).thenAnswer(invocation -> new Employee());
+        validateBatchAnswers(Set.of("bad@gmail.com"));
+        assignIdsOnInsert();
+
+        EmployeeImportReportDTO report = service.importEmployees(rows);
+
+        assertEquals(8, report.getTotal());
+        assertEquals(3, report.getCreated());
+        assertEquals(5, report.getRejected());
+        assertEquals(0, report.getFailed());
+
+        List<EmployeeImportRowDTO> rowReports = report.getRows();
+        assertEquals(EmployeeImportRowDTO.RowStatus.CREATED, rowReports.get(0).getStatus());
+        assertNotNull(rowReports.get(0).getEmpId());
+        assertEquals("Duplicate email, same as row 2", rowReports.get(2).getMessage());
+        assertEquals("Company not found :: 7", rowReports.get(3).getMessage());
+        assertTrue(rowReports.get(4).getMessage().startsWith("empName"));
+        assertEquals("Email already exists", rowReports.get(5).getMessage());
+        assertTrue(rowReports.get(6).getMessage().startsWith("Invalid email address"));
+        assertEquals(EmployeeImportRowDTO.RowStatus.CREATED, rowReports.get(7).getStatus());
+
+        // one query for all companies, 3 accepted rows in batches of 2
+        verify(companyRepository, times(1)).findAllById(any());
+        verify(companyRepository, never()).findById(any());
+        verify(batchWriter, times(2)).insert(anyList());
+    }
+
+    @Test
+    void testImportEmployeesRetriesFailedBatchRowByRow() {
+        Company company = new Company();
+        company.setCompanyId(1);
+
+        List<EmployeeRequestDTO> rows = List.of(
+                employeeRequest("Asha", "asha@gmail.com", 1),
+                employeeRequest("Ravi", "ravi@gmail.com", 1));
+
+        when(companyRepository.findAllById(any())).thenReturn(List.of(company));
+        when(repository.findExistingEmails(anyCollection())).thenReturn(List.of());
+        when(employeeMapper.toEntity(any())).thenAnswer(invocation -> {
+            Employee employee = new Employee();
+            employee.setEmail(((EmployeeRequestDTO) invocation.getArgument(0)).getEmail());
+            return employee;
+        });
+        validateBatchAnswers(Set.of());
+        doAnswer(invocation -> {
+            List<Employee> employees = invocation.getArgument(0);
+            for (Employee employee : employees) {
+                if (employee.getEmail().startsWith("ravi")) throw new RuntimeException("unique constraint violated");
+                employee.setEmpId(10);
+            }
+            return null;
+        }).when(batchWriter).insert(anyList());
+
+        EmployeeImportReportDTO report = service.importEmployees(rows);
+
+        assertEquals(1, report.getCreated());
+        assertEquals(1, report.getFailed());
+        assertEquals(10, report.getRows().get(0).getEmpId());
+        assertEquals("unique constraint violated", report.getRows().get(1).getMessage());
+    }
+
+    @Test
+    void testImportEmployeesCsv() {
+        Company company = new Company();
+        company.setCompanyId(1);
+
+        String csv = "email,empName,salary,dept,city,status,companyId\n"
+                + "asha@gmail.com,Asha,1000,IT,\"Pune, MH\",ACTIVE,1\n"
+                + "\n"
+                + "ravi@gmail.com,Ravi,lots,IT,Pune,ACTIVE,1\n";
+
+        when(companyRepository.findAllById(any())).thenReturn(List.of(company));
+        when(repository.findExistingEmails(anyCollection())).thenReturn(List.of());
+        when(employeeMapper.toEntity(any())).thenAnswer(invocation -> {
+            EmployeeRequestDTO dto = invocation.getArgument(0);
+            Employee employee = new Employee();
+            employee.setCity(dto.getCity());
+            return employee;
+        });
+        validateBatchAnswers(Set.of());
+        assignIdsOnInsert();
+
+        EmployeeImportReportDTO report = service.importEmployeesCsv(csv);
+
+        assertEquals(2, report.getTotal());
+        assertEquals(1, report.getCreated());
+        assertEquals("salary: not a number 'lots'", report.getRows().get(1).getMessage());
+    }
+
+    @Test
+    void testImportEmployeesCsvQuotedLineBreak() {
+        Company company = new Company();
+        company.setCompanyId(1);
+
+        String csv = "email,empName,salary,dept,city,status,companyId\r\n"
+                + "asha@gmail.com,Asha,1000,IT,\"Pune,\nMH\",ACTIVE,1\r\n"
+                + "ravi@gmail.com,Ravi,lots,IT,Pune,ACTIVE,1\r\n";
+
+        when(companyRepository.findAllById(any())).thenReturn(List.of(company));
+        when(repository.findExistingEmails(anyCollection())).thenReturn(List.of());
+        when(employeeMapper.toEntity(any())).thenAnswer(invocation -> {
+            EmployeeRequestDTO dto = invocation.getArgument(0);
+            Employee employee = new Employee();
+            employee.setCity(dto.getCity());
+            return employee;
+        });
+        validateBatchAnswers(Set.of());
+        assignIdsOnInsert();
+
+        EmployeeImportReportDTO report = service.importEmployeesCsv(csv);
+
+        // two records, the line break belongs to Asha's city
+        assertEquals(2, report.getTotal());
+        assertEquals(1, report.getCreated());
+        assertEquals("salary: not a number 'lots'", report.getRows().get(1).getMessage());
+        verify(employeeMapper).toEntity(argThat(dto -> "Pune,\nMH".equals(dto.getCity())));
+    }
+
+    @Test
+    void testImportEmployeesCsvMissingColumn() {
+        assertThrows(BadRequestException.class,
+                () -> service.importEmployeesCsv("email,empName\nasha@gmail.com,Asha\n"));
+    }
+
+    private static Employee exportedEmployee(int id, String name, String city) {
+        Company company = new Company();
+        company.setCompanyId(3);
+        company.setCompanyName("Acme, Inc");
+
+        Employee employee = new Employee();
+        employee.setEmpId(id);
+        employee.setEmpName(name);
+        employee.setSalary(1000);
+        employee.setEmail(name.toLowerCase() + "@gmail.com");
+        employee.setDept("IT");
+        employee.setCity(city);
+        employee.setStatus(Status.ACTIVE);
+        employee.setCompany(company);
+        return employee;
+    }
+
+    @Test
+    void testExportEmployeesCsv() throws Exception {
+        Stream<Employee> stream = Stream.of(exportedEmployee(1, "Asha", "Pune"), exportedEmployee(2, "Ravi", "Say \"Hi\""));
+        when(repository.streamAllWithCompany()).thenReturn(stream);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = service.exportEmployees(EmployeeExportFormat.CSV, out);
+
+        assertEquals(2, count);
+        assertEquals("empId,empName,salary,email,dept,city,status,companyId,companyName\n"
+                        + "1,Asha,1000,asha@gmail.com,IT,Pune,ACTIVE,3,\"Acme, Inc\"\n"
+                        + "2,Ravi,1000,ravi@gmail.com,IT,\"Say \"\"Hi\"\"\",ACTIVE,3,\"Acme, Inc\"\n",
+                out.toString(StandardCharsets.UTF_8));
+        verify(entityManager, times(2)).detach(any(Employee.class));
+        verify(repository, never()).findAll();
+    }
+
+    @Test
+    void testExportEmployeesNdjson() throws Exception {
+        Employee employee = exportedEmployee(1, "Asha", "Pune");
+        EmployeeResponseDTO dto = new EmployeeResponseDTO();
+        dto.setEmpId(1);
+        dto.setEmpName("Asha");
+        com.techpulse.dto.CompanyResponseDTO companyDto = new com.techpulse.dto.CompanyResponseDTO();
+        companyDto.setCompanyId(3);
+
+        when(repository.streamAllWithCompany()).thenReturn(Stream.of(employee, employee, employee));
+        when(employeeMapper.toDTO(employee)).thenReturn(dto);
+        when(companyMapper.toDTO(employee.getCompany())).thenReturn(companyDto);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.exportEmployees(EmployeeExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("{"));
+        assertTrue(lines[0].contains("\"empName\":\"Asha\""));
+        assertTrue(lines[0].contains("\"companyId\":3"));
+    }
+
+    @Test
+    void testBulkUpdateByIdsRunsInChunks() {
+        searchIndex.put(indexedEmployee(1, "Ravi", "Pune"));
+        searchIndex.put(indexedEmployee(2, "Asha", "Pune"));
+        when(repository.update(any(UpdateSpecification.class))).thenReturn(2L, 1L);
+        EmployeeBulkUpdateRequestDTO request = new EmployeeBulkUpdateRequestDTO();
+        request.setEmpIds(List.of(1, 2, 3, 2));
+        request.setPatch(new EmployeeBulkUpdateRequestDTO.Patch());
+        request.getPatch().setCity("Delhi");
+
+        EmployeeBulkUpdateResultDTO result = service.bulkUpdateEmployees(request);
+
+        // duplicate id dropped, chunks of two, each in its own transaction
+        assertEquals(3, result.getMatched());
+        assertEquals(3, result.getUpdated());
+        assertEquals(2, result.getChunks());
+        verify(repository, times(2)).update(any(UpdateSpecification.class));
+        verify(transactionTemplate, times(2)).execute(any());
+        assertEquals(3, meterRegistry.counter("employee.bulk_update.rows").count());
+        assertEquals(List.of(2, 1), searchIndex.search("delhi", EmployeeSearchIndex.Field.CITY, EmployeeSearchIndex.Match.PREFIX));
+    }
+
+    @Test
+    void testBulkUpdateNeedsOneSelectionAndAPatch() {
+        EmployeeBulkUpdateRequestDTO noPatch = new EmployeeBulkUpdateRequestDTO();
+        noPatch.setEmpIds(List.of(1));
+        noPatch.setPatch(new EmployeeBulkUpdateRequestDTO.Patch());
+        assertThrows(BadRequestException.class, () -> service.bulkUpdateEmployees(noPatch));
+
+        EmployeeBulkUpdateRequestDTO both = new EmployeeBulkUpdateRequestDTO();
+        both.setEmpIds(List.of(1));
+        both.setFilter(new EmployeeBulkUpdateRequestDTO.Filter());
+        both.getFilter().setDept("IT");
+        both.setPatch(new EmployeeBulkUpdateRequestDTO.Patch());
+        both.getPatch().setStatus(Status.INACTIVE);
+        assertThrows(BadRequestException.class, () -> service.bulkUpdateEmployees(both));
+
+        EmployeeBulkUpdateRequestDTO emptyFilter = new EmployeeBulkUpdateRequestDTO();
+        emptyFilter.setFilter(new EmployeeBulkUpdateRequestDTO.Filter());
+        emptyFilter.setPatch(both.getPatch());
+        assertThrows(BadRequestException.class, () -> service.bulkUpdateEmployees(emptyFilter));
+
+        verify(repository, never()).update(any(UpdateSpecification.class));
+    }
+
+    @Test
+    void testExportFormatParsing() {
+        assertEquals(EmployeeExportFormat.NDJSON, EmployeeExportFormat.from(null));
+        assertEquals(EmployeeExportFormat.CSV, EmployeeExportFormat.from("CSV"));
+        assertThrows(BadRequestException.class, () -> EmployeeExportFormat.from("xml"));
+    }
 }
@@ -0,0 +1,104 @@
+package com.techpulse.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedExecutorServiceTest {
+
+    private final ThreadPoolExecutor delegate = (ThreadPoolExecutor) Executors.newCachedThreadPool();
+    private final BoundedExecutorService executor = new BoundedExecutorService(delegate, 1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        delegate.shutdownNow();
+    }
+
+    // takes the only permit until the test releases it
+    private void occupyPermit() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+    }
+
+    private static String blockingCall() {
+        try {
+            Thread.sleep(10_000);
+            return "done";
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted", ie);
+        }
+    }
+
+    private void awaitWaiting(int tasks) throws Exception {
+        // the permit holder plus the waiting tasks each hold a delegate thread
+        for (int i = 0; i < 100 && delegate.getActiveCount() < tasks + 1; i++) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void testCapsConcurrency() throws Exception {
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[20];
+        for (int i = 0; i < futures.length; i++) {
+            futures[i] = CompletableFuture.runAsync(() -> {
+                peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    active.decrementAndGet();
+                }
+            }, executor);
+        }
+
+        CompletableFuture.allOf(futures).get(5, TimeUnit.SECONDS);
+        assertEquals(1, peak.get());
+    }
+
+    @Test
+    void testInterruptedWaitingTaskStillCompletesItsFuture() throws Exception {
+        occupyPermit();
+        CompletableFuture<String> waiting = CompletableFuture.supplyAsync(BoundedExecutorServiceTest::blockingCall, executor);
+        awaitWaiting(1);
+
+        executor.shutdownNow();
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> waiting.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+    }
+
+    @Test
+    void testInterruptedWaitingSubmitFails() throws Exception {
+        occupyPermit();
+        Future<String> waiting = executor.submit(BoundedExecutorServiceTest::blockingCall);
+        awaitWaiting(1);
+
+        executor.shutdownNow();
+
+        assertThrows(ExecutionException.class, () -> waiting.get(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,40 @@
+package com.techpulse.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvUtilsTest {
+
+    @Test
+    void testQuotedFieldWithCommaAndQuote() {
+        assertEquals(List.of("Asha", "Pune, MH", "say \"hi\""),
+                CsvUtils.parseLine("Asha,\"Pune, MH\",\"say \"\"hi\"\"\""));
+    }
+
+    @Test
+    void testQuotedFieldSpanningLines() {
+        List<List<String>> records = CsvUtils.parseRecords("name,city\r\n\"Smith,\nJr\",Pune\nRavi,\"Line 1\r\nLine 2\"\n");
+
+        assertEquals(List.of(
+                List.of("name", "city"),
+                List.of("Smith,\nJr", "Pune"),
+                List.of("Ravi", "Line 1\r\nLine 2")), records);
+    }
+
+    @Test
+    void testBlankLinesAreSkipped() {
+        List<List<String>> records = CsvUtils.parseRecords("a,b\n\n   \r\n1,2");
+
+        assertEquals(List.of(List.of("a", "b"), List.of("1", "2")), records);
+    }
+
+    @Test
+    void testEscapeRoundTrips() {
+        String value = "Smith, \"Jr\"\nSenior";
+
+        assertEquals(List.of(value, "x"), CsvUtils.parseRecords(CsvUtils.escape(value) + ",x\n").get(0));
+    }
+}
@@ -0,0 +1,123 @@
+package com.techpulse.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.naming.NameNotFoundException;
+import javax.naming.NamingException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DnsResolverTest {
+
+    private StubDnsServer dnsServer;
+    private MxRecordCache mxRecordCache;
+    private DnsResolver resolver;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dnsServer = new StubDnsServer();
+        mxRecordCache = new MxRecordCache(100, 60, 10);
+        resolver = new DnsResolver(mxRecordCache, dnsServer.getProviderUrl(), 1000, 1, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        resolver.close();
+        dnsServer.close();
+    }
+
+    @Test
+    void testMxRecordsSortedByPriority() throws Exception {
+        List<MxRecord> records = resolver.lookupMx("example.com");
+
+        assertEquals(List.of(new MxRecord(10, "mx1.example.com."), new MxRecord(20, "mx2.example.com.")), records);
+    }
+
+    @Test
+    void testSecondLookupServedFromCache() throws Exception {
+        resolver.lookupMx("example.com");
+        int queries = dnsServer.getQueries();
+
+        resolver.lookupMx("example.com");
+
+        assertEquals(queries, dnsServer.getQueries());
+    }
+
+    @Test
+    void testResolvedRecordsCachedForPositiveTtl() throws Exception {
+        long before = System.currentTimeMillis();
+        resolver.lookupMx("example.com");
+
+        long expiresIn = mxRecordCache.get("example.com").getExpiresAtMillis() - before;
+        assertTrue(expiresIn >= 60_000 && expiresIn < 61_000, "expires in " + expiresIn + " ms");
+    }
+
+    @Test
+    void testNxDomainIsCachedNegatively() throws Exception {
+        assertThrows(NameNotFoundException.class, () -> resolver.lookupMx("nx.example.com"));
+        int queries = dnsServer.getQueries();
+
+        assertThrows(NameNotFoundException.class, () -> resolver.lookupMx("nx.example.com"));
+        assertEquals(queries, dnsServer.getQueries());
+    }
+
+    @Test
+    void testConcurrentLookupsShareOneQuery() throws Exception {
+        dnsServer.setDelayMillis(300);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<List<MxRecord>>> lookups = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                lookups.add(pool.submit(() -> resolver.lookupMx("shared.example.com")));
+            }
+            for (Future<List<MxRecord>> lookup : lookups) {
+                assertEquals(2, lookup.get(5, TimeUnit.SECONDS).size());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(1, dnsServer.getQueries());
+    }
+
+    @Test
+    void testContextIsReusedAcrossLookups() throws Exception {
+        resolver.lookupMx("a.example.com");
+        resolver.lookupMx("b.example.com");
+        resolver.lookupMx("nomx.example.com");
+
+        // one context borrowed and returned each time
+        assertEquals(1, resolver.idleContexts());
+    }
+
+    @Test
+    void testContextDroppedAfterCommunicationFailure() throws Exception {
+        DnsResolver fastTimeout = new DnsResolver(new MxRecordCache(100, 60, 10), dnsServer.getProviderUrl(), 200, 1, 2);
+        try {
+            fastTimeout.lookupMx("a.example.com");
+            assertEquals(1, fastTimeout.idleContexts());
+
+            dnsServer.close();
+            assertThrows(NamingException.class, () -> fastTimeout.lookupMx("b.example.com"));
+
+            assertEquals(0, fastTimeout.idleContexts());
+        } finally {
+            fastTimeout.close();
+        }
+    }
+
+    @Test
+    void testFallsBackToARecord() throws Exception {
+        List<MxRecord> records = resolver.lookupMx("nomx.example.com");
+
+        assertEquals(List.of(new MxRecord(0, "nomx.example.com")), records);
+    }
+}
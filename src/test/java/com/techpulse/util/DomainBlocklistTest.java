@@ -0,0 +1,69 @@
+package com.techpulse.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DomainBlocklistTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testRejectsListedDomainsAndSubdomains() throws Exception {
+        Path file = dir.resolve("blocklist.txt");
+        Files.writeString(file, "# comment\nmailinator.com disposable\ngmial.com typo # fat finger\nDEAD.example\n");
+
+        DomainBlocklist blocklist = new DomainBlocklist(file.toString(), 60000, 0.01);
+
+        assertEquals(3, blocklist.size());
+        assertEquals("disposable domain: mailinator.com", blocklist.reject("a@mailinator.com", "mailinator.com"));
+        assertEquals("disposable domain: mailinator.com", blocklist.reject("a@eu.mailinator.com", "eu.mailinator.com"));
+        assertEquals("typo domain: gmial.com", blocklist.reject("a@gmial.com", "gmial.com"));
+        assertEquals("blocked domain: dead.example", blocklist.reject("a@dead.example", "dead.example"));
+        assertNull(blocklist.reject("a@gmail.com", "gmail.com"));
+        assertNull(blocklist.reject("a@com", "com"));
+    }
+
+    @Test
+    void testReloadsWhenFileChanges() throws Exception {
+        Path file = dir.resolve("blocklist.txt");
+        Files.writeString(file, "gmial.com typo\n");
+        DomainBlocklist blocklist = new DomainBlocklist(file.toString(), 0, 0.01);
+        assertNull(blocklist.reject("a@yopmail.com", "yopmail.com"));
+
+        Files.writeString(file, "gmial.com typo\nyopmail.com disposable\n");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 5000));
+
+        assertEquals("disposable domain: yopmail.com", blocklist.reject("a@yopmail.com", "yopmail.com"));
+        assertEquals(2, blocklist.size());
+    }
+
+    @Test
+    void testMissingFileDisablesFilter() {
+        DomainBlocklist blocklist = new DomainBlocklist(dir.resolve("absent.txt").toString(), 0, 0.01);
+
+        assertEquals(0, blocklist.size());
+        assertNull(blocklist.reject("a@mailinator.com", "mailinator.com"));
+    }
+
+    @Test
+    void testBloomFilterHasNoFalseNegatives() {
+        BloomFilter bloom = new BloomFilter(10000, 0.01);
+        for (int i = 0; i < 10000; i++) {
+            bloom.put("domain" + i + ".com");
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10000; i++) {
+            assertTrue(bloom.mightContain("domain" + i + ".com"));
+            if (bloom.mightContain("other" + i + ".org")) falsePositives++;
+        }
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+}
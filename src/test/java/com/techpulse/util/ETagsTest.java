@@ -0,0 +1,58 @@
+package com.techpulse.util;
+
+import com.techpulse.dto.CompanyResponseDTO;
+import com.techpulse.dto.EmployeeResponseDTO;
+import com.techpulse.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ETagsTest {
+
+    private static EmployeeResponseDTO employee(int id, long version) {
+        EmployeeResponseDTO dto = new EmployeeResponseDTO();
+        dto.setEmpId(id);
+        dto.setVersion(version);
+        return dto;
+    }
+
+    @Test
+    void testEmployeeTagFollowsEmbeddedCompany() {
+        EmployeeResponseDTO employee = employee(1, 3);
+        assertEquals("\"3\"", ETags.of(employee));
+
+        CompanyResponseDTO company = new CompanyResponseDTO();
+        company.setVersion(0L);
+        employee.setCompany(company);
+        String before = ETags.of(employee);
+        company.setVersion(1L);
+
+        assertEquals("\"3-0\"", before);
+        assertEquals("\"3-1\"", ETags.of(employee));
+    }
+
+    @Test
+    void testCompanyTagFollowsListedEmployees() {
+        CompanyResponseDTO company = new CompanyResponseDTO();
+        company.setVersion(2L);
+        company.setEmployees(List.of(employee(1, 0), employee(2, 0)));
+        String before = ETags.of(company);
+
+        company.setEmployees(List.of(employee(1, 0), employee(2, 1)));
+        assertNotEquals(before, ETags.of(company));
+        company.setEmployees(List.of(employee(1, 0)));
+        assertNotEquals(before, ETags.of(company));
+        assertTrue(ETags.of(company).startsWith("\"2-"));
+    }
+
+    @Test
+    void testExpectedVersionFromIfMatch() {
+        assertNull(ETags.expectedVersion(null));
+        assertNull(ETags.expectedVersion("*"));
+        assertEquals(3L, ETags.expectedVersion("\"3-0\""));
+        assertEquals(3L, ETags.expectedVersion("W/\"3\""));
+        assertThrows(BadRequestException.class, () -> ETags.expectedVersion("\"abc\""));
+    }
+}
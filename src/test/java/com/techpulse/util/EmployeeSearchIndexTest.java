@@ -0,0 +1,99 @@
+package com.techpulse.util;
+
+import com.techpulse.entity.Employee;
+import com.techpulse.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeSearchIndexTest {
+
+    private static Employee employee(int id, String name, String email, String dept, String city) {
+        Employee employee = new Employee();
+        employee.setEmpId(id);
+        employee.setEmpName(name);
+        employee.setEmail(email);
+        employee.setDept(dept);
+        employee.setCity(city);
+        return employee;
+    }
+
+    private static EmployeeSearchIndex index() {
+        EmployeeSearchIndex index = new EmployeeSearchIndex();
+        index.replaceAll(List.of(
+                employee(1, "Anand", "anand@corp.com", "Sales", "Pune"),
+                employee(2, "Sanjana", "sanjana@corp.com", "IT", "San Jose"),
+                employee(3, "Ana", "ana@corp.com", "Finance", "Mumbai"),
+                employee(4, "Mohan", "mohan@corp.com", "Analytics", "Delhi")));
+        return index;
+    }
+
+    @Test
+    void testRanksWholeValueThenPrefixThenWordThenAnywhere() {
+        EmployeeSearchIndex index = index();
+
+        // exact name, name prefix, dept prefix, name substring
+        assertEquals(List.of(3, 1, 4, 2), index.search("ana", null, EmployeeSearchIndex.Match.SUBSTRING));
+        assertEquals(List.of(3, 1, 4), index.search("ANA", null, EmployeeSearchIndex.Match.PREFIX));
+        assertEquals(List.of(3, 1), index.search("ana", EmployeeSearchIndex.Field.EMP_NAME, EmployeeSearchIndex.Match.PREFIX));
+        assertTrue(index.search("xyz", null, EmployeeSearchIndex.Match.SUBSTRING).isEmpty());
+    }
+
+    @Test
+    void testShortQueries() {
+        EmployeeSearchIndex index = index();
+
+        // "jose" is a word of "san jose"
+        assertEquals(List.of(2), index.search("j", EmployeeSearchIndex.Field.CITY, EmployeeSearchIndex.Match.PREFIX));
+        // name prefix before department prefix
+        assertEquals(List.of(2, 1), index.search("sa", null, EmployeeSearchIndex.Match.PREFIX));
+        assertEquals(List.of(4), index.search("oh", null, EmployeeSearchIndex.Match.SUBSTRING));
+        assertTrue(index.search("oh", null, EmployeeSearchIndex.Match.PREFIX).isEmpty());
+    }
+
+    @Test
+    void testSecondCharacter() {
+        EmployeeSearchIndex index = index();
+
+        // ordered by name
+        assertEquals(List.of(3, 1), index.search("N", null, EmployeeSearchIndex.Match.SECOND_CHAR));
+        assertEquals(List.of(4), index.search("o", null, EmployeeSearchIndex.Match.SECOND_CHAR));
+    }
+
+    @Test
+    void testSetFieldReindexesOnlyThatField() {
+        EmployeeSearchIndex index = index();
+
+        index.setField(List.of(1, 3, 99), EmployeeSearchIndex.Field.DEPT, "Legal");
+        assertEquals(List.of(3, 1), index.search("leg", EmployeeSearchIndex.Field.DEPT, EmployeeSearchIndex.Match.PREFIX));
+        assertTrue(index.search("fin", null, EmployeeSearchIndex.Match.PREFIX).isEmpty());
+        assertEquals(List.of(3, 1, 4, 2), index.search("ana", null, EmployeeSearchIndex.Match.SUBSTRING));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void testPutReplacesAndRemoveDrops() {
+        EmployeeSearchIndex index = index();
+
+        index.put(employee(3, "Bina", "bina@corp.com", "Finance", "Mumbai"));
+        assertEquals(List.of(1, 4, 2), index.search("ana", null, EmployeeSearchIndex.Match.SUBSTRING));
+        assertEquals(List.of(3), index.search("bin", null, EmployeeSearchIndex.Match.PREFIX));
+        assertEquals(List.of(3), index.search("i", null, EmployeeSearchIndex.Match.SECOND_CHAR));
+
+        index.remove(1);
+        assertEquals(List.of(4, 2), index.search("ana", null, EmployeeSearchIndex.Match.SUBSTRING));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void testParsesFieldAndMatch() {
+        assertNull(EmployeeSearchIndex.Field.from(null));
+        assertEquals(EmployeeSearchIndex.Field.EMP_NAME, EmployeeSearchIndex.Field.from("EMPNAME"));
+        assertEquals(EmployeeSearchIndex.Match.SUBSTRING, EmployeeSearchIndex.Match.from(""));
+        assertEquals(EmployeeSearchIndex.Match.SECOND_CHAR, EmployeeSearchIndex.Match.from("secondChar"));
+        assertThrows(BadRequestException.class, () -> EmployeeSearchIndex.Field.from("salary"));
+        assertThrows(BadRequestException.class, () -> EmployeeSearchIndex.Match.from("fuzzy"));
+    }
+}
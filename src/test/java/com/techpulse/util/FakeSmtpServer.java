@@ -0,0 +1,241 @@
+package com.techpulse.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process SMTP server for tests and benchmarks. A single selector thread serves
+ * any number of connections. Recipients whose local part starts with "unknown" get
+ * 550, everything else 250. With silent=true the server accepts connections but
+ * never sends a greeting, which is how a blackholed MX host behaves. The greeting and
+ * the MAIL FROM reply can be replaced to play a server that refuses the session.
+ */
+public class FakeSmtpServer implements Closeable {
+
+    private final ServerSocketChannel server;
+    private final Selector selector;
+    private final Thread thread;
+    private final boolean pipelining;
+    private final boolean silent;
+
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicInteger rcptCommands = new AtomicInteger();
+    private final AtomicInteger rsetCommands = new AtomicInteger();
+    private final AtomicInteger mailFromCommands = new AtomicInteger();
+    // most RCPT TO commands that arrived together, before any of them was answered
+    private final AtomicInteger maxRcptBurst = new AtomicInteger();
+    private final Queue<SocketChannel> clients = new ConcurrentLinkedQueue<>();
+    private volatile String greeting = "220 fake.smtp ESMTP ready";
+    private volatile String mailFromReply = "250 2.1.0 Sender OK";
+    private volatile boolean running = true;
+
+    public FakeSmtpServer(boolean pipelining) throws IOException {
+        this(pipelining, false);
+    }
+
+    public FakeSmtpServer(boolean pipelining, boolean silent) throws IOException {
+        this.pipelining = pipelining;
+        this.silent = silent;
+        this.selector = Selector.open();
+        this.server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress("127.0.0.1", 0), 4096);
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+        thread = new Thread(this::loop, "fake-smtp");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public int getPort() {
+        return server.socket().getLocalPort();
+    }
+
+    public int getConnections() {
+        return connections.get();
+    }
+
+    public int getRcptCommands() {
+        return rcptCommands.get();
+    }
+
+    public int getRsetCommands() {
+        return rsetCommands.get();
+    }
+
+    public int getMailFromCommands() {
+        return mailFromCommands.get();
+    }
+
+    public int getMaxRcptBurst() {
+        return maxRcptBurst.get();
+    }
+
+    public void setGreeting(String greeting) {
+        this.greeting = greeting;
+    }
+
+    public void setMailFromReply(String mailFromReply) {
+        this.mailFromReply = mailFromReply;
+    }
+
+    /** Closes every open connection, as a server does with idle clients. */
+    public void dropConnections() {
+        SocketChannel channel;
+        while ((channel = clients.poll()) != null) {
+            try { channel.close(); } catch (IOException ignored) {}
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        selector.wakeup();
+        try {
+            thread.join(1000);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+        server.close();
+    }
+
+    private static final class Client {
+        private final ByteBuffer in = ByteBuffer.allocate(8192);
+        private ByteBuffer out = ByteBuffer.allocate(8192);
+    }
+
+    private void loop() {
+        while (running) {
+            try {
+                selector.select(100);
+                Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                while (it.hasNext()) {
+                    SelectionKey key = it.next();
+                    it.remove();
+                    try {
+                        if (key.isAcceptable()) accept();
+                        else if (key.isReadable()) read(key);
+                        else if (key.isWritable()) write(key);
+                    } catch (IOException e) {
+                        key.cancel();
+                        key.channel().close();
+                    }
+                }
+            } catch (IOException e) {
+                return;
+            }
+        }
+        for (SelectionKey key : selector.keys()) {
+            try { key.channel().close(); } catch (IOException ignored) {}
+        }
+        try { selector.close(); } catch (IOException ignored) {}
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = server.accept()) != null) {
+            connections.incrementAndGet();
+            clients.add(channel);
+            channel.configureBlocking(false);
+            Client client = new Client();
+            SelectionKey key = channel.register(selector, SelectionKey.OP_READ, client);
+            if (!silent) {
+                reply(key, greeting);
+            }
+        }
+    }
+
+    private void read(SelectionKey key) throws IOException {
+        Client client = (Client) key.attachment();
+        SocketChannel channel = (SocketChannel) key.channel();
+        if (channel.read(client.in) < 0) {
+            key.cancel();
+            channel.close();
+            return;
+        }
+        if (silent) {
+            client.in.clear();
+            return;
+        }
+
+        client.in.flip();
+        int start = client.in.position();
+        int rcptBurst = 0;
+        for (int i = start; i < client.in.limit(); i++) {
+            if (client.in.get(i) != '\n') continue;
+            byte[] line = new byte[i - start];
+            for (int k = 0; k < line.length; k++) line[k] = client.in.get(start + k);
+            String text = new String(line, StandardCharsets.UTF_8).trim();
+            if (text.toUpperCase().startsWith("RCPT TO")) {
+                maxRcptBurst.accumulateAndGet(++rcptBurst, Math::max);
+            }
+            if (!command(key, text)) return;
+            start = i + 1;
+        }
+        client.in.position(start);
+        client.in.compact();
+    }
+
+    // returns false once the connection is closed
+    private boolean command(SelectionKey key, String line) throws IOException {
+        String upper = line.toUpperCase();
+        if (upper.startsWith("EHLO")) {
+            reply(key, pipelining ? "250-fake.smtp\r\n250-PIPELINING\r\n250 8BITMIME" : "250-fake.smtp\r\n250 8BITMIME");
+        } else if (upper.startsWith("MAIL FROM")) {
+            mailFromCommands.incrementAndGet();
+            reply(key, mailFromReply);
+        } else if (upper.startsWith("RCPT TO")) {
+            rcptCommands.incrementAndGet();
+            int lt = line.indexOf('<');
+            String address = lt < 0 ? "" : line.substring(lt + 1).toLowerCase();
+            reply(key, address.startsWith("unknown")
+                    ? "550 5.1.1 User unknown"
+                    : "250 2.1.5 Recipient OK");
+        } else if (upper.startsWith("RSET")) {
+            rsetCommands.incrementAndGet();
+            reply(key, "250 2.0.0 Reset");
+        } else if (upper.startsWith("QUIT")) {
+            reply(key, "221 2.0.0 Bye");
+            key.cancel();
+            key.channel().close();
+            return false;
+        } else {
+            reply(key, "502 5.5.2 Command not recognized");
+        }
+        return true;
+    }
+
+    private void reply(SelectionKey key, String text) throws IOException {
+        Client client = (Client) key.attachment();
+        byte[] bytes = (text + "\r\n").getBytes(StandardCharsets.US_ASCII);
+        if (client.out.remaining() < bytes.length) {
+            ByteBuffer bigger = ByteBuffer.allocate(client.out.capacity() * 2 + bytes.length);
+            client.out.flip();
+            bigger.put(client.out);
+            client.out = bigger;
+        }
+        client.out.put(bytes);
+        write(key);
+    }
+
+    private void write(SelectionKey key) throws IOException {
+        Client client = (Client) key.attachment();
+        client.out.flip();
+        ((SocketChannel) key.channel()).write(client.out);
+        boolean drained = !client.out.hasRemaining();
+        client.out.compact();
+        if (key.isValid()) {
+            key.interestOps(drained ? SelectionKey.OP_READ : SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.techpulse.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MxHostHealthTest {
+
+    @Test
+    void testCircuitOpensAfterConsecutiveFailures() {
+        MxHostHealth health = new MxHostHealth(1000, 7000, 3.0, 20, 3, 60, 100);
+
+        health.recordFailure("mx.example.com.");
+        health.recordFailure("mx.example.com.");
+        assertTrue(health.allowRequest("mx.example.com."));
+
+        health.recordFailure("mx.example.com.");
+        assertFalse(health.allowRequest("mx.example.com."));
+    }
+
+    @Test
+    void testHalfOpenLetsOneProbeThrough() {
+        // open-seconds = 0 so the circuit is immediately eligible for a probe
+        MxHostHealth health = new MxHostHealth(1000, 7000, 3.0, 20, 1, 0, 100);
+
+        health.recordFailure("mx.example.com.");
+
+        assertTrue(health.allowRequest("mx.example.com."));
+        assertFalse(health.allowRequest("mx.example.com."));
+
+        health.recordSuccess("mx.example.com.", 10, 20);
+        assertTrue(health.allowRequest("mx.example.com."));
+        assertTrue(health.allowRequest("mx.example.com."));
+    }
+
+    @Test
+    void testCancelledTrialProbeLetsNextProbeThrough() {
+        MxHostHealth health = new MxHostHealth(1000, 7000, 3.0, 20, 1, 0, 100);
+
+        health.recordFailure("mx.example.com.");
+        assertTrue(health.allowRequest("mx.example.com."));
+        assertFalse(health.allowRequest("mx.example.com."));
+
+        // the trial probe lost the hedge and was cancelled
+        health.recordCancelled("mx.example.com.");
+
+        assertEquals("OPEN", health.snapshot().get(0).getCircuit());
+        assertTrue(health.allowRequest("mx.example.com."));
+        assertFalse(health.allowRequest("mx.example.com."));
+    }
+
+    @Test
+    void testCancelledProbeKeepsOpenPeriod() {
+        MxHostHealth health = new MxHostHealth(1000, 7000, 3.0, 20, 1, 60, 100);
+
+        health.recordFailure("mx.example.com.");
+        health.recordCancelled("mx.example.com.");
+
+        assertFalse(health.allowRequest("mx.example.com."));
+    }
+
+    @Test
+    void testTimeoutAdaptsToObservedLatency() {
+        MxHostHealth health = new MxHostHealth(1000, 7000, 3.0, 20, 3, 60, 100);
+
+        assertEquals(7000, health.readTimeoutMs("mx.example.com."));
+
+        for (int i = 0; i < 20; i++) {
+            health.recordSuccess("mx.example.com.", 50, 500);
+        }
+
+        assertEquals(1500, health.readTimeoutMs("mx.example.com."));
+        // clamped to the minimum
+        assertEquals(1000, health.connectTimeoutMs("mx.example.com."));
+    }
+
+    @Test
+    void testTrackedHostsStayBoundedWhateverTheirState() {
+        // failure-threshold = 1: every host below ends up with an open circuit
+        MxHostHealth health = new MxHostHealth(1000, 7000, 3.0, 20, 1, 60, 10);
+
+        for (int i = 0; i < 100; i++) {
+            health.recordFailure("mx" + i + ".example.com.");
+        }
+
+        assertTrue(health.snapshot().size() <= 10);
+    }
+
+    @Test
+    void testP99IsRecomputedEverySixteenthOfTheWindow() {
+        MxHostHealth health = new MxHostHealth(1, 60_000, 1.0, 20, 3, 60, 100);
+
+        for (int i = 0; i < 256; i++) {
+            health.recordSuccess("mx.example.com.", 10, 100);
+        }
+        assertEquals(100, health.readTimeoutMs("mx.example.com."));
+
+        // three slow replies already move the p99, but the cached value is kept for now
+        for (int i = 0; i < 3; i++) {
+            health.recordSuccess("mx.example.com.", 10, 5000);
+        }
+        assertEquals(100, health.readTimeoutMs("mx.example.com."));
+
+        for (int i = 0; i < 13; i++) {
+            health.recordSuccess("mx.example.com.", 10, 5000);
+        }
+        assertEquals(5000, health.readTimeoutMs("mx.example.com."));
+    }
+}
@@ -0,0 +1,62 @@
+package com.techpulse.util;
+
+import com.techpulse.dto.CacheStatsDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MxRecordCacheTest {
+
+    @Test
+    void testHitAndMiss() {
+        MxRecordCache cache = new MxRecordCache(10, 60, 10);
+
+        assertNull(cache.get("example.com"));
+
+        cache.putRecords("example.com", List.of(new MxRecord(10, "mx1.example.com.")));
+        MxRecordCache.Entry entry = cache.get("example.com");
+
+        assertNotNull(entry);
+        assertEquals(List.of(new MxRecord(10, "mx1.example.com.")), entry.getRecords());
+
+        CacheStatsDTO stats = cache.stats();
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+    }
+
+    @Test
+    void testNegativeEntry() {
+        MxRecordCache cache = new MxRecordCache(10, 60, 10);
+
+        cache.putNegative("nowhere.invalid", "DNS name not found");
+        MxRecordCache.Entry entry = cache.get("nowhere.invalid");
+
+        assertTrue(entry.isNegative());
+        assertEquals("DNS name not found", entry.getError());
+    }
+
+    @Test
+    void testExpiredEntryIsMiss() {
+        MxRecordCache cache = new MxRecordCache(10, 0, 0);
+
+        cache.putRecords("example.com", List.of(new MxRecord(10, "mx1.example.com.")));
+
+        assertNull(cache.get("example.com"));
+    }
+
+    @Test
+    void testLeastRecentlyUsedEviction() {
+        MxRecordCache cache = new MxRecordCache(2, 60, 10);
+
+        cache.putRecords("a.com", List.of(new MxRecord(10, "mx.a.com.")));
+        cache.putRecords("b.com", List.of(new MxRecord(10, "mx.b.com.")));
+        cache.get("a.com");
+        cache.putRecords("c.com", List.of(new MxRecord(10, "mx.c.com.")));
+
+        assertNotNull(cache.get("a.com"));
+        assertNull(cache.get("b.com"));
+        assertEquals(1, cache.stats().getEvictions());
+    }
+}
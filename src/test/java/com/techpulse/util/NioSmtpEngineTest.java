@@ -0,0 +1,118 @@
+package com.techpulse.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NioSmtpEngineTest {
+
+    private NioSmtpEngine engine;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        engine = new NioSmtpEngine(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.close();
+    }
+
+    @Test
+    void testAcceptedAndRejectedRecipients() throws Exception {
+        try (FakeSmtpServer server = new FakeSmtpServer(false)) {
+            SmtpValidator.ProbeOutcome outcome = engine
+                    .probe("127.0.0.1", server.getPort(), Arrays.asList("john@example.com", "unknown@example.com"), 2000, 2000)
+                    .get(5, TimeUnit.SECONDS);
+
+            assertTrue(outcome.isHostResponsive());
+            assertEquals(250, outcome.getResults().get(0).getCode());
+            assertTrue(outcome.getResults().get(0).isSuccess());
+            assertEquals(550, outcome.getResults().get(1).getCode());
+            assertFalse(outcome.getResults().get(1).isSuccess());
+        }
+    }
+
+    @Test
+    void testPipelinedBatchLargerThanOneTransaction() throws Exception {
+        try (FakeSmtpServer server = new FakeSmtpServer(true)) {
+            List<String> emails = new ArrayList<>();
+            for (int i = 0; i < 120; i++) {
+                emails.add((i % 3 == 0 ? "unknown" : "user") + i + "@example.com");
+            }
+
+            SmtpValidator.ProbeOutcome outcome = engine
+                    .probe("127.0.0.1", server.getPort(), emails, 2000, 2000)
+                    .get(5, TimeUnit.SECONDS);
+
+            assertEquals(120, outcome.getResults().size());
+            for (int i = 0; i < emails.size(); i++) {
+                assertEquals(i % 3 == 0 ? 550 : 250, outcome.getResults().get(i).getCode());
+            }
+            assertEquals(120, server.getRcptCommands());
+            assertEquals(1, server.getConnections());
+        }
+    }
+
+    @Test
+    void testRefusingGreetingKeepsServerCode() throws Exception {
+        try (FakeSmtpServer server = new FakeSmtpServer(false)) {
+            server.setGreeting("421 4.3.2 Too busy, try later");
+
+            SmtpValidator.ProbeOutcome outcome = engine
+                    .probe("127.0.0.1", server.getPort(), List.of("john@example.com", "jane@example.com"), 2000, 2000)
+                    .get(5, TimeUnit.SECONDS);
+
+            assertTrue(outcome.isHostResponsive());
+            outcome.getResults().forEach(result -> assertEquals(421, result.getCode()));
+            assertEquals(0, server.getRcptCommands());
+        }
+    }
+
+    @Test
+    void testSilentHostTimesOut() throws Exception {
+        try (FakeSmtpServer server = new FakeSmtpServer(false, true)) {
+            SmtpValidator.ProbeOutcome outcome = engine
+                    .probe("127.0.0.1", server.getPort(), List.of("john@example.com"), 500, 300)
+                    .get(5, TimeUnit.SECONDS);
+
+            assertFalse(outcome.isHostResponsive());
+            assertEquals(-1, outcome.getResults().get(0).getCode());
+        }
+    }
+
+    @Test
+    void testManyConcurrentConversations() throws Exception {
+        try (FakeSmtpServer server = new FakeSmtpServer(true)) {
+            List<CompletableFuture<SmtpValidator.ProbeOutcome>> futures = new ArrayList<>();
+            for (int i = 0; i < 2000; i++) {
+                futures.add(engine.probe("127.0.0.1", server.getPort(), List.of("user" + i + "@example.com"), 10000, 10000));
+            }
+
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(60, TimeUnit.SECONDS);
+            for (CompletableFuture<SmtpValidator.ProbeOutcome> future : futures) {
+                assertEquals(250, future.get().getResults().get(0).getCode());
+            }
+            assertEquals(2000, server.getConnections());
+        }
+    }
+
+    @Test
+    void testCancelAbortsConversation() throws Exception {
+        try (FakeSmtpServer server = new FakeSmtpServer(false, true)) {
+            CompletableFuture<SmtpValidator.ProbeOutcome> future = engine
+                    .probe("127.0.0.1", server.getPort(), List.of("john@example.com"), 10000, 10000);
+
+            assertTrue(future.cancel(true));
+            assertTrue(future.isCancelled());
+        }
+    }
+}
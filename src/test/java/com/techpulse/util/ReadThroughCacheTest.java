@@ -0,0 +1,95 @@
+package com.techpulse.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadThroughCacheTest {
+
+    @Test
+    void testLoadsOnceAndCountsHits() {
+        ReadThroughCache<Integer, String> cache = new ReadThroughCache<>("test", 10, Duration.ofMinutes(5));
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("v1", cache.get(1, id -> "v" + loads.incrementAndGet()));
+        assertEquals("v1", cache.get(1, id -> "v" + loads.incrementAndGet()));
+        assertEquals(1, loads.get());
+
+        cache.invalidate(1);
+        assertEquals("v2", cache.get(1, id -> "v" + loads.incrementAndGet()));
+
+        assertEquals(1, cache.stats().getHits());
+        assertEquals(2, cache.stats().getMisses());
+        assertEquals(1.0 / 3, cache.stats().getHitRatio(), 1e-9);
+    }
+
+    @Test
+    void testLoaderFailureAndNullAreNotCached() {
+        ReadThroughCache<Integer, String> cache = new ReadThroughCache<>("test", 10, Duration.ofMinutes(5));
+
+        assertThrows(IllegalStateException.class, () -> cache.get(1, id -> {
+            throw new IllegalStateException("not found");
+        }));
+        assertNull(cache.get(1, id -> null));
+        assertEquals("v", cache.get(1, id -> "v"));
+        assertEquals(1, cache.stats().getSize());
+    }
+
+    @Test
+    void testLoadOverlappingInvalidateIsNotStored() throws Exception {
+        ReadThroughCache<Integer, String> cache = new ReadThroughCache<>("test", 10, Duration.ofMinutes(5));
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch written = new CountDownLatch(1);
+
+        // reader reads the old row, then the writer commits and invalidates before the reader stores it
+        CompletableFuture<String> reader = CompletableFuture.supplyAsync(() -> cache.get(1, id -> {
+            loading.countDown();
+            await(written);
+            return "old";
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        cache.invalidate(1);
+        written.countDown();
+
+        assertEquals("old", reader.get(5, TimeUnit.SECONDS));
+        assertEquals("new", cache.get(1, id -> "new"));
+    }
+
+    @Test
+    void testInvalidateIfDropsMatchesAndInFlightLoads() throws Exception {
+        ReadThroughCache<Integer, String> cache = new ReadThroughCache<>("test", 10, Duration.ofMinutes(5));
+        cache.get(1, id -> "acme:1");
+        cache.get(2, id -> "other:2");
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch written = new CountDownLatch(1);
+
+        CompletableFuture<String> reader = CompletableFuture.supplyAsync(() -> cache.get(3, id -> {
+            loading.countDown();
+            await(written);
+            return "acme:3";
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        cache.invalidateIf(v -> v.startsWith("acme:"));
+        written.countDown();
+        reader.get(5, TimeUnit.SECONDS);
+
+        assertEquals("other:2", cache.get(2, id -> "reloaded"));
+        assertEquals("reloaded", cache.get(1, id -> "reloaded"));
+        assertEquals("reloaded", cache.get(3, id -> "reloaded"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
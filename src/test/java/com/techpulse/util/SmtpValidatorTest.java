@@ -0,0 +1,173 @@
+package com.techpulse.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SmtpValidatorTest {
+
+    private static List<String> recipients(int count) {
+        List<String> emails = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            emails.add((i % 5 == 0 ? "unknown" : "user") + i + "@example.com");
+        }
+        return emails;
+    }
+
+    private static void assertVerdicts(List<String> emails, List<SmtpValidator.SmtpResult> results) {
+        assertEquals(emails.size(), results.size());
+        for (int i = 0; i < emails.size(); i++) {
+            int expected = emails.get(i).startsWith("unknown") ? 550 : 250;
+            assertEquals(expected, results.get(i).getCode(), emails.get(i));
+        }
+    }
+
+    @Test
+    void testLockStepWithoutPipelining() throws Exception {
+        try (FakeSmtpServer server = new FakeSmtpServer(false);
+             SmtpValidator.SmtpSession session = SmtpValidator.SmtpSession.open("127.0.0.1", server.getPort(), 2000, 2000)) {
+            List<String> emails = recipients(10);
+
+            assertFalse(session.isPipelining());
+            assertVerdicts(emails, session.checkRecipients(emails));
+            assertEquals(1, server.getMaxRcptBurst());
+        }
+    }
+
+    @Test
+    void testPipelinedRecipientsAreSentTogether() throws Exception {
+        try (FakeSmtpServer server = new FakeSmtpServer(true);
+             SmtpValidator.SmtpSession session = SmtpValidator.SmtpSession.open("127.0.0.1", server.getPort(), 2000, 2000)) {
+            List<String> emails = recipients(10);
+
+            assertTrue(session.isPipelining());
+            assertVerdicts(emails, session.checkRecipients(emails));
+            assertTrue(server.getMaxRcptBurst() > 1, "burst " + server.getMaxRcptBurst());
+        }
+    }
+
+    @Test
+    void testRecipientsBeyondTransactionLimitStartNewTransaction() throws Exception {
+        try (FakeSmtpServer server = new FakeSmtpServer(true);
+             SmtpValidator.SmtpSession session = SmtpValidator.SmtpSession.open("127.0.0.1", server.getPort(), 2000, 2000)) {
+            List<String> emails = recipients(SmtpValidator.MAX_RECIPIENTS_PER_TRANSACTION + 10);
+
+            assertVerdicts(emails, session.checkRecipients(emails));
+            assertEquals(1, server.getRsetCommands());
+            assertEquals(2, server.getMailFromCommands());
+            assertEquals(1, server.getConnections());
+        }
+    }
+
+    @Test
+    void testRefusedSenderFailsEveryRecipient() throws Exception {
+        try (FakeSmtpServer server = new FakeSmtpServer(false)) {
+            server.setMailFromReply("550 5.7.1 Sender rejected");
+            try (SmtpValidator.SmtpSession session = SmtpValidator.SmtpSession.open("127.0.0.1", server.getPort(), 2000, 2000)) {
+                List<SmtpValidator.SmtpResult> results = session.checkRecipients(recipients(5));
+
+                assertEquals(5, results.size());
+                results.forEach(r -> assertEquals(550, r.getCode()));
+                assertEquals(0, server.getRcptCommands());
+                assertFalse(session.isReusable());
+            }
+        }
+    }
+
+    @Test
+    void testPooledSessionIsReusedWithRset() throws Exception {
+        try (FakeSmtpServer server = new FakeSmtpServer(true);
+             SmtpSessionPool pool = new SmtpSessionPool(4, 10_000)) {
+            List<String> first = recipients(5);
+            List<String> second = List.of("user100@example.com", "unknown101@example.com");
+
+            SmtpValidator.ProbeOutcome one = new SmtpValidator.Probe("127.0.0.1", server.getPort(), first, 2000, 2000, pool).run();
+            SmtpValidator.ProbeOutcome two = new SmtpValidator.Probe("127.0.0.1", server.getPort(), second, 2000, 2000, pool).run();
+
+            assertVerdicts(first, one.getResults());
+            assertVerdicts(second, two.getResults());
+            assertEquals(1, server.getConnections());
+            assertEquals(1, server.getRsetCommands());
+            // nothing was measured for the connection the second probe did not make
+            assertTrue(one.getConnectMillis() >= 0);
+            assertEquals(-1, two.getConnectMillis());
+            assertEquals(1, pool.idleSessions());
+        }
+    }
+
+    @Test
+    void testDroppedPooledSessionIsReopened() throws Exception {
+        try (FakeSmtpServer server = new FakeSmtpServer(true);
+             SmtpSessionPool pool = new SmtpSessionPool(4, 10_000)) {
+            List<String> emails = recipients(3);
+
+            new SmtpValidator.Probe("127.0.0.1", server.getPort(), emails, 2000, 2000, pool).run();
+            server.dropConnections();
+            SmtpValidator.ProbeOutcome outcome = new SmtpValidator.Probe("127.0.0.1", server.getPort(), emails, 2000, 2000, pool).run();
+
+            assertTrue(outcome.isHostResponsive());
+            assertVerdicts(emails, outcome.getResults());
+            assertEquals(2, server.getConnections());
+        }
+    }
+
+    @Test
+    void testRefusedSessionIsNotPooled() throws Exception {
+        try (FakeSmtpServer server = new FakeSmtpServer(false);
+             SmtpSessionPool pool = new SmtpSessionPool(4, 10_000)) {
+            server.setGreeting("554 5.7.1 No service for you");
+
+            new SmtpValidator.Probe("127.0.0.1", server.getPort(), recipients(2), 2000, 2000, pool).run();
+
+            assertEquals(0, pool.idleSessions());
+        }
+    }
+
+    @Test
+    void testIdleSessionExpires() throws Exception {
+        try (FakeSmtpServer server = new FakeSmtpServer(false);
+             SmtpSessionPool pool = new SmtpSessionPool(4, 0)) {
+            List<String> emails = recipients(2);
+
+            new SmtpValidator.Probe("127.0.0.1", server.getPort(), emails, 2000, 2000, pool).run();
+            Thread.sleep(5);
+            new SmtpValidator.Probe("127.0.0.1", server.getPort(), emails, 2000, 2000, pool).run();
+
+            assertEquals(2, server.getConnections());
+            assertEquals(0, server.getRsetCommands());
+        }
+    }
+
+    @Test
+    void testRefusingGreetingKeepsServerCode() throws Exception {
+        try (FakeSmtpServer server = new FakeSmtpServer(false)) {
+            server.setGreeting("554 5.7.1 No service for you");
+
+            SmtpValidator.ProbeOutcome outcome = SmtpValidator.probe("127.0.0.1", server.getPort(),
+                    List.of("john@example.com", "jane@example.com"), 2000, 2000);
+
+            // the host answered, it just declined
+            assertTrue(outcome.isHostResponsive());
+            for (SmtpValidator.SmtpResult result : outcome.getResults()) {
+                assertFalse(result.isSuccess());
+                assertEquals(554, result.getCode());
+                assertTrue(result.getMessage().contains("No service"));
+            }
+            assertEquals(0, server.getRcptCommands());
+        }
+    }
+
+    @Test
+    void testSilentHostIsUnresponsive() throws Exception {
+        try (FakeSmtpServer server = new FakeSmtpServer(false, true)) {
+            SmtpValidator.ProbeOutcome outcome = SmtpValidator.probe("127.0.0.1", server.getPort(),
+                    List.of("john@example.com"), 500, 300);
+
+            assertFalse(outcome.isHostResponsive());
+            assertEquals(-1, outcome.getResults().get(0).getCode());
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.techpulse.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal UDP DNS server for tests and benchmarks. Every domain answers with two MX
+ * records (20 mx2.domain, 10 mx1.domain). Domains starting with "nx" get NXDOMAIN,
+ * domains starting with "nomx" have no MX but an A record pointing at 127.0.0.1.
+ */
+public class StubDnsServer implements Closeable {
+
+    private static final int TYPE_A = 1;
+    private static final int TYPE_MX = 15;
+
+    private final DatagramSocket socket;
+    private final Thread thread;
+    private final AtomicInteger queries = new AtomicInteger();
+    private volatile long delayMillis;
+
+    public StubDnsServer() throws IOException {
+        this.socket = new DatagramSocket(0, InetAddress.getLoopbackAddress());
+        this.thread = new Thread(this::serve, "stub-dns");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    public int getPort() {
+        return socket.getLocalPort();
+    }
+
+    /** Value for email.validation.dns.servers pointing at this server. */
+    public String getProviderUrl() {
+        return "dns://127.0.0.1:" + getPort();
+    }
+
+    public int getQueries() {
+        return queries.get();
+    }
+
+    /** Holds every reply back this long, so concurrent lookups overlap. */
+    public void setDelayMillis(long delayMillis) {
+        this.delayMillis = delayMillis;
+    }
+
+    @Override
+    public void close() {
+        socket.close();
+    }
+
+    private void serve() {
+        byte[] buf = new byte[512];
+        while (!socket.isClosed()) {
+            try {
+                DatagramPacket request = new DatagramPacket(buf, buf.length);
+                socket.receive(request);
+                queries.incrementAndGet();
+                byte[] reply = answer(request.getData(), request.getLength());
+                if (delayMillis > 0) {
+                    Thread.sleep(delayMillis);
+                }
+                if (reply != null) {
+                    socket.send(new DatagramPacket(reply, reply.length, request.getSocketAddress()));
+                }
+            } catch (SocketException closed) {
+                return;
+            } catch (InterruptedException interrupted) {
+                return;
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private static byte[] answer(byte[] query, int length) {
+        if (length < 12) return null;
+
+        // question: labels from offset 12, then qtype and qclass
+        StringBuilder name = new StringBuilder();
+        int pos = 12;
+        while (pos < length && query[pos] != 0) {
+            int len = query[pos] & 0xFF;
+            if (name.length() > 0) name.append('.');
+            name.append(new String(query, pos + 1, len, StandardCharsets.US_ASCII));
+            pos += len + 1;
+        }
+        int questionEnd = pos + 5;
+        if (questionEnd > length) return null;
+        int qtype = ((query[pos + 1] & 0xFF) << 8) | (query[pos + 2] & 0xFF);
+        String domain = name.toString().toLowerCase();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(query[0]);
+        out.write(query[1]);
+
+        if (domain.startsWith("nx")) {
+            writeShort(out, 0x8183); // response, recursion available, NXDOMAIN
+            writeShort(out, 1);
+            writeShort(out, 0);
+            writeShort(out, 0);
+            writeShort(out, 0);
+            out.write(query, 12, questionEnd - 12);
+            return out.toByteArray();
+        }
+
+        ByteArrayOutputStream answers = new ByteArrayOutputStream();
+        int count = 0;
+        if (qtype == TYPE_MX && !domain.startsWith("nomx")) {
+            // deliberately out of priority order
+            writeMx(answers, 20, "mx2." + domain);
+            writeMx(answers, 10, "mx1." + domain);
+            count = 2;
+        } else if (qtype == TYPE_A && domain.startsWith("nomx")) {
+            writeShort(answers, 0xC00C);
+            writeShort(answers, TYPE_A);
+            writeShort(answers, 1);
+            writeInt(answers, 300);
+            writeShort(answers, 4);
+            answers.writeBytes(new byte[]{127, 0, 0, 1});
+            count = 1;
+        }
+
+        writeShort(out, 0x8180); // response, recursion available, no error
+        writeShort(out, 1);
+        writeShort(out, count);
+        writeShort(out, 0);
+        writeShort(out, 0);
+        out.write(query, 12, questionEnd - 12);
+        out.writeBytes(answers.toByteArray());
+        return out.toByteArray();
+    }
+
+    private static void writeMx(ByteArrayOutputStream out, int preference, String host) {
+        byte[] exchange = encodeName(host);
+        writeShort(out, 0xC00C); // pointer to the question name
+        writeShort(out, TYPE_MX);
+        writeShort(out, 1);
+        writeInt(out, 300);
+        writeShort(out, exchange.length + 2);
+        writeShort(out, preference);
+        out.writeBytes(exchange);
+    }
+
+    private static byte[] encodeName(String name) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (String label : name.split("\\.")) {
+            byte[] bytes = label.getBytes(StandardCharsets.US_ASCII);
+            out.write(bytes.length);
+            out.writeBytes(bytes);
+        }
+        out.write(0);
+        return out.toByteArray();
+    }
+
+    private static void writeShort(ByteArrayOutputStream out, int value) {
+        out.write((value >> 8) & 0xFF);
+        out.write(value & 0xFF);
+    }
+
+    private static void writeInt(ByteArrayOutputStream out, int value) {
+        writeShort(out, (value >> 16) & 0xFFFF);
+        writeShort(out, value & 0xFFFF);
+    }
+}
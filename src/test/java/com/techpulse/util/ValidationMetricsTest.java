@@ -0,0 +1,60 @@
+package com.techpulse.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidationMetricsTest {
+
+    @Test
+    void testOutcomeBuckets() {
+        assertEquals("-3", ValidationMetrics.outcome(-3));
+        assertEquals("2xx", ValidationMetrics.outcome(250));
+        assertEquals("4xx", ValidationMetrics.outcome(451));
+        assertEquals("5xx", ValidationMetrics.outcome(550));
+    }
+
+    @Test
+    void testResultsCountedByOutcomeAndDomain() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ValidationMetrics metrics = new ValidationMetrics(registry, 10, 10);
+
+        metrics.recordResult("gmail.com", 250, 1_000_000);
+        metrics.recordResult("gmail.com", 550, 2_000_000);
+        metrics.recordResult("yahoo.com", 250, 3_000_000);
+
+        assertEquals(2.0, registry.get("email.validation.outcome").tag("outcome", "2xx").counter().count());
+        assertEquals(1.0, registry.get("email.validation.outcome").tag("outcome", "5xx").counter().count());
+        assertEquals(2, registry.get("email.validation.domain").tag("domain", "gmail.com").timer().count());
+        assertEquals(3, registry.get("email.validation.phase").tag("phase", "total").timer().count());
+    }
+
+    @Test
+    void testDomainTagCardinalityIsBounded() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ValidationMetrics metrics = new ValidationMetrics(registry, 2, 2);
+
+        for (int i = 0; i < 50; i++) {
+            metrics.recordResult("domain" + i + ".com", 250, 1_000_000);
+        }
+
+        assertEquals(3, registry.get("email.validation.domain").timers().size());
+        assertEquals(48, registry.get("email.validation.domain").tag("domain", ValidationMetrics.OTHER).timer().count());
+    }
+
+    @Test
+    void testProbeTimingsOnlyForResponsiveHosts() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ValidationMetrics metrics = new ValidationMetrics(registry, 10, 10);
+
+        metrics.recordProbe("mx1.example.com.", new SmtpValidator.ProbeOutcome(List.of(), true, 12, 30, 25, 40));
+        metrics.recordProbe("mx2.example.com.", SmtpValidator.ProbeOutcome.failed(List.of("a@example.com"), "SMTP Timeout"));
+
+        assertEquals(1, registry.get("email.validation.smtp.connect").timers().size());
+        assertEquals(1, registry.get("email.validation.phase").tag("phase", "smtp_greeting").timer().count());
+        assertEquals(1, registry.get("email.validation.phase").tag("phase", "smtp_rcpt").timer().count());
+    }
+}
@@ -0,0 +1,65 @@
+package com.techpulse.util;
+
+import com.techpulse.dto.EmailValidationResponse;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidationResultCacheTest {
+
+    private EmailValidationResponse response(String email, int smtpCode, boolean accepted) {
+        EmailValidationResponse response = new EmailValidationResponse();
+        response.setEmail(email);
+        response.setSmtpCode(smtpCode);
+        response.setSmtpAcceptsRecipient(accepted);
+        response.setValid(accepted);
+        return response;
+    }
+
+    @Test
+    void testKeyIsNormalizedAddress() {
+        ValidationResultCache cache = new ValidationResultCache(100, 60, 60, 60, 60, 60);
+
+        cache.put("John@Example.com ", response("John@Example.com ", 250, true));
+        EmailValidationResponse cached = cache.get("john@example.com");
+
+        assertNotNull(cached);
+        assertTrue(cached.isValid());
+        assertEquals("john@example.com", cached.getEmail());
+        assertEquals(1, cache.stats().getHits());
+    }
+
+    @Test
+    void testReturnsCopy() {
+        ValidationResultCache cache = new ValidationResultCache(100, 60, 60, 60, 60, 60);
+
+        cache.put("a@b.com", response("a@b.com", 250, true));
+        cache.get("a@b.com").setValid(false);
+
+        assertTrue(cache.get("a@b.com").isValid());
+    }
+
+    @Test
+    void testTemporaryFailureUsesItsOwnTtl() {
+        // temporary failures are not cached at all with a zero TTL
+        ValidationResultCache cache = new ValidationResultCache(100, 60, 60, 0, 60, 60);
+
+        cache.put("slow@b.com", response("slow@b.com", -1, false));
+        cache.put("busy@b.com", response("busy@b.com", 451, false));
+        cache.put("gone@b.com", response("gone@b.com", 550, false));
+
+        assertNull(cache.get("slow@b.com"));
+        assertNull(cache.get("busy@b.com"));
+        assertNotNull(cache.get("gone@b.com"));
+    }
+
+    @Test
+    void testInvalidate() {
+        ValidationResultCache cache = new ValidationResultCache(100, 60, 60, 60, 60, 60);
+
+        cache.put("a@b.com", response("a@b.com", -3, false));
+        cache.invalidate("A@B.com");
+
+        assertNull(cache.get("a@b.com"));
+    }
+}